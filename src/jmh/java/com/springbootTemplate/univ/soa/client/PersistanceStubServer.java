@@ -0,0 +1,141 @@
+package com.springbootTemplate.univ.soa.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springbootTemplate.univ.soa.config.CborConfig;
+import com.springbootTemplate.univ.soa.config.PersistanceHttpProperties;
+import com.springbootTemplate.univ.soa.config.WebConfig;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Faux ms-persistance dans la JVM du benchmark : réponses JSON pré-sérialisées,
+ * servies en HTTP local pour mesurer le vrai chemin {@link PersistanceClient}.
+ */
+public class PersistanceStubServer implements AutoCloseable {
+
+    public static final long RECETTE_ID = 1L;
+
+    private static final String FEEDBACKS_PATH = "/api/persistance/feedbacks";
+    private static final String RECETTE_PATH = FEEDBACKS_PATH + "/recette/" + RECETTE_ID;
+
+    static {
+        // HttpServer écrit les en-têtes puis le corps en deux envois : sans TCP_NODELAY, Nagle retient le corps
+        // jusqu'à l'accusé de réception différé du client (~40 ms par appel). Lu une fois, avant la première création.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final PersistanceClient client;
+
+    public PersistanceStubServer(List<FeedbackDTO> feedbacks) throws IOException {
+        ObjectMapper objectMapper = objectMapper();
+        byte[] list = objectMapper.writeValueAsBytes(feedbacks);
+        byte[] single = objectMapper.writeValueAsBytes(feedbacks.get(0));
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.createContext(FEEDBACKS_PATH, exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals(FEEDBACKS_PATH) || path.equals(RECETTE_PATH)) {
+                respond(exchange, 200, list);
+            } else if (path.startsWith(FEEDBACKS_PATH + "/")) {
+                respond(exchange, 200, single);
+            } else {
+                respond(exchange, 404, new byte[0]);
+            }
+        });
+        server.start();
+
+        // Même câblage HTTP qu'en production (pool keep-alive)
+        WebConfig webConfig = new WebConfig();
+        PersistanceHttpProperties properties = new PersistanceHttpProperties();
+        this.connectionManager = webConfig.persistanceConnectionManager(properties);
+        this.httpClient = webConfig.persistanceHttpClient(connectionManager, properties);
+        MappingJackson2CborHttpMessageConverter cbor = new MappingJackson2CborHttpMessageConverter(
+                CborConfig.cborObjectMapper(new Jackson2ObjectMapperBuilder(), ZoneId.of("Europe/Paris")));
+        this.client = new PersistanceClient(webConfig.restTemplate(httpClient, properties, cbor),
+                new PersistanceResilience(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults()),
+                new PersistanceSingleFlight(new SimpleMeterRegistry()),
+                new PersistanceMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(client, "persistanceServiceUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    public PersistanceClient getClient() {
+        return client;
+    }
+
+    /**
+     * ObjectMapper équivalent à celui configuré par Spring Boot (dates ISO-8601)
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Jeu de feedbacks déterministe, tous rattachés à {@link #RECETTE_ID}
+     */
+    public static List<FeedbackDTO> feedbacks(int count) {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<FeedbackDTO> feedbacks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            LocalDateTime date = base.plusMinutes(i);
+            feedbacks.add(FeedbackDTO.builder()
+                    .id((long) i)
+                    .utilisateurId((long) i)
+                    .recetteId(RECETTE_ID)
+                    .evaluation(1 + i % 5)
+                    .commentaire("Recette testée le " + date.toLocalDate() + ", très bonne")
+                    .dateFeedback(date)
+                    .dateModification(date)
+                    .build());
+        }
+        return feedbacks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) {
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
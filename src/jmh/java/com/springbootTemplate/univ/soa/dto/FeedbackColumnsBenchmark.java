@@ -0,0 +1,86 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.springbootTemplate.univ.soa.client.PersistanceStubServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réponse de liste complète, des {@link FeedbackDTO} reçus jusqu'au JSON écrit : liste mappée à la lecture
+ * en {@link FeedbackResponse} (mapped, chemin d'origine) contre {@link FeedbackColumns} (columns).
+ * À lancer avec {@code -prof gc} : {@code gc.alloc.rate.norm} donne les octets alloués par réponse.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackColumnsBenchmark {
+
+    @Param({"mapped", "columns"})
+    private String layout;
+
+    @Param({"1000", "50000"})
+    private int size;
+
+    private List<FeedbackDTO> feedbacks;
+    private ObjectWriter listWriter;
+    private ObjectWriter columnsWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        feedbacks = PersistanceStubServer.feedbacks(size);
+        ObjectMapper objectMapper = PersistanceStubServer.objectMapper();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, FeedbackResponse.class));
+        columnsWriter = objectMapper.writerFor(FeedbackColumns.class);
+    }
+
+    @Benchmark
+    public void writeToStream() throws IOException {
+        if ("columns".equals(layout)) {
+            columnsWriter.writeValue(OutputStream.nullOutputStream(), FeedbackColumns.of(feedbacks));
+        } else {
+            listWriter.writeValue(OutputStream.nullOutputStream(), new MappedFeedbacks(feedbacks));
+        }
+    }
+
+    /**
+     * Vue mappée à la lecture, comme la liste renvoyée auparavant par le service
+     */
+    private static final class MappedFeedbacks extends AbstractList<FeedbackResponse> implements RandomAccess {
+
+        private final List<FeedbackDTO> feedbacks;
+
+        private MappedFeedbacks(List<FeedbackDTO> feedbacks) {
+            this.feedbacks = feedbacks;
+        }
+
+        @Override
+        public FeedbackResponse get(int index) {
+            FeedbackDTO dto = feedbacks.get(index);
+            return FeedbackResponse.builder()
+                    .id(dto.getId())
+                    .utilisateurId(dto.getUtilisateurId())
+                    .recetteId(dto.getRecetteId())
+                    .evaluation(dto.getEvaluation())
+                    .commentaire(dto.getCommentaire())
+                    .dateFeedback(dto.getDateFeedback())
+                    .dateModification(dto.getDateModification())
+                    .build();
+        }
+
+        @Override
+        public int size() {
+            return feedbacks.size();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.springbootTemplate.univ.soa.client.PersistanceStubServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Jackson des listes de {@link FeedbackResponse} renvoyées par l'API
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<FeedbackResponse> responses;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        responses = PersistanceStubServer.feedbacks(size).stream()
+                .map(dto -> FeedbackResponse.builder()
+                        .id(dto.getId())
+                        .utilisateurId(dto.getUtilisateurId())
+                        .recetteId(dto.getRecetteId())
+                        .evaluation(dto.getEvaluation())
+                        .commentaire(dto.getCommentaire())
+                        .dateFeedback(dto.getDateFeedback())
+                        .dateModification(dto.getDateModification())
+                        .build())
+                .toList();
+        ObjectMapper objectMapper = PersistanceStubServer.objectMapper();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, FeedbackResponse.class));
+    }
+
+    /**
+     * Écriture directe dans un flux, comme vers la réponse HTTP
+     */
+    @Benchmark
+    public void writeToStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    /**
+     * Sérialisation complète en mémoire
+     */
+    @Benchmark
+    public byte[] writeToBytes() throws IOException {
+        return writer.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,80 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.springbootTemplate.univ.soa.client.PersistanceStubServer;
+import com.springbootTemplate.univ.soa.config.CborConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON (dates ISO) contre CBOR (dates epoch) pour les listes de {@link FeedbackResponse} échangées entre services :
+ * coût d'encodage, de décodage et taille de la charge utile (affichée au démarrage de chaque essai)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackWireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<FeedbackResponse> responses;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        responses = PersistanceStubServer.feedbacks(size).stream()
+                .map(dto -> FeedbackResponse.builder()
+                        .id(dto.getId())
+                        .utilisateurId(dto.getUtilisateurId())
+                        .recetteId(dto.getRecetteId())
+                        .evaluation(dto.getEvaluation())
+                        .commentaire(dto.getCommentaire())
+                        .dateFeedback(dto.getDateFeedback())
+                        .dateModification(dto.getDateModification())
+                        .build())
+                .toList();
+        ObjectMapper objectMapper = "cbor".equals(format)
+                ? CborConfig.cborObjectMapper(new Jackson2ObjectMapperBuilder(), ZoneId.of("Europe/Paris"))
+                : PersistanceStubServer.objectMapper();
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, FeedbackResponse.class);
+        writer = objectMapper.writerFor(listType);
+        reader = objectMapper.readerFor(listType);
+        payload = writer.writeValueAsBytes(responses);
+        System.out.printf("%n%s, %d feedbacks : %d octets (%.1f par feedback)%n",
+                format, size, payload.length, (double) payload.length / size);
+    }
+
+    /**
+     * Encodage direct dans un flux, comme vers la réponse HTTP
+     */
+    @Benchmark
+    public void encode() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    /**
+     * Décodage côté consommateur (ms-recommendation)
+     */
+    @Benchmark
+    public List<FeedbackResponse> decode() throws IOException {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,51 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.springbootTemplate.univ.soa.client.PersistanceStubServer;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du calcul de moyenne : initialisation d'un agrégat, application d'un delta,
+ * et moyenne recalculée sur toute la liste (calcul d'origine, pour comparaison).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RatingAggregateBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<FeedbackDTO> feedbacks;
+    private RatingAggregate aggregate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        feedbacks = PersistanceStubServer.feedbacks(size);
+        aggregate = RatingAggregate.of(feedbacks, System.nanoTime());
+    }
+
+    @Benchmark
+    public RatingAggregate seed() {
+        return RatingAggregate.of(feedbacks, 0L);
+    }
+
+    @Benchmark
+    public RatingAggregate applyDelta() {
+        return aggregate.withDelta(4, 1);
+    }
+
+    @Benchmark
+    public OptionalDouble streamAverage() {
+        return feedbacks.stream()
+                .mapToInt(FeedbackDTO::getEvaluation)
+                .average();
+    }
+}
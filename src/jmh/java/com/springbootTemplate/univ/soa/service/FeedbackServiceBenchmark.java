@@ -0,0 +1,120 @@
+package com.springbootTemplate.univ.soa.service;
+
+import com.springbootTemplate.univ.soa.cache.ExistenceCache;
+import com.springbootTemplate.univ.soa.cache.RecetteFeedbackCache;
+import com.springbootTemplate.univ.soa.client.PersistanceClient;
+import com.springbootTemplate.univ.soa.client.PersistanceStubServer;
+import com.springbootTemplate.univ.soa.config.BatchProperties;
+import com.springbootTemplate.univ.soa.config.ExistenceCacheProperties;
+import com.springbootTemplate.univ.soa.config.FeedbackCacheProperties;
+import com.springbootTemplate.univ.soa.config.PaginationProperties;
+import com.springbootTemplate.univ.soa.config.RatingAggregateProperties;
+import com.springbootTemplate.univ.soa.dto.AverageRatingResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackColumns;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.FeedbackResponse;
+import com.springbootTemplate.univ.soa.rating.RatingAggregateStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chemins de lecture de {@link FeedbackServiceImpl}, Persistance servi par {@link PersistanceStubServer}.
+ * <ul>
+ *     <li>{@code getAllFeedbacks} : appel HTTP, désérialisation et remplissage des colonnes à chaque opération</li>
+ *     <li>{@code getFeedbacksByRecetteId} : cache chaud, seul le mapping de la liste est mesuré</li>
+ *     <li>{@code getAverageRatingByRecetteId} : lecture de l'agrégat en mémoire</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackServiceBenchmark {
+
+    private static final String RECETTE_ID = String.valueOf(PersistanceStubServer.RECETTE_ID);
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private PersistanceStubServer server;
+    private FeedbackServiceImpl feedbackService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new PersistanceStubServer(PersistanceStubServer.feedbacks(size));
+        feedbackService = newService(server.getClient());
+        // Chargement du cache et de l'agrégat hors mesure
+        feedbackService.getFeedbacksByRecetteId(RECETTE_ID);
+        feedbackService.getAverageRatingByRecetteId(RECETTE_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Benchmark
+    public FeedbackColumns getAllFeedbacks() {
+        return feedbackService.getAllFeedbacks();
+    }
+
+    /**
+     * Vue mappée à la lecture : chaque élément est consommé
+     */
+    @Benchmark
+    public void getFeedbacksByRecetteId(Blackhole blackhole) {
+        feedbackService.getFeedbacksByRecetteId(RECETTE_ID).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public AverageRatingResponse getAverageRatingByRecetteId() {
+        return feedbackService.getAverageRatingByRecetteId(RECETTE_ID);
+    }
+
+    static FeedbackServiceImpl newService(PersistanceClient persistanceClient) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FeedbackCacheProperties cacheProperties = new FeedbackCacheProperties();
+        // Pas d'expiration pendant une itération de mesure
+        cacheProperties.setTtl(Duration.ofHours(1));
+        RecetteFeedbackCache recetteFeedbackCache = new RecetteFeedbackCache(
+                persistanceClient, cacheProperties, meterRegistry);
+        RatingAggregateStore ratingAggregateStore = new RatingAggregateStore(
+                recetteFeedbackCache, new RatingAggregateProperties(), meterRegistry);
+        return new FeedbackServiceImpl(
+                persistanceClient, recetteFeedbackCache, ratingAggregateStore, event -> { },
+                new PaginationProperties(), new BatchProperties(),
+                new ExistenceCache(persistanceClient, new ExistenceCacheProperties(), meterRegistry),
+                Runnable::run);
+    }
+
+    /**
+     * Mapping unitaire DTO → réponse, indépendant de la taille des listes
+     */
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    @Fork(1)
+    @State(Scope.Benchmark)
+    public static class Mapping {
+
+        private FeedbackDTO feedback;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            feedback = PersistanceStubServer.feedbacks(1).get(0);
+        }
+
+        @Benchmark
+        public FeedbackResponse mapToResponse() {
+            return FeedbackServiceImpl.mapToResponse(feedback);
+        }
+    }
+}
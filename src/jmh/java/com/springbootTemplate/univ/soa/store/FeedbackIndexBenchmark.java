@@ -0,0 +1,118 @@
+package com.springbootTemplate.univ.soa.store;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index par recette et par utilisateur : {@code Map<Long, List<FeedbackDTO>>} (boxed) contre
+ * {@link FeedbackIndex} (primitive). L'empreinte mémoire de chaque structure (JOL, graphe complet,
+ * feedbacks sans commentaire) est affichée au démarrage de chaque essai ; les mesures portent sur
+ * le nombre et la somme des notes d'une recette, et sur le test d'unicité utilisateur / recette.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackIndexBenchmark {
+
+    /** Feedbacks par utilisateur et par recette en moyenne */
+    private static final int PER_UTILISATEUR = 20;
+    private static final int PER_RECETTE = 200;
+    private static final int KEYS = 1024;
+
+    @Param({"boxed", "primitive"})
+    private String layout;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Map<Long, List<FeedbackDTO>> byRecette;
+    private Map<Long, List<FeedbackDTO>> byUtilisateur;
+    private FeedbackIndex index;
+
+    private final long[] recetteKeys = new long[KEYS];
+    private final long[] utilisateurKeys = new long[KEYS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int utilisateurs = Math.max(1, size / PER_UTILISATEUR);
+        int recettes = Math.max(1, size / PER_RECETTE);
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        if ("boxed".equals(layout)) {
+            byRecette = new HashMap<>();
+            byUtilisateur = new HashMap<>();
+        } else {
+            index = new FeedbackIndex(size);
+        }
+        for (int i = 1; i <= size; i++) {
+            FeedbackDTO feedback = FeedbackDTO.builder()
+                    .id((long) i)
+                    .utilisateurId(1L + random.nextInt(utilisateurs))
+                    .recetteId(1L + random.nextInt(recettes))
+                    .evaluation(1 + random.nextInt(5))
+                    .dateFeedback(base.plusSeconds(i))
+                    .dateModification(base.plusSeconds(i))
+                    .build();
+            if (index != null) {
+                index.put(feedback);
+            } else {
+                byRecette.computeIfAbsent(feedback.getRecetteId(), key -> new ArrayList<>()).add(feedback);
+                byUtilisateur.computeIfAbsent(feedback.getUtilisateurId(), key -> new ArrayList<>()).add(feedback);
+            }
+        }
+        for (int i = 0; i < KEYS; i++) {
+            recetteKeys[i] = 1L + random.nextInt(recettes);
+            utilisateurKeys[i] = 1L + random.nextInt(utilisateurs);
+        }
+
+        long bytes = index != null
+                ? GraphLayout.parseInstance(index).totalSize()
+                : GraphLayout.parseInstance(byRecette, byUtilisateur).totalSize();
+        System.out.printf("%n%s, %d feedbacks : %.1f Mo (%.1f octets par feedback)%n",
+                layout, size, bytes / (1024.0 * 1024.0), (double) bytes / size);
+    }
+
+    @Benchmark
+    public long countAndSumByRecette() {
+        long recetteId = recetteKeys[next++ & (KEYS - 1)];
+        if (index != null) {
+            return index.countByRecette(recetteId) + index.ratingSumByRecette(recetteId);
+        }
+        List<FeedbackDTO> feedbacks = byRecette.getOrDefault(recetteId, List.of());
+        long sum = 0;
+        for (FeedbackDTO feedback : feedbacks) {
+            sum += feedback.getEvaluation();
+        }
+        return feedbacks.size() + sum;
+    }
+
+    @Benchmark
+    public long findByPair() {
+        int key = next++ & (KEYS - 1);
+        long utilisateurId = utilisateurKeys[key];
+        long recetteId = recetteKeys[key];
+        if (index != null) {
+            return index.findByPair(utilisateurId, recetteId);
+        }
+        for (FeedbackDTO feedback : byUtilisateur.getOrDefault(utilisateurId, List.of())) {
+            if (feedback.getRecetteId() == recetteId) {
+                return feedback.getId();
+            }
+        }
+        return FeedbackIndex.NONE;
+    }
+}
@@ -0,0 +1,129 @@
+package com.springbootTemplate.univ.soa.store;
+
+import com.springbootTemplate.univ.soa.client.PersistanceStubServer;
+import com.springbootTemplate.univ.soa.config.FeedbackStoreProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Stockage distant (ms-persistance simulé en HTTP local) contre magasin embarqué, mêmes données :
+ * lectures par ID et par recette, puis coût d'une création journalisée avec et sans fsync
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackStoreBenchmark {
+
+    @Param({"remote", "local"})
+    private String mode;
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private PersistanceStubServer stub;
+    private LocalFeedbackStore local;
+    private Path directory;
+    private FeedbackStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<FeedbackDTO> feedbacks = PersistanceStubServer.feedbacks(size);
+        if ("local".equals(mode)) {
+            directory = Files.createTempDirectory("feedback-store-bench");
+            local = open(directory, false);
+            feedbacks.forEach(local::createFeedback);
+            store = local;
+        } else {
+            stub = new PersistanceStubServer(feedbacks);
+            store = stub.getClient();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (local != null) {
+            local.close();
+            delete(directory);
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Benchmark
+    public FeedbackDTO getFeedbackById() {
+        return store.getFeedbackById(1L);
+    }
+
+    @Benchmark
+    public List<FeedbackDTO> getFeedbacksByRecetteId() {
+        return store.getFeedbacksByRecetteId(PersistanceStubServer.RECETTE_ID);
+    }
+
+    /**
+     * Création dans le magasin local : ajout au journal (forcé sur disque ou non) puis indexation
+     */
+    @State(Scope.Benchmark)
+    public static class LocalWrite {
+
+        @Param({"true", "false"})
+        private boolean fsync;
+
+        private Path directory;
+        private LocalFeedbackStore store;
+        private long utilisateurId;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("feedback-store-bench");
+            store = open(directory, fsync);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            store.close();
+            delete(directory);
+        }
+
+        @Benchmark
+        public FeedbackDTO createFeedback() {
+            LocalDateTime now = LocalDateTime.now();
+            return store.createFeedback(FeedbackDTO.builder()
+                    .utilisateurId(++utilisateurId)
+                    .recetteId(PersistanceStubServer.RECETTE_ID)
+                    .evaluation(4)
+                    .commentaire("Très bonne recette")
+                    .dateFeedback(now)
+                    .dateModification(now)
+                    .build());
+        }
+    }
+
+    private static LocalFeedbackStore open(Path directory, boolean fsync) {
+        FeedbackStoreProperties properties = new FeedbackStoreProperties();
+        properties.setDirectory(directory.toString());
+        properties.setFsync(fsync);
+        return new LocalFeedbackStore(properties, new SimpleMeterRegistry());
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.springbootTemplate.univ.soa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springbootTemplate.univ.soa.client.PersistanceClient;
+import com.springbootTemplate.univ.soa.config.ExistenceCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongPredicate;
+
+/**
+ * Cache court des identifiants d'utilisateurs et de recettes vérifiés auprès de Persistance.
+ * Les résultats positifs et négatifs ont chacun leur durée de vie ; une erreur de vérification
+ * n'est jamais mise en cache.
+ */
+@Component
+public class ExistenceCache {
+
+    private final PersistanceClient persistanceClient;
+    private final Cache<Long, Boolean> utilisateursExistants;
+    private final Cache<Long, Boolean> utilisateursInconnus;
+    private final Cache<Long, Boolean> recettesExistantes;
+    private final Cache<Long, Boolean> recettesInconnues;
+
+    public ExistenceCache(PersistanceClient persistanceClient,
+                          ExistenceCacheProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.persistanceClient = persistanceClient;
+        this.utilisateursExistants = build(properties.getMaxSize(), properties.getPositiveTtl(),
+                meterRegistry, "utilisateurs-existants");
+        this.utilisateursInconnus = build(properties.getMaxSize(), properties.getNegativeTtl(),
+                meterRegistry, "utilisateurs-inconnus");
+        this.recettesExistantes = build(properties.getMaxSize(), properties.getPositiveTtl(),
+                meterRegistry, "recettes-existantes");
+        this.recettesInconnues = build(properties.getMaxSize(), properties.getNegativeTtl(),
+                meterRegistry, "recettes-inconnues");
+    }
+
+    public boolean utilisateurExists(Long utilisateurId) {
+        return exists(utilisateurId, utilisateursExistants, utilisateursInconnus, persistanceClient::utilisateurExists);
+    }
+
+    public boolean recetteExists(Long recetteId) {
+        return exists(recetteId, recettesExistantes, recettesInconnues, persistanceClient::recetteExists);
+    }
+
+    private boolean exists(Long id, Cache<Long, Boolean> known, Cache<Long, Boolean> unknown, LongPredicate check) {
+        if (known.getIfPresent(id) != null) {
+            return true;
+        }
+        if (unknown.getIfPresent(id) != null) {
+            return false;
+        }
+        boolean exists = check.test(id);
+        (exists ? known : unknown).put(id, Boolean.TRUE);
+        return exists;
+    }
+
+    private static Cache<Long, Boolean> build(long maxSize, Duration ttl, MeterRegistry meterRegistry, String name) {
+        Cache<Long, Boolean> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+}
@@ -0,0 +1,74 @@
+package com.springbootTemplate.univ.soa.cache;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Liste de feedbacks figée avec son ETag faible, calculé une fois au chargement
+ * (empreinte SHA-256 du contenu, la même sur toutes les instances).
+ * <p>
+ * Pas de date de dernière modification : la plus récente des lignes présentes n'avance pas
+ * quand un feedback est supprimé, un {@code If-Modified-Since} répondrait {@code 304} à tort.
+ */
+public record FeedbackSnapshot(List<FeedbackDTO> feedbacks, String eTag) {
+
+    /** Octets de l'empreinte gardés dans l'ETag */
+    private static final int ETAG_BYTES = 16;
+    private static final long NULL_VALUE = Long.MIN_VALUE;
+
+    public static FeedbackSnapshot of(List<FeedbackDTO> feedbacks) {
+        List<FeedbackDTO> copy = List.copyOf(feedbacks);
+        return new FeedbackSnapshot(copy, fingerprint(copy));
+    }
+
+    /**
+     * Empreinte de tous les champs exposés, dans l'ordre de la liste
+     */
+    private static String fingerprint(List<FeedbackDTO> feedbacks) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (FeedbackDTO feedback : feedbacks) {
+            byte[] commentaire = feedback.getCommentaire() == null
+                    ? null : feedback.getCommentaire().getBytes(StandardCharsets.UTF_8);
+            buffer.clear();
+            putLong(buffer, feedback.getId());
+            putLong(buffer, feedback.getUtilisateurId());
+            putLong(buffer, feedback.getRecetteId());
+            buffer.putInt(feedback.getEvaluation() == null ? -1 : feedback.getEvaluation());
+            putDate(buffer, feedback.getDateFeedback());
+            putDate(buffer, feedback.getDateModification());
+            buffer.putInt(commentaire == null ? -1 : commentaire.length);
+            digest.update(buffer.flip());
+            if (commentaire != null) {
+                digest.update(commentaire);
+            }
+        }
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(0, feedbacks.size()));
+        return HexFormat.of().formatHex(digest.digest(), 0, ETAG_BYTES);
+    }
+
+    private static void putLong(ByteBuffer buffer, Long value) {
+        buffer.putLong(value == null ? NULL_VALUE : value);
+    }
+
+    private static void putDate(ByteBuffer buffer, LocalDateTime date) {
+        buffer.putLong(date == null ? NULL_VALUE : date.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(date == null ? 0 : date.getNano());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.springbootTemplate.univ.soa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springbootTemplate.univ.soa.client.PersistanceResilience;
+import com.springbootTemplate.univ.soa.config.FeedbackCacheProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import com.springbootTemplate.univ.soa.store.FeedbackStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Cache local (par instance) des feedbacks d'une recette, en lecture traversante
+ * devant {@link FeedbackStore#getFeedbacksByRecetteId(Long)}.
+ * <p>
+ * La dernière liste lue pour chaque recette est gardée à part : quand les lectures sont refusées
+ * par le disjoncteur ou la cloison, elle est servie à la place d'une erreur.
+ */
+@Component
+@Slf4j
+public class RecetteFeedbackCache {
+
+    public static final String CACHE_NAME = "recette-feedbacks";
+
+    /** Invalidation avant tout autre consommateur des écritures */
+    public static final int LISTENER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    /**
+     * Endpoints pouvant lire à travers le cache, activables séparément
+     */
+    public enum Endpoint {
+        FEEDBACKS,
+        AVERAGE
+    }
+
+    private final FeedbackStore feedbackStore;
+    private final FeedbackCacheProperties properties;
+    private final Cache<Long, FeedbackSnapshot> cache;
+    private final Cache<Long, FeedbackSnapshot> lastKnownGood;
+    private final Counter fallbacks;
+
+    public RecetteFeedbackCache(FeedbackStore feedbackStore,
+                                FeedbackCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.feedbackStore = feedbackStore;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.lastKnownGood = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getLastKnownGoodTtl())
+                .build();
+        this.fallbacks = Counter.builder("feedback.fallback")
+                .description("Lectures servies depuis la dernière valeur connue, ms-persistance étant indisponible")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Récupérer les feedbacks d'une recette, depuis le cache si l'endpoint l'autorise
+     */
+    public List<FeedbackDTO> getFeedbacksByRecetteId(Long recetteId, Endpoint endpoint) {
+        FeedbackSnapshot snapshot = getSnapshot(recetteId, endpoint);
+        return snapshot == null ? null : snapshot.feedbacks();
+    }
+
+    /**
+     * Récupérer les feedbacks d'une recette avec leur ETag
+     */
+    public FeedbackSnapshot getSnapshot(Long recetteId, Endpoint endpoint) {
+        try {
+            if (!isEnabledFor(endpoint)) {
+                return load(recetteId);
+            }
+            return cache.get(recetteId, this::load);
+        } catch (RuntimeException e) {
+            FeedbackSnapshot stale = PersistanceResilience.isRejected(e) ? lastKnownGood.getIfPresent(recetteId) : null;
+            if (stale == null) {
+                throw e;
+            }
+            fallbacks.increment();
+            log.warn("Lectures vers Persistance suspendues, dernière liste connue servie pour la recette {}", recetteId);
+            return stale;
+        }
+    }
+
+    /**
+     * Invalider les recettes touchées par une écriture
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        event.recetteIds().forEach(this::invalidate);
+    }
+
+    /**
+     * Invalider les recettes touchées par une écriture d'une autre instance, ou toutes si des messages ont été perdus
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackInvalidated(FeedbackInvalidatedEvent event) {
+        if (event.all()) {
+            cache.invalidateAll();
+            lastKnownGood.invalidateAll();
+            log.info("Cache {} entièrement invalidé", CACHE_NAME);
+            return;
+        }
+        event.recetteIds().forEach(this::invalidate);
+    }
+
+    /**
+     * Invalider l'entrée d'une recette
+     */
+    public void invalidate(Long recetteId) {
+        if (recetteId != null) {
+            cache.invalidate(recetteId);
+            lastKnownGood.invalidate(recetteId);
+            log.debug("Cache {} invalidé pour la recette {}", CACHE_NAME, recetteId);
+        }
+    }
+
+    public boolean isEnabledFor(Endpoint endpoint) {
+        return switch (endpoint) {
+            case FEEDBACKS -> properties.isFeedbacksEnabled();
+            case AVERAGE -> properties.isAverageEnabled();
+        };
+    }
+
+    private FeedbackSnapshot load(Long recetteId) {
+        List<FeedbackDTO> feedbacks = feedbackStore.getFeedbacksByRecetteId(recetteId);
+        if (feedbacks == null) {
+            return null;
+        }
+        FeedbackSnapshot loaded = FeedbackSnapshot.of(feedbacks);
+        lastKnownGood.put(recetteId, loaded);
+        return loaded;
+    }
+}
@@ -1,6 +1,12 @@
 package com.springbootTemplate.univ.soa.client;
 
 import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.client.PersistanceResilience.Operation;
+import com.springbootTemplate.univ.soa.client.PersistanceSingleFlight.Read;
+import com.springbootTemplate.univ.soa.dto.FeedbackPageQuery;
+import com.springbootTemplate.univ.soa.exception.DuplicateFeedbackException;
+import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import com.springbootTemplate.univ.soa.store.FeedbackStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,15 +15,24 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+/**
+ * Stockage distant : appels HTTP vers le microservice Persistance (stockage par défaut)
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class PersistanceClient {
+public class PersistanceClient implements FeedbackStore {
 
     private final RestTemplate restTemplate;
+    private final PersistanceResilience resilience;
+    private final PersistanceSingleFlight singleFlight;
+    private final PersistanceMetrics metrics;
 
     @Value("${persistance.service.url}")
     private String persistanceServiceUrl;
@@ -25,6 +40,7 @@ public class PersistanceClient {
     /**
      * Créer un nouveau feedback dans le microservice Persistance
      */
+    @Override
     public FeedbackDTO createFeedback(FeedbackDTO feedbackDTO) {
         String url = persistanceServiceUrl + "/api/persistance/feedbacks";
         log.info("POST {} - Création d'un feedback", url);
@@ -34,19 +50,19 @@ public class PersistanceClient {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<FeedbackDTO> request = new HttpEntity<>(feedbackDTO, headers);
 
-            ResponseEntity<FeedbackDTO> response = restTemplate.exchange(
+            ResponseEntity<FeedbackDTO> response = call("create", Operation.WRITE, () -> restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     request,
                     FeedbackDTO.class
-            );
+            ));
 
             log.info("Feedback créé avec succès - ID: {}", response.getBody().getId());
             return response.getBody();
 
         } catch (HttpClientErrorException.Conflict e) {
             log.warn("Conflit lors de la création du feedback: feedback déjà existant");
-            throw e; // Propager l'exception 409 pour gestion au niveau service
+            throw new DuplicateFeedbackException("Feedback déjà existant", e); // 409 traité au niveau service
         } catch (HttpClientErrorException.NotFound e) {
             log.error("Ressource non trouvée lors de la création du feedback");
             throw new RuntimeException("Ressource non trouvée: " + e.getStatusCode(), e);
@@ -65,18 +81,20 @@ public class PersistanceClient {
     /**
      * Récupérer tous les feedbacks
      */
+    @Override
     public List<FeedbackDTO> getAllFeedbacks() {
         String url = persistanceServiceUrl + "/api/persistance/feedbacks";
         log.info("GET {} - Récupération de tous les feedbacks", url);
 
         try {
-            ResponseEntity<List<FeedbackDTO>> response = restTemplate.exchange(
+            ResponseEntity<List<FeedbackDTO>> response = call("get-all", Operation.READ, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<List<FeedbackDTO>>() {}
-            );
+            ));
 
+            metrics.recordSize("get-all", response.getBody().size());
             log.info("{} feedbacks récupérés", response.getBody().size());
             return response.getBody();
 
@@ -86,27 +104,70 @@ public class PersistanceClient {
         }
     }
 
+    /**
+     * Récupérer une page de feedbacks triés par (dateFeedback, id) décroissants,
+     * filtrés éventuellement par utilisateur ou par recette
+     */
+    @Override
+    public List<FeedbackDTO> getFeedbacksPage(FeedbackPageQuery query) {
+        String url = UriComponentsBuilder.fromUriString(persistanceServiceUrl + "/api/persistance/feedbacks/page")
+                .queryParamIfPresent("utilisateurId", Optional.ofNullable(query.getUtilisateurId()))
+                .queryParamIfPresent("recetteId", Optional.ofNullable(query.getRecetteId()))
+                .queryParamIfPresent("page", Optional.ofNullable(query.getPage()))
+                .queryParam("size", query.getLimit())
+                .queryParamIfPresent("afterDate", Optional.ofNullable(query.getAfterDate()))
+                .queryParamIfPresent("afterId", Optional.ofNullable(query.getAfterId()))
+                .queryParamIfPresent("from", Optional.ofNullable(query.getFrom()))
+                .queryParamIfPresent("to", Optional.ofNullable(query.getTo()))
+                .encode()
+                .toUriString();
+        log.info("GET {} - Récupération d'une page de feedbacks", url);
+
+        try {
+            ResponseEntity<List<FeedbackDTO>> response = call("get-page", Operation.READ, () -> restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<List<FeedbackDTO>>() {}
+            ));
+
+            metrics.recordSize("get-page", response.getBody().size());
+            log.info("{} feedbacks récupérés pour la page", response.getBody().size());
+            return response.getBody();
+
+        } catch (Exception e) {
+            log.error("Erreur lors de la récupération de la page de feedbacks: {}", e.getMessage());
+            throw new RuntimeException("Erreur lors de la récupération de la page de feedbacks", e);
+        }
+    }
+
     /**
      * Récupérer un feedback par son ID
+     * (appels simultanés pour le même ID regroupés en un seul)
      */
+    @Override
     public FeedbackDTO getFeedbackById(Long id) {
+        return singleFlight.execute(Read.FEEDBACK, id, () -> fetchFeedbackById(id));
+    }
+
+    private FeedbackDTO fetchFeedbackById(Long id) {
         String url = persistanceServiceUrl + "/api/persistance/feedbacks/" + id;
         log.info("GET {} - Récupération du feedback", url);
 
         try {
-            ResponseEntity<FeedbackDTO> response = restTemplate.exchange(
+            ResponseEntity<FeedbackDTO> response = call("get-by-id", Operation.READ, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     FeedbackDTO.class
-            );
+            ));
 
             log.info("Feedback récupéré - ID: {}", id);
             return response.getBody();
 
         } catch (HttpClientErrorException.NotFound e) {
             log.error("Feedback non trouvé - ID: {}", id);
-            throw new RuntimeException("Feedback non trouvé avec l'ID: " + id);
+            throw new FeedbackNotFoundException("Feedback non trouvé avec l'ID: " + id);
         } catch (Exception e) {
             log.error("Erreur lors de la récupération du feedback: {}", e.getMessage());
             throw new RuntimeException("Erreur lors de la récupération du feedback", e);
@@ -115,19 +176,26 @@ public class PersistanceClient {
 
     /**
      * Récupérer les feedbacks d'un utilisateur
+     * (appels simultanés pour le même ID regroupés en un seul)
      */
+    @Override
     public List<FeedbackDTO> getFeedbacksByUtilisateurId(Long utilisateurId) {
+        return singleFlight.execute(Read.UTILISATEUR, utilisateurId, () -> fetchFeedbacksByUtilisateurId(utilisateurId));
+    }
+
+    private List<FeedbackDTO> fetchFeedbacksByUtilisateurId(Long utilisateurId) {
         String url = persistanceServiceUrl + "/api/persistance/feedbacks/utilisateur/" + utilisateurId;
         log.info("GET {} - Récupération des feedbacks de l'utilisateur", url);
 
         try {
-            ResponseEntity<List<FeedbackDTO>> response = restTemplate.exchange(
+            ResponseEntity<List<FeedbackDTO>> response = call("get-by-utilisateur", Operation.READ, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<List<FeedbackDTO>>() {}
-            );
+            ));
 
+            metrics.recordSize("get-by-utilisateur", response.getBody().size());
             log.info("{} feedbacks récupérés pour l'utilisateur {}", response.getBody().size(), utilisateurId);
             return response.getBody();
 
@@ -139,19 +207,26 @@ public class PersistanceClient {
 
     /**
      * Récupérer les feedbacks d'une recette
+     * (appels simultanés pour le même ID regroupés en un seul)
      */
+    @Override
     public List<FeedbackDTO> getFeedbacksByRecetteId(Long recetteId) {
+        return singleFlight.execute(Read.RECETTE, recetteId, () -> fetchFeedbacksByRecetteId(recetteId));
+    }
+
+    private List<FeedbackDTO> fetchFeedbacksByRecetteId(Long recetteId) {
         String url = persistanceServiceUrl + "/api/persistance/feedbacks/recette/" + recetteId;
         log.info("GET {} - Récupération des feedbacks de la recette", url);
 
         try {
-            ResponseEntity<List<FeedbackDTO>> response = restTemplate.exchange(
+            ResponseEntity<List<FeedbackDTO>> response = call("get-by-recette", Operation.READ, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<List<FeedbackDTO>>() {}
-            );
+            ));
 
+            metrics.recordSize("get-by-recette", response.getBody().size());
             log.info("{} feedbacks récupérés pour la recette {}", response.getBody().size(), recetteId);
             return response.getBody();
 
@@ -164,6 +239,7 @@ public class PersistanceClient {
     /**
      * Mettre à jour un feedback
      */
+    @Override
     public FeedbackDTO updateFeedback(Long id, FeedbackDTO feedbackDTO) {
         String url = persistanceServiceUrl + "/api/persistance/feedbacks/" + id;
         log.info("PUT {} - Mise à jour du feedback", url);
@@ -173,19 +249,19 @@ public class PersistanceClient {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<FeedbackDTO> request = new HttpEntity<>(feedbackDTO, headers);
 
-            ResponseEntity<FeedbackDTO> response = restTemplate.exchange(
+            ResponseEntity<FeedbackDTO> response = call("update", Operation.WRITE, () -> restTemplate.exchange(
                     url,
                     HttpMethod.PUT,
                     request,
                     FeedbackDTO.class
-            );
+            ));
 
             log.info("Feedback mis à jour - ID: {}", id);
             return response.getBody();
 
         } catch (HttpClientErrorException.NotFound e) {
             log.error("Feedback non trouvé - ID: {}", id);
-            throw new RuntimeException("Feedback non trouvé avec l'ID: " + id);
+            throw new FeedbackNotFoundException("Feedback non trouvé avec l'ID: " + id);
         } catch (Exception e) {
             log.error("Erreur lors de la mise à jour du feedback: {}", e.getMessage());
             throw new RuntimeException("Erreur lors de la mise à jour du feedback", e);
@@ -195,17 +271,21 @@ public class PersistanceClient {
     /**
      * Supprimer un feedback
      */
+    @Override
     public void deleteFeedback(Long id) {
         String url = persistanceServiceUrl + "/api/persistance/feedbacks/" + id;
         log.info("DELETE {} - Suppression du feedback", url);
 
         try {
-            restTemplate.delete(url);
+            call("delete", Operation.WRITE, () -> {
+                restTemplate.delete(url);
+                return null;
+            });
             log.info("Feedback supprimé - ID: {}", id);
 
         } catch (HttpClientErrorException.NotFound e) {
             log.error("Feedback non trouvé - ID: {}", id);
-            throw new RuntimeException("Feedback non trouvé avec l'ID: " + id);
+            throw new FeedbackNotFoundException("Feedback non trouvé avec l'ID: " + id);
         } catch (Exception e) {
             log.error("Erreur lors de la suppression du feedback: {}", e.getMessage());
             throw new RuntimeException("Erreur lors de la suppression du feedback", e);
@@ -213,38 +293,59 @@ public class PersistanceClient {
     }
 
     /**
-     * Vérifier si l'utilisateur existe (appel au microservice Persistance)
+     * Vérifier si l'utilisateur existe (requête HEAD vers le microservice Persistance)
      */
     public boolean utilisateurExists(Long utilisateurId) {
         String url = persistanceServiceUrl + "/api/persistance/utilisateurs/" + utilisateurId;
-        log.info("GET {} - Vérification de l'existence de l'utilisateur", url);
+        log.info("HEAD {} - Vérification de l'existence de l'utilisateur", url);
 
         try {
-            restTemplate.getForEntity(url, Object.class);
-            return true;
-        } catch (HttpClientErrorException.NotFound e) {
-            return false;
+            return call("utilisateur-exists", Operation.EXISTENCE, () -> exists(url));
         } catch (Exception e) {
             log.warn("Erreur lors de la vérification de l'utilisateur: {}", e.getMessage());
-            return false;
+            throw new RuntimeException("Erreur lors de la vérification de l'utilisateur", e);
         }
     }
 
     /**
-     * Vérifier si la recette existe (appel au microservice Persistance)
+     * Vérifier si la recette existe (requête HEAD vers le microservice Persistance)
      */
     public boolean recetteExists(Long recetteId) {
         String url = persistanceServiceUrl + "/api/persistance/recettes/" + recetteId;
-        log.info("GET {} - Vérification de l'existence de la recette", url);
+        log.info("HEAD {} - Vérification de l'existence de la recette", url);
 
         try {
-            restTemplate.getForEntity(url, Object.class);
-            return true;
-        } catch (HttpClientErrorException.NotFound e) {
-            return false;
+            return call("recette-exists", Operation.EXISTENCE, () -> exists(url));
         } catch (Exception e) {
             log.warn("Erreur lors de la vérification de la recette: {}", e.getMessage());
+            throw new RuntimeException("Erreur lors de la vérification de la recette", e);
+        }
+    }
+
+    /**
+     * Appel chronométré, protégé par le disjoncteur et la cloison de sa famille d'appels
+     */
+    private <T> T call(String name, Operation operation, Supplier<T> call) {
+        return metrics.record(name, () -> resilience.call(operation, call));
+    }
+
+    /**
+     * Sonde d'existence sans lecture du corps : HEAD, ou GET sans désérialisation
+     * si la ressource n'accepte pas HEAD
+     */
+    private boolean exists(String url) {
+        try {
+            restTemplate.headForHeaders(url);
+            return true;
+        } catch (HttpClientErrorException.NotFound e) {
             return false;
+        } catch (HttpClientErrorException.MethodNotAllowed e) {
+            try {
+                restTemplate.getForEntity(url, Void.class);
+                return true;
+            } catch (HttpClientErrorException.NotFound notFound) {
+                return false;
+            }
         }
     }
-}
\ No newline at end of file
+}
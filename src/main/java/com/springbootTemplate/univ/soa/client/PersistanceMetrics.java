@@ -0,0 +1,124 @@
+package com.springbootTemplate.univ.soa.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Temps et tailles des réponses des appels vers ms-persistance, par opération.
+ * <ul>
+ *     <li>{@code persistance.client.requests} : durée, tags {@code operation}, {@code outcome}, {@code exception}</li>
+ *     <li>{@code persistance.client.response.size} : nombre de feedbacks des réponses en liste</li>
+ * </ul>
+ * Les histogrammes sont activés par {@code management.metrics.distribution.percentiles-histogram.*}.
+ */
+@Component
+public class PersistanceMetrics {
+
+    /**
+     * Issue d'un appel, sur le modèle de {@code http.server.requests}
+     */
+    public enum Outcome {
+        SUCCESS,
+        CLIENT_ERROR,
+        SERVER_ERROR,
+        /** Refusé par le disjoncteur ou la cloison, sans appel réseau */
+        REJECTED,
+        UNKNOWN;
+
+        static Outcome of(Throwable error) {
+            if (PersistanceResilience.isRejected(error)) {
+                return REJECTED;
+            }
+            if (error instanceof HttpStatusCodeException e) {
+                if (e.getStatusCode().is4xxClientError()) {
+                    return CLIENT_ERROR;
+                }
+                if (e.getStatusCode().is5xxServerError()) {
+                    return SERVER_ERROR;
+                }
+            }
+            return UNKNOWN;
+        }
+    }
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public PersistanceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Chronométrer un appel ; l'erreur éventuelle est propagée telle quelle
+     */
+    public <T> T record(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = call.get();
+            sample.stop(timer(operation, Outcome.SUCCESS, NO_EXCEPTION));
+            return result;
+        } catch (RuntimeException e) {
+            sample.stop(timer(operation, Outcome.of(e), e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    /**
+     * Chronométrer un appel non bloquant, de l'abonnement à la réponse
+     */
+    public <T> Mono<T> record(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                    .doOnSuccess(result -> sample.stop(timer(operation, Outcome.SUCCESS, NO_EXCEPTION)))
+                    .doOnError(e -> sample.stop(timer(operation, Outcome.of(e), e.getClass().getSimpleName())));
+        });
+    }
+
+    /**
+     * Chronométrer une réponse en flux, de l'abonnement au dernier élément, et enregistrer son nombre d'éléments
+     */
+    public <T> Flux<T> record(String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicInteger size = new AtomicInteger();
+            return call
+                    .doOnNext(element -> size.incrementAndGet())
+                    .doOnComplete(() -> {
+                        sample.stop(timer(operation, Outcome.SUCCESS, NO_EXCEPTION));
+                        recordSize(operation, size.get());
+                    })
+                    .doOnError(e -> sample.stop(timer(operation, Outcome.of(e), e.getClass().getSimpleName())));
+        });
+    }
+
+    /**
+     * Enregistrer le nombre d'éléments d'une réponse en liste
+     */
+    public void recordSize(String operation, int size) {
+        DistributionSummary.builder("persistance.client.response.size")
+                .description("Nombre de feedbacks renvoyés par ms-persistance")
+                .baseUnit("feedbacks")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    private Timer timer(String operation, Outcome outcome, String exception) {
+        return Timer.builder("persistance.client.requests")
+                .description("Durée des appels vers ms-persistance")
+                .tag("operation", operation)
+                .tag("outcome", outcome.name())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
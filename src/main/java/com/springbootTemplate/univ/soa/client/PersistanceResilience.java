@@ -0,0 +1,119 @@
+package com.springbootTemplate.univ.soa.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Disjoncteur et cloison (nombre d'appels simultanés) par famille d'appels vers ms-persistance.
+ * <p>
+ * Les instances sont configurées par {@code resilience4j.circuitbreaker.instances.*} et
+ * {@code resilience4j.bulkhead.instances.*} ; leurs métriques sont publiées par Resilience4j.
+ * Les appels non bloquants partagent les disjoncteurs mais ont leurs propres cloisons ({@code *-reactive}),
+ * sans attente : un appel en vol n'y occupe aucun thread.
+ */
+@Component
+public class PersistanceResilience {
+
+    /**
+     * Familles d'appels, isolées les unes des autres
+     */
+    public enum Operation {
+        READ("persistance-read"),
+        WRITE("persistance-write"),
+        EXISTENCE("persistance-existence");
+
+        private final String instanceName;
+
+        Operation(String instanceName) {
+            this.instanceName = instanceName;
+        }
+
+        public String getInstanceName() {
+            return instanceName;
+        }
+
+        public String getReactiveInstanceName() {
+            return instanceName + "-reactive";
+        }
+    }
+
+    private final Map<Operation, CircuitBreaker> circuitBreakers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Bulkhead> bulkheads = new EnumMap<>(Operation.class);
+    private final Map<Operation, Bulkhead> reactiveBulkheads = new EnumMap<>(Operation.class);
+
+    public PersistanceResilience(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        for (Operation operation : Operation.values()) {
+            circuitBreakers.put(operation, circuitBreakerRegistry.circuitBreaker(operation.getInstanceName()));
+            bulkheads.put(operation, bulkheadRegistry.bulkhead(operation.getInstanceName()));
+            reactiveBulkheads.put(operation, bulkheadRegistry.bulkhead(operation.getReactiveInstanceName()));
+        }
+    }
+
+    /**
+     * Exécuter un appel : refusé immédiatement si le disjoncteur est ouvert ou la cloison pleine.
+     * Le disjoncteur est dans la cloison, pour qu'un refus de cloison ne compte pas comme une panne.
+     */
+    public <T> T call(Operation operation, Supplier<T> call) {
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreakers.get(operation), call);
+        return Bulkhead.decorateSupplier(bulkheads.get(operation), guarded).get();
+    }
+
+    /**
+     * Variante non bloquante de {@link #call} : cloison puis disjoncteur, évalués à l'abonnement
+     */
+    public <T> Mono<T> call(Operation operation, Mono<T> call) {
+        return call.transformDeferred(CircuitBreakerOperator.of(circuitBreakers.get(operation)))
+                .transformDeferred(BulkheadOperator.of(reactiveBulkheads.get(operation)));
+    }
+
+    /**
+     * Variante non bloquante de {@link #call} pour les réponses en flux : la place dans la cloison
+     * est gardée jusqu'au dernier élément
+     */
+    public <T> Flux<T> call(Operation operation, Flux<T> call) {
+        return call.transformDeferred(CircuitBreakerOperator.of(circuitBreakers.get(operation)))
+                .transformDeferred(BulkheadOperator.of(reactiveBulkheads.get(operation)));
+    }
+
+    public CircuitBreaker.State getState(Operation operation) {
+        return circuitBreakers.get(operation).getState();
+    }
+
+    /**
+     * Indique si l'erreur vient d'un appel refusé par protection (disjoncteur ouvert ou cloison pleine),
+     * et non d'une réponse de ms-persistance
+     */
+    public static boolean isRejected(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indique si l'erreur vient d'une cloison pleine : l'appel n'a pas été tenté et peut être renvoyé un peu plus tard
+     */
+    public static boolean isBulkheadFull(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadFullException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,168 @@
+package com.springbootTemplate.univ.soa.client;
+
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Regroupement des lectures identiques simultanées vers ms-persistance : pour une même clé,
+ * un seul appel est en cours et son résultat (ou son erreur) est partagé par tous les appelants
+ * arrivés pendant qu'il s'exécutait.
+ * <p>
+ * Une écriture (locale ou d'une autre instance) ouvre une nouvelle époque pour les clés qu'elle touche :
+ * la lecture en cours est détachée, ses appelants reçoivent son résultat, mais les appelants suivants
+ * lancent un nouvel appel au lieu de rejoindre une lecture commencée avant l'écriture.
+ * <p>
+ * Les appelants sont comptés par rôle ({@code persistance.singleflight.requests}, {@code role=leader|shared}) ;
+ * {@code persistance.singleflight.collapse.ratio} donne la part d'appelants servis sans appel supplémentaire.
+ */
+@Component
+public class PersistanceSingleFlight {
+
+    /**
+     * Lectures regroupées, chacune avec ses clés en cours
+     */
+    public enum Read {
+        FEEDBACK,
+        UTILISATEUR,
+        RECETTE;
+
+        String getTagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** Avant tout consommateur des écritures susceptible de relire ms-persistance */
+    public static final int LISTENER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private final Map<Read, Map<Long, CompletableFuture<Object>>> inFlight = new EnumMap<>(Read.class);
+    private final Map<Read, Counter> leaders = new EnumMap<>(Read.class);
+    private final Map<Read, Counter> shared = new EnumMap<>(Read.class);
+
+    public PersistanceSingleFlight(MeterRegistry meterRegistry) {
+        for (Read read : Read.values()) {
+            Map<Long, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+            inFlight.put(read, calls);
+            leaders.put(read, requests(meterRegistry, read, "leader"));
+            shared.put(read, requests(meterRegistry, read, "shared"));
+            Gauge.builder("persistance.singleflight.inflight", calls, Map::size)
+                    .description("Lectures vers ms-persistance en cours, par type")
+                    .tag("operation", read.getTagValue())
+                    .register(meterRegistry);
+            Gauge.builder("persistance.singleflight.collapse.ratio", this, flight -> flight.collapseRatio(read))
+                    .description("Part des lectures servies par un appel déjà en cours")
+                    .tag("operation", read.getTagValue())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Exécuter la lecture, ou attendre celle déjà en cours pour la même clé
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Read read, Long key, Supplier<T> call) {
+        Map<Long, CompletableFuture<Object>> calls = inFlight.get(read);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> current = calls.putIfAbsent(key, flight);
+        if (current != null) {
+            shared.get(read).increment();
+            return (T) await(current);
+        }
+
+        leaders.get(read).increment();
+        T result;
+        try {
+            result = call.get();
+        } catch (Throwable e) {
+            // Retirer avant de publier : un appelant arrivé ensuite relance un appel
+            calls.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        calls.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    /**
+     * Ne plus partager les lectures en cours des clés touchées par une écriture
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        invalidate(event.feedbackIds(), event.utilisateurIds(), event.recetteIds());
+    }
+
+    /**
+     * Ne plus partager les lectures en cours des clés touchées par une écriture d'une autre instance
+     * (d'aucune clé si des messages ont été perdus)
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackInvalidated(FeedbackInvalidatedEvent event) {
+        if (event.all()) {
+            inFlight.values().forEach(Map::clear);
+            return;
+        }
+        invalidate(event.feedbackIds(), event.utilisateurIds(), event.recetteIds());
+    }
+
+    /**
+     * Détacher la lecture en cours pour la clé : elle se termine pour ses appelants actuels,
+     * le prochain appelant en relance une
+     */
+    public void invalidate(Read read, Long key) {
+        if (key != null) {
+            inFlight.get(read).remove(key);
+        }
+    }
+
+    private void invalidate(Set<Long> feedbackIds, Set<Long> utilisateurIds, Set<Long> recetteIds) {
+        feedbackIds.forEach(id -> invalidate(Read.FEEDBACK, id));
+        utilisateurIds.forEach(id -> invalidate(Read.UTILISATEUR, id));
+        recetteIds.forEach(id -> invalidate(Read.RECETTE, id));
+    }
+
+    double collapseRatio(Read read) {
+        double sharedCount = shared.get(read).count();
+        double total = leaders.get(read).count() + sharedCount;
+        return total == 0 ? 0.0 : sharedCount / total;
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, Read read, String role) {
+        return Counter.builder("persistance.singleflight.requests")
+                .description("Lectures demandées à ms-persistance, par appel effectif (leader) ou partagé (shared)")
+                .tag("operation", read.getTagValue())
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,207 @@
+package com.springbootTemplate.univ.soa.client;
+
+import com.springbootTemplate.univ.soa.client.PersistanceResilience.Operation;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.FeedbackPageQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Client non bloquant vers le microservice Persistance, mêmes opérations que {@link PersistanceClient}.
+ * <p>
+ * Un appel en attente de réponse n'occupe aucun thread, et les listes sont décodées au fil de l'eau
+ * (un {@link FeedbackDTO} à la fois) au lieu d'être chargées en entier. Les erreurs HTTP sont signalées
+ * avec les exceptions de {@link PersistanceClient} ({@link HttpClientErrorException},
+ * {@link HttpServerErrorException}), pour partager les disjoncteurs et les métriques.
+ */
+@Component
+@ConditionalOnProperty(prefix = "feedback.store", name = "mode", havingValue = "remote", matchIfMissing = true)
+@Slf4j
+public class ReactivePersistanceClient {
+
+    private final WebClient webClient;
+    private final PersistanceResilience resilience;
+    private final PersistanceMetrics metrics;
+
+    @Value("${persistance.service.url}")
+    private String persistanceServiceUrl;
+
+    public ReactivePersistanceClient(@Qualifier("persistanceWebClient") WebClient webClient,
+                                     PersistanceResilience resilience,
+                                     PersistanceMetrics metrics) {
+        this.webClient = webClient;
+        this.resilience = resilience;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Créer un nouveau feedback ; un conflit (409) est propagé tel quel
+     */
+    public Mono<FeedbackDTO> createFeedback(FeedbackDTO feedbackDTO) {
+        String url = persistanceServiceUrl + "/api/persistance/feedbacks";
+        return call("create", Operation.WRITE, webClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(feedbackDTO)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ReactivePersistanceClient::toException)
+                .bodyToMono(FeedbackDTO.class))
+                .doOnSuccess(created -> log.info("Feedback créé avec succès - ID: {}", created.getId()));
+    }
+
+    /**
+     * Tous les feedbacks, décodés au fil de la réponse
+     */
+    public Flux<FeedbackDTO> getAllFeedbacks() {
+        return getList("get-all", persistanceServiceUrl + "/api/persistance/feedbacks");
+    }
+
+    /**
+     * Une page de feedbacks triés par (dateFeedback, id) décroissants
+     */
+    public Flux<FeedbackDTO> getFeedbacksPage(FeedbackPageQuery query) {
+        String url = UriComponentsBuilder.fromUriString(persistanceServiceUrl + "/api/persistance/feedbacks/page")
+                .queryParamIfPresent("utilisateurId", Optional.ofNullable(query.getUtilisateurId()))
+                .queryParamIfPresent("recetteId", Optional.ofNullable(query.getRecetteId()))
+                .queryParamIfPresent("page", Optional.ofNullable(query.getPage()))
+                .queryParam("size", query.getLimit())
+                .queryParamIfPresent("afterDate", Optional.ofNullable(query.getAfterDate()))
+                .queryParamIfPresent("afterId", Optional.ofNullable(query.getAfterId()))
+                .queryParamIfPresent("from", Optional.ofNullable(query.getFrom()))
+                .queryParamIfPresent("to", Optional.ofNullable(query.getTo()))
+                .encode()
+                .toUriString();
+        return getList("get-page", url);
+    }
+
+    /**
+     * Un feedback par son ID ; vide s'il n'existe pas
+     */
+    public Mono<FeedbackDTO> getFeedbackById(Long id) {
+        String url = persistanceServiceUrl + "/api/persistance/feedbacks/" + id;
+        log.info("GET {} - Récupération du feedback (non bloquant)", url);
+        return call("get-by-id", Operation.READ, webClient.get()
+                .uri(url)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ReactivePersistanceClient::toException)
+                .bodyToMono(FeedbackDTO.class))
+                .onErrorResume(HttpClientErrorException.NotFound.class, e -> Mono.empty());
+    }
+
+    public Flux<FeedbackDTO> getFeedbacksByUtilisateurId(Long utilisateurId) {
+        return getList("get-by-utilisateur",
+                persistanceServiceUrl + "/api/persistance/feedbacks/utilisateur/" + utilisateurId);
+    }
+
+    public Flux<FeedbackDTO> getFeedbacksByRecetteId(Long recetteId) {
+        return getList("get-by-recette", persistanceServiceUrl + "/api/persistance/feedbacks/recette/" + recetteId);
+    }
+
+    public Mono<FeedbackDTO> updateFeedback(Long id, FeedbackDTO feedbackDTO) {
+        String url = persistanceServiceUrl + "/api/persistance/feedbacks/" + id;
+        return call("update", Operation.WRITE, webClient.put()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(feedbackDTO)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ReactivePersistanceClient::toException)
+                .bodyToMono(FeedbackDTO.class));
+    }
+
+    public Mono<Void> deleteFeedback(Long id) {
+        String url = persistanceServiceUrl + "/api/persistance/feedbacks/" + id;
+        return call("delete", Operation.WRITE, webClient.delete()
+                .uri(url)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ReactivePersistanceClient::toException)
+                .toBodilessEntity()
+                .then());
+    }
+
+    public Mono<Boolean> utilisateurExists(Long utilisateurId) {
+        return exists("utilisateur-exists", persistanceServiceUrl + "/api/persistance/utilisateurs/" + utilisateurId);
+    }
+
+    public Mono<Boolean> recetteExists(Long recetteId) {
+        return exists("recette-exists", persistanceServiceUrl + "/api/persistance/recettes/" + recetteId);
+    }
+
+    private Flux<FeedbackDTO> getList(String operation, String url) {
+        log.info("GET {} - Récupération de feedbacks en flux", url);
+        Flux<FeedbackDTO> feedbacks = webClient.get()
+                .uri(url)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ReactivePersistanceClient::toException)
+                .bodyToFlux(FeedbackDTO.class);
+        return metrics.record(operation, resilience.call(Operation.READ, feedbacks));
+    }
+
+    /**
+     * Sonde d'existence sans lecture du corps : HEAD, ou GET si la ressource n'accepte pas HEAD
+     */
+    private Mono<Boolean> exists(String operation, String url) {
+        Mono<Boolean> probe = webClient.head()
+                .uri(url)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.METHOD_NOT_ALLOWED.value()) {
+                        return response.releaseBody().then(webClient.get()
+                                .uri(url)
+                                .exchangeToMono(ReactivePersistanceClient::existence));
+                    }
+                    return existence(response);
+                });
+        return call(operation, Operation.EXISTENCE, probe);
+    }
+
+    private static Mono<Boolean> existence(ClientResponse response) {
+        if (response.statusCode().value() == HttpStatus.NOT_FOUND.value()) {
+            return response.releaseBody().thenReturn(false);
+        }
+        if (response.statusCode().isError()) {
+            return toException(response).flatMap(Mono::error);
+        }
+        return response.releaseBody().thenReturn(true);
+    }
+
+    /**
+     * Appel chronométré, protégé par le disjoncteur de sa famille et sa cloison non bloquante
+     */
+    private <T> Mono<T> call(String name, Operation operation, Mono<T> call) {
+        return metrics.record(name, resilience.call(operation, call));
+    }
+
+    /**
+     * Réponse en erreur convertie en exception {@link HttpStatusCodeException}, corps compris
+     */
+    private static Mono<HttpStatusCodeException> toException(ClientResponse response) {
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> {
+                    HttpStatusCode status = response.statusCode();
+                    String statusText = status instanceof HttpStatus known ? known.getReasonPhrase() : "";
+                    return status.is4xxClientError()
+                            ? HttpClientErrorException.create(status, statusText,
+                                    response.headers().asHttpHeaders(), body, StandardCharsets.UTF_8)
+                            : HttpServerErrorException.create(status, statusText,
+                                    response.headers().asHttpHeaders(), body, StandardCharsets.UTF_8);
+                });
+    }
+}
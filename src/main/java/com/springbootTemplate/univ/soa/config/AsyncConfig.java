@@ -0,0 +1,54 @@
+package com.springbootTemplate.univ.soa.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors internes. Le mode est choisi par {@code spring.threads.virtual.enabled},
+ * comme pour Tomcat et l'executor applicatif de Spring.
+ */
+@Configuration
+public class AsyncConfig {
+
+    private static final String PERSISTANCE_THREAD_PREFIX = "persistance-";
+
+    /**
+     * Pool dédié aux appels vers ms-persistance lancés en parallèle.
+     * Une fois saturé, la tâche s'exécute dans le thread appelant plutôt que d'être rejetée.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor persistanceExecutor(
+            @Value("${feedback.executor.persistance.pool-size}") int poolSize,
+            @Value("${feedback.executor.persistance.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(PERSISTANCE_THREAD_PREFIX);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Un thread virtuel par appel parallèle vers ms-persistance : le nombre d'appels
+     * simultanés n'est plus borné que par le pool de connexions HTTP.
+     */
+    @Bean("persistanceExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualPersistanceExecutor(
+            @Value("${feedback.executor.persistance.shutdown-timeout}") long shutdownTimeoutMillis) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(PERSISTANCE_THREAD_PREFIX);
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(shutdownTimeoutMillis);
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limites des endpoints traitant plusieurs feedbacks ou recettes en une requête
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.batch")
+public class BatchProperties {
+
+    /** Nombre max de feedbacks par création groupée */
+    private int maxSize = 100;
+
+    /** Créations envoyées en parallèle à Persistance, par groupe */
+    private int insertConcurrency = 8;
+
+    /** Vérifications d'existence simultanées par groupe, au plus la cloison {@code persistance-existence} */
+    private int existenceConcurrency = 8;
+
+    /** Nombre max de recettes par demande de notes moyennes groupée */
+    private int averageMaxSize = 100;
+
+    /** Agrégats absents de la mémoire chargés en parallèle depuis Persistance */
+    private int averageConcurrency = 8;
+}
@@ -0,0 +1,11 @@
+package com.springbootTemplate.univ.soa.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({FeedbackCacheProperties.class, RatingAggregateProperties.class,
+        ExistenceCacheProperties.class, LeaderboardProperties.class, RatingTrendProperties.class,
+        InvalidationProperties.class})
+public class CacheConfig {
+}
@@ -0,0 +1,38 @@
+package com.springbootTemplate.univ.soa.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.ZoneId;
+
+/**
+ * Format binaire CBOR ({@code application/cbor}) pour les échanges entre services, choisi par l'en-tête Accept.
+ * JSON reste le format par défaut ; les dates CBOR sont des millisecondes epoch.
+ */
+@Configuration
+public class CborConfig {
+
+    /**
+     * Remplace le convertisseur CBOR par défaut de Spring MVC, à sa place (après JSON)
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                            JacksonProperties jacksonProperties) {
+        ZoneId zone = jacksonProperties.getTimeZone() != null
+                ? jacksonProperties.getTimeZone().toZoneId() : ZoneId.systemDefault();
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder, zone));
+    }
+
+    /**
+     * ObjectMapper CBOR reprenant les réglages Jackson de l'application (modules, propriétés spring.jackson)
+     */
+    public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder, ZoneId zone) {
+        ObjectMapper objectMapper = builder.factory(new CBORFactory()).build();
+        return objectMapper.registerModule(new EpochTimestampModule(zone));
+    }
+}
@@ -0,0 +1,62 @@
+package com.springbootTemplate.univ.soa.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Dates {@link LocalDateTime} écrites en millisecondes epoch (heure locale lue dans le fuseau donné).
+ * En lecture, les millisecondes epoch sont acceptées comme les formats Jackson habituels (texte ISO, tableau).
+ */
+public class EpochTimestampModule extends SimpleModule {
+
+    public EpochTimestampModule(ZoneId zone) {
+        super("EpochTimestampModule");
+        addSerializer(LocalDateTime.class, new Serializer(zone));
+        addDeserializer(LocalDateTime.class, new Deserializer(zone));
+    }
+
+    private static final class Serializer extends StdSerializer<LocalDateTime> {
+
+        private final ZoneId zone;
+
+        private Serializer(ZoneId zone) {
+            super(LocalDateTime.class);
+            this.zone = zone;
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.atZone(zone).toInstant().toEpochMilli());
+        }
+    }
+
+    private static final class Deserializer extends StdDeserializer<LocalDateTime> {
+
+        private final ZoneId zone;
+
+        private Deserializer(ZoneId zone) {
+            super(LocalDateTime.class);
+            this.zone = zone;
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), zone);
+            }
+            return LocalDateTimeDeserializer.INSTANCE.deserialize(parser, context);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réglages du cache des identifiants d'utilisateurs et de recettes déjà vérifiés
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.cache.existence")
+public class ExistenceCacheProperties {
+
+    /** Nombre maximal d'identifiants gardés par type (utilisateur, recette) et par résultat */
+    private long maxSize = 100_000;
+
+    /** Durée pendant laquelle un identifiant existant n'est plus revérifié */
+    private Duration positiveTtl = Duration.ofMinutes(5);
+
+    /** Durée pendant laquelle un identifiant inconnu n'est plus revérifié */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
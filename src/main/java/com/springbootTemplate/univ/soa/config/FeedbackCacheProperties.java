@@ -0,0 +1,29 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réglages du cache local des feedbacks par recette
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.cache.recette")
+public class FeedbackCacheProperties {
+
+    /** Nombre maximal de recettes gardées en cache */
+    private long maxSize = 10_000;
+
+    /** Durée de vie d'une entrée après son chargement */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    /** Conservation de la dernière liste connue, servie quand le disjoncteur des lectures est ouvert */
+    private Duration lastKnownGoodTtl = Duration.ofHours(1);
+
+    /** Utilisation du cache par GET /api/feedbacks/recette/{recetteId} */
+    private boolean feedbacksEnabled = true;
+
+    /** Utilisation du cache par GET /api/feedbacks/recette/{recetteId}/average */
+    private boolean averageEnabled = true;
+}
@@ -0,0 +1,29 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Stockage des feedbacks : microservice Persistance (remote) ou magasin embarqué (local)
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.store")
+public class FeedbackStoreProperties {
+
+    public enum Mode {
+        REMOTE,
+        LOCAL
+    }
+
+    /** Stockage utilisé sous le service ; les vérifications d'existence restent sur Persistance */
+    private Mode mode = Mode.REMOTE;
+
+    /** Répertoire du journal et de l'instantané du magasin local */
+    private String directory = "data/feedback-store";
+
+    /** Forcer chaque écriture sur disque avant de l'acquitter (sinon, perte possible sur coupure machine) */
+    private boolean fsync = true;
+
+    /** Nombre d'écritures journalisées au-delà duquel un instantané est pris et le journal vidé */
+    private int snapshotEvery = 10000;
+}
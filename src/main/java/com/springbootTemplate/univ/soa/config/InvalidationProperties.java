@@ -0,0 +1,58 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invalidation des caches entre instances : chaque écriture est diffusée aux autres pods
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.invalidation")
+public class InvalidationProperties {
+
+    /** Active la diffusion des écritures et l'endpoint {@code POST /internal/invalidations} */
+    private boolean enabled = false;
+
+    /** URLs fixes des autres instances (ex. http://ms-feedback-1:8091) */
+    private List<String> peers = new ArrayList<>();
+
+    /** Nom DNS résolu en adresses des instances (service headless Kubernetes), vide pour ne pas l'utiliser */
+    private String peerDns = "";
+
+    /** Port HTTP des instances découvertes par DNS */
+    private int peerPort = 8091;
+
+    /** Intervalle de résolution DNS des instances */
+    private Duration peerRefreshInterval = Duration.ofSeconds(10);
+
+    /** Secret partagé envoyé dans l'en-tête {@code X-Invalidation-Token}, obligatoire si {@code enabled} */
+    private String token = "";
+
+    /** Messages max par envoi à une instance */
+    private int batchSize = 100;
+
+    /** Messages en attente max par instance ; au-delà, remplacés par un seul message « tout invalider » */
+    private int queueCapacity = 10000;
+
+    /** Délai avant le premier renvoi d'un lot refusé, doublé à chaque échec */
+    private Duration retryDelay = Duration.ofSeconds(1);
+
+    /** Délai max entre deux renvois */
+    private Duration maxRetryDelay = Duration.ofSeconds(30);
+
+    /** Délai max d'un envoi (connexion et réponse) */
+    private Duration requestTimeout = Duration.ofSeconds(2);
+
+    /** Attente max de l'envoi des messages restants à l'arrêt */
+    private Duration drainTimeout = Duration.ofSeconds(2);
+
+    /** Conservation des dernières versions reçues par identifiant (doit couvrir la durée des renvois) */
+    private Duration versionRetention = Duration.ofMinutes(10);
+
+    /** Nombre max de versions reçues conservées */
+    private long versionMaxSize = 200000;
+}
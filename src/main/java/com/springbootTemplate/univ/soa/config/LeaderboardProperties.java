@@ -0,0 +1,32 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Classement des recettes (mieux notées, plus commentées) tenu en mémoire
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.leaderboard")
+public class LeaderboardProperties {
+
+    /** Active le classement et son chargement initial depuis Persistance */
+    private boolean enabled = true;
+
+    /** Nombre de recettes renvoyées par défaut */
+    private int defaultLimit = 10;
+
+    /** Nombre maximal de recettes renvoyées */
+    private int maxLimit = 100;
+
+    /** Taille des pages lues lors du chargement complet */
+    private int pageSize = 500;
+
+    /** Délai entre deux reconstructions complètes depuis Persistance (écritures des autres instances) */
+    private Duration resyncInterval = Duration.ofHours(1);
+
+    /** Attente avant une nouvelle tentative après un chargement en échec */
+    private Duration retryDelay = Duration.ofSeconds(30);
+}
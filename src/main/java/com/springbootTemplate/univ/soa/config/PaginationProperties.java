@@ -0,0 +1,21 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Taille des pages renvoyées par les endpoints paginés
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.pagination")
+public class PaginationProperties {
+
+    /** Taille utilisée quand le client n'en précise pas */
+    private int defaultSize = 20;
+
+    /** Taille maximale acceptée ; les demandes supérieures sont ramenées à cette valeur */
+    private int maxSize = 100;
+
+    /** Taille des pages lues auprès de Persistance lors d'un export en flux */
+    private int exportPageSize = 500;
+}
@@ -0,0 +1,41 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réglages du pool de connexions HTTP vers le microservice Persistance
+ */
+@Data
+@ConfigurationProperties(prefix = "persistance.http")
+public class PersistanceHttpProperties {
+
+    /** Nombre maximal de connexions ouvertes, toutes routes confondues */
+    private int maxConnections = 200;
+
+    /** Nombre maximal de connexions ouvertes vers un même hôte */
+    private int maxConnectionsPerRoute = 50;
+
+    /** Délai d'établissement de la connexion TCP */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** Délai maximal d'attente de la réponse */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /** Délai maximal d'attente d'une connexion libre dans le pool */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /** Durée après laquelle une connexion inactive est fermée */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Durée de vie maximale d'une connexion, même active */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /** Nombre maximal de connexions du client non bloquant (appels en vol sans thread dédié) */
+    private int reactiveMaxConnections = 1000;
+
+    /** Demander les réponses en CBOR (JSON reste accepté si ms-persistance ne le propose pas) */
+    private boolean cbor = false;
+}
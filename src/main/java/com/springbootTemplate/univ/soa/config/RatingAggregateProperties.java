@@ -0,0 +1,26 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réglages du stock d'agrégats de notes par recette
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.rating.aggregate")
+public class RatingAggregateProperties {
+
+    /** Nombre maximal de recettes dont l'agrégat est gardé en mémoire */
+    private long maxSize = 50_000;
+
+    /** Délai après lequel un agrégat est resynchronisé depuis Persistance (filet de sécurité) */
+    private Duration resyncInterval = Duration.ofMinutes(10);
+
+    /** Note a priori de la moyenne bayésienne (vers laquelle tendent les recettes peu notées) */
+    private double bayesianPriorMean = 3.0;
+
+    /** Poids de la note a priori, en nombre de notes fictives */
+    private long bayesianPriorWeight = 5;
+}
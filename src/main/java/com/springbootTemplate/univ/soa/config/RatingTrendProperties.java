@@ -0,0 +1,20 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réglages des tendances de notes par recette (compteurs horaires et journaliers)
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.rating.trend")
+public class RatingTrendProperties {
+
+    /** Nombre maximal de recettes dont les tendances sont gardées en mémoire (environ 2 Ko par recette) */
+    private long maxSize = 10_000;
+
+    /** Délai après lequel les tendances d'une recette sont resynchronisées depuis Persistance (filet de sécurité) */
+    private Duration resyncInterval = Duration.ofHours(1);
+}
@@ -1,14 +1,133 @@
 package com.springbootTemplate.univ.soa.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.ChannelOption;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties({PersistanceHttpProperties.class, PaginationProperties.class, BatchProperties.class,
+        WriteBehindProperties.class, FeedbackStoreProperties.class})
 public class WebConfig {
 
+    private static final MediaType JSON_FALLBACK = MediaType.parseMediaType("application/json;q=0.9");
+
+    /**
+     * Pool de connexions keep-alive partagé par tous les appels vers ms-persistance
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager persistanceConnectionManager(PersistanceHttpProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient persistanceHttpClient(PoolingHttpClientConnectionManager persistanceConnectionManager,
+                                                     PersistanceHttpProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(persistanceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient persistanceHttpClient, PersistanceHttpProperties properties,
+                                     MappingJackson2CborHttpMessageConverter cborHttpMessageConverter) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(persistanceHttpClient));
+        List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+        if (properties.isCbor()) {
+            // Après JSON : les corps envoyés restent en JSON, seules les réponses peuvent être en CBOR
+            converters.add(cborHttpMessageConverter);
+            restTemplate.getInterceptors().add(WebConfig::preferCbor);
+        }
+        return restTemplate;
+    }
+
+    /**
+     * CBOR en tête de l'en-tête Accept, JSON en repli, pour les requêtes qui acceptent les deux
+     */
+    private static ClientHttpResponse preferCbor(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getHeaders().getAccept().contains(MediaType.APPLICATION_CBOR)) {
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_CBOR, JSON_FALLBACK));
+        }
+        return execution.execute(request, body);
+    }
+
+    /**
+     * Pool de connexions du client non bloquant : les appels en attente de réponse n'occupent aucun thread,
+     * leur nombre n'est limité que par ce pool et les cloisons {@code *-reactive}
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(prefix = "feedback.store", name = "mode", havingValue = "remote", matchIfMissing = true)
+    public ConnectionProvider persistanceReactiveConnectionProvider(PersistanceHttpProperties properties) {
+        return ConnectionProvider.builder("persistance")
+                .maxConnections(properties.getReactiveMaxConnections())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .maxLifeTime(properties.getTimeToLive())
+                .evictInBackground(properties.getIdleTimeout())
+                .build();
+    }
+
+    /**
+     * Client non bloquant vers ms-persistance (JSON uniquement : les listes sont décodées élément par élément)
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "feedback.store", name = "mode", havingValue = "remote", matchIfMissing = true)
+    public WebClient persistanceWebClient(WebClient.Builder builder,
+                                          ConnectionProvider persistanceReactiveConnectionProvider,
+                                          PersistanceHttpProperties properties) {
+        HttpClient httpClient = HttpClient.create(persistanceReactiveConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    /**
+     * Expose l'état du pool (connexions disponibles, louées, en attente) via /actuator/metrics
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MeterBinder persistanceConnectionPoolMetrics(PoolingHttpClientConnectionManager persistanceConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(persistanceConnectionManager, "persistance");
     }
 }
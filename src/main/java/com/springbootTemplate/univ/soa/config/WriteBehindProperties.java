@@ -0,0 +1,38 @@
+package com.springbootTemplate.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Écritures différées : file en mémoire envoyée à Persistance par petits lots
+ */
+@Data
+@ConfigurationProperties(prefix = "feedback.write-behind")
+public class WriteBehindProperties {
+
+    /** Active les endpoints {@code /async} (réponse 202 avec identifiant de suivi) */
+    private boolean enabled = false;
+
+    /** Écritures en attente max (après regroupement) avant de refuser les nouvelles */
+    private int queueCapacity = 10000;
+
+    /** Attente max d'une place dans la file avant de répondre 503 */
+    private Duration offerTimeout = Duration.ofMillis(100);
+
+    /** Écritures max par envoi (les créations sont limitées par feedback.batch.max-size) */
+    private int batchSize = 50;
+
+    /** Délai max entre la première écriture en attente et son envoi */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /** Attente max de l'envoi des écritures restantes à l'arrêt */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+
+    /** Conservation du résultat d'une écriture pour son suivi */
+    private Duration statusTtl = Duration.ofMinutes(10);
+
+    /** Nombre max de résultats conservés pour le suivi */
+    private long statusMaxSize = 100000;
+}
@@ -1,14 +1,27 @@
 package com.springbootTemplate.univ.soa.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.springbootTemplate.univ.soa.dto.*;
 import com.springbootTemplate.univ.soa.service.FeedbackService;
+import com.springbootTemplate.univ.soa.writebehind.FeedbackWriteBehind;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/feedbacks")
@@ -18,6 +31,8 @@ import java.util.List;
 public class FeedbackController {
 
     private final FeedbackService feedbackService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<FeedbackWriteBehind> writeBehind;
 
     @PostMapping
     public ResponseEntity<FeedbackResponse> createFeedback(@RequestBody FeedbackCreateRequest feedbackCreateRequest) {
@@ -26,13 +41,72 @@ public class FeedbackController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Création groupée : 201 si tous les feedbacks sont créés, 207 sinon (détail par feedback)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<FeedbackBatchResponse> createFeedbacks(@Valid @RequestBody FeedbackBatchCreateRequest request) {
+        log.info("POST /api/feedbacks/batch - Création groupée de feedbacks");
+        FeedbackBatchResponse response = feedbackService.createFeedbacks(request.getFeedbacks());
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping
-    public ResponseEntity<List<FeedbackResponse>> getAllFeedbacks() {
+    public ResponseEntity<FeedbackColumns> getAllFeedbacks() {
         log.info("GET /api/feedbacks - Récupération de tous les feedbacks");
-        List<FeedbackResponse> feedbacks = feedbackService.getAllFeedbacks();
+        FeedbackColumns feedbacks = feedbackService.getAllFeedbacks();
+        return ResponseEntity.ok(feedbacks);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<FeedbackPageResponse> getFeedbacksPage(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /api/feedbacks/page - Récupération d'une page de feedbacks");
+        FeedbackPageResponse feedbacks = feedbackService.getFeedbacksPage(page, size, cursor);
         return ResponseEntity.ok(feedbacks);
     }
 
+    /**
+     * Export en flux NDJSON (un feedback JSON par ligne), à mémoire constante
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportFeedbacks(
+            @RequestParam(required = false) String utilisateurId,
+            @RequestParam(required = false) String recetteId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        log.info("GET /api/feedbacks/export - Export des feedbacks");
+        Stream<FeedbackResponse> feedbacks = feedbackService.streamFeedbacks(utilisateurId, recetteId, from, to);
+        Iterator<FeedbackResponse> iterator = feedbacks.iterator();
+        try {
+            // Première page lue avant l'envoi des en-têtes : une erreur de Persistance garde son code HTTP
+            iterator.hasNext();
+        } catch (RuntimeException e) {
+            feedbacks.close();
+            throw e;
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            long count = 0;
+            try (feedbacks; JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                while (iterator.hasNext()) {
+                    generator.writeObject(iterator.next());
+                    generator.writeRaw('\n');
+                    count++;
+                }
+            }
+            log.info("Export terminé - {} feedbacks écrits", count);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<FeedbackResponse> getFeedbackById(@PathVariable String id) {
         log.info("GET /api/feedbacks/{} - Récupération du feedback", id);
@@ -41,24 +115,81 @@ public class FeedbackController {
     }
 
     @GetMapping("/utilisateur/{utilisateurId}")
-    public ResponseEntity<List<FeedbackResponse>> getFeedbacksByUtilisateurId(@PathVariable String utilisateurId) {
+    public ResponseEntity<FeedbackColumns> getFeedbacksByUtilisateurId(@PathVariable String utilisateurId,
+                                                                       WebRequest request) {
         log.info("GET /api/feedbacks/utilisateur/{} - Récupération des feedbacks de l'utilisateur", utilisateurId);
-        List<FeedbackResponse> feedbacks = feedbackService.getFeedbacksByUtilisateurId(utilisateurId);
+        Versioned<FeedbackColumns> feedbacks = feedbackService.getVersionedFeedbacksByUtilisateurId(utilisateurId);
+        // Écritures différées de l'utilisateur pas encore envoyées à Persistance
+        FeedbackWriteBehind pendingWrites = writeBehind.getIfAvailable();
+        if (pendingWrites != null) {
+            FeedbackColumns persisted = feedbacks.getBody();
+            List<FeedbackResponse> rows = persisted.asList();
+            List<FeedbackResponse> visible = pendingWrites.withPendingWrites(Long.parseLong(utilisateurId), rows);
+            if (visible != rows) {
+                // Contenu provisoire : pas de validateurs, le client ne doit pas le mettre en cache
+                return ResponseEntity.ok(FeedbackColumns.ofResponses(visible));
+            }
+            return conditional(Versioned.of(feedbacks.getETag(), () -> persisted), request);
+        }
+        return conditional(feedbacks, request);
+    }
+
+    @GetMapping("/utilisateur/{utilisateurId}/page")
+    public ResponseEntity<FeedbackPageResponse> getFeedbacksPageByUtilisateurId(
+            @PathVariable String utilisateurId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /api/feedbacks/utilisateur/{}/page - Récupération d'une page de feedbacks de l'utilisateur", utilisateurId);
+        FeedbackPageResponse feedbacks = feedbackService.getFeedbacksPageByUtilisateurId(utilisateurId, page, size, cursor);
         return ResponseEntity.ok(feedbacks);
     }
 
     @GetMapping("/recette/{recetteId}")
-    public ResponseEntity<List<FeedbackResponse>> getFeedbacksByRecetteId(@PathVariable String recetteId) {
+    public ResponseEntity<FeedbackColumns> getFeedbacksByRecetteId(@PathVariable String recetteId,
+                                                                   WebRequest request) {
         log.info("GET /api/feedbacks/recette/{} - Récupération des feedbacks de la recette", recetteId);
-        List<FeedbackResponse> feedbacks = feedbackService.getFeedbacksByRecetteId(recetteId);
+        return conditional(feedbackService.getVersionedFeedbacksByRecetteId(recetteId), request);
+    }
+
+    @GetMapping("/recette/{recetteId}/page")
+    public ResponseEntity<FeedbackPageResponse> getFeedbacksPageByRecetteId(
+            @PathVariable String recetteId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /api/feedbacks/recette/{}/page - Récupération d'une page de feedbacks de la recette", recetteId);
+        FeedbackPageResponse feedbacks = feedbackService.getFeedbacksPageByRecetteId(recetteId, page, size, cursor);
         return ResponseEntity.ok(feedbacks);
     }
 
+    /**
+     * Notes moyennes de plusieurs recettes en une requête (pages de liste et de recherche)
+     */
+    @GetMapping("/average")
+    public ResponseEntity<List<AverageRatingResponse>> getAverageRatingsByRecetteIds(
+            @RequestParam(required = false) List<String> recetteIds) {
+        log.info("GET /api/feedbacks/average - Calcul des notes moyennes de {} recettes",
+                recetteIds == null ? 0 : recetteIds.size());
+        List<AverageRatingResponse> averageRatings = feedbackService.getAverageRatingsByRecetteIds(recetteIds);
+        return ResponseEntity.ok(averageRatings);
+    }
+
     @GetMapping("/recette/{recetteId}/average")
-    public ResponseEntity<AverageRatingResponse> getAverageRatingByRecetteId(@PathVariable String recetteId) {
+    public ResponseEntity<AverageRatingResponse> getAverageRatingByRecetteId(@PathVariable String recetteId,
+                                                                             WebRequest request) {
         log.info("GET /api/feedbacks/recette/{}/average - Calcul de la note moyenne", recetteId);
-        AverageRatingResponse averageRating = feedbackService.getAverageRatingByRecetteId(recetteId);
-        return ResponseEntity.ok(averageRating);
+        return conditional(feedbackService.getVersionedAverageRatingByRecetteId(recetteId), request);
+    }
+
+    /**
+     * Répartition des notes (1 à 5 étoiles), moyenne, moyenne bayésienne et variance, sans relire les feedbacks
+     */
+    @GetMapping("/recette/{recetteId}/distribution")
+    public ResponseEntity<RatingDistributionResponse> getRatingDistributionByRecetteId(@PathVariable String recetteId,
+                                                                                       WebRequest request) {
+        log.info("GET /api/feedbacks/recette/{}/distribution - Calcul de la répartition des notes", recetteId);
+        return conditional(feedbackService.getVersionedRatingDistributionByRecetteId(recetteId), request);
     }
 
     @PutMapping("/{id}")
@@ -76,4 +207,44 @@ public class FeedbackController {
         feedbackService.deleteFeedback(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * GET conditionnel : 304 sans corps si le client possède déjà cette version (If-None-Match),
+     * sinon 200 accompagné de l'ETag.
+     * L'ETag est faible (même contenu, octets libres) : Tomcat ne compresse pas une réponse à ETag fort.
+     * Il porte tout de même le format négocié (JSON ou CBOR).
+     */
+    private <T> ResponseEntity<T> conditional(Versioned<T> versioned, WebRequest request) {
+        String eTag = "W/\"" + versioned.getETag() + (prefersCbor(request) ? "-cbor" : "") + "\"";
+        if (request.checkNotModified(eTag)) {
+            // Statut et validateurs déjà posés sur la réponse par checkNotModified
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(versioned.getBody());
+    }
+
+    /**
+     * Même choix que la négociation de contenu : JSON, premier convertisseur, sauf si CBOR est explicitement préféré
+     */
+    private static boolean prefersCbor(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                    return false;
+                }
+                if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // En-tête invalide : la négociation de contenu répondra 406
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackCreateRequest;
+import com.springbootTemplate.univ.soa.dto.FeedbackUpdateRequest;
+import com.springbootTemplate.univ.soa.dto.FeedbackWriteReceipt;
+import com.springbootTemplate.univ.soa.writebehind.FeedbackWriteBehind;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Écritures différées (feedback.write-behind.enabled) : 202 avec un identifiant de suivi,
+ * l'écriture dans Persistance a lieu ensuite, par lots
+ */
+@RestController
+@RequestMapping("/api/feedbacks")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(prefix = "feedback.write-behind", name = "enabled", havingValue = "true")
+public class FeedbackWriteBehindController {
+
+    private final FeedbackWriteBehind writeBehind;
+
+    @PostMapping("/async")
+    public ResponseEntity<FeedbackWriteReceipt> createFeedbackAsync(@Valid @RequestBody FeedbackCreateRequest request) {
+        log.info("POST /api/feedbacks/async - Création différée d'un feedback");
+        return accepted(writeBehind.submitCreate(request));
+    }
+
+    @PutMapping("/{id}/async")
+    public ResponseEntity<FeedbackWriteReceipt> updateFeedbackAsync(
+            @PathVariable String id,
+            @Valid @RequestBody FeedbackUpdateRequest request) {
+        log.info("PUT /api/feedbacks/{}/async - Mise à jour différée du feedback", id);
+        return accepted(writeBehind.submitUpdate(id, request));
+    }
+
+    /**
+     * Avancement d'une écriture différée ; 404 si l'identifiant est inconnu ou expiré
+     */
+    @GetMapping("/async/{trackingId}")
+    public ResponseEntity<FeedbackWriteReceipt> getWriteReceipt(@PathVariable String trackingId) {
+        log.info("GET /api/feedbacks/async/{} - Suivi d'une écriture différée", trackingId);
+        return ResponseEntity.of(writeBehind.getReceipt(trackingId));
+    }
+
+    private static ResponseEntity<FeedbackWriteReceipt> accepted(FeedbackWriteReceipt receipt) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/feedbacks/async/" + receipt.getTrackingId()))
+                .body(receipt);
+    }
+}
@@ -0,0 +1,60 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.springbootTemplate.univ.soa.config.InvalidationProperties;
+import com.springbootTemplate.univ.soa.invalidation.CacheInvalidationBus;
+import com.springbootTemplate.univ.soa.invalidation.HttpInvalidationTransport;
+import com.springbootTemplate.univ.soa.invalidation.InvalidationMessage;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Réception des invalidations envoyées par les autres instances (feedback.invalidation.enabled) ;
+ * 403 si le secret partagé ne correspond pas. Sans secret configuré, l'application ne démarre pas :
+ * l'endpoint serait ouvert à tous.
+ */
+@RestController
+@RequestMapping("/internal")
+@Slf4j
+@Hidden
+@ConditionalOnProperty(prefix = "feedback.invalidation", name = "enabled", havingValue = "true")
+public class InvalidationController {
+
+    private final CacheInvalidationBus invalidationBus;
+    private final InvalidationProperties properties;
+
+    public InvalidationController(CacheInvalidationBus invalidationBus, InvalidationProperties properties) {
+        if (properties.getToken() == null || properties.getToken().isBlank()) {
+            throw new IllegalStateException("feedback.invalidation.token (FEEDBACK_INVALIDATION_TOKEN) obligatoire "
+                    + "avec feedback.invalidation.enabled=true : POST /internal/invalidations serait sans authentification");
+        }
+        this.invalidationBus = invalidationBus;
+        this.properties = properties;
+    }
+
+    @PostMapping("/invalidations")
+    public ResponseEntity<Void> receiveInvalidations(
+            @RequestHeader(value = HttpInvalidationTransport.TOKEN_HEADER, required = false) String token,
+            @RequestBody List<InvalidationMessage> messages) {
+        if (!isAuthorized(token)) {
+            log.warn("POST /internal/invalidations - Secret d'invalidation absent ou invalide");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        log.debug("POST /internal/invalidations - {} invalidations reçues", messages.size());
+        invalidationBus.receive(messages);
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean isAuthorized(String token) {
+        // Comparaison en temps constant
+        return token != null && MessageDigest.isEqual(
+                properties.getToken().getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,38 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.springbootTemplate.univ.soa.dto.LeaderboardEntryResponse;
+import com.springbootTemplate.univ.soa.rating.RecipeLeaderboard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Classement des recettes (feedback.leaderboard.enabled), servi depuis l'index en mémoire
+ */
+@RestController
+@RequestMapping("/api/feedbacks")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(prefix = "feedback.leaderboard", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LeaderboardController {
+
+    private final RecipeLeaderboard leaderboard;
+
+    /**
+     * Top N des recettes : tri par note bayésienne (rating) ou par nombre d'avis (reviews),
+     * sur tout l'historique (all) ou sur le dernier jour, la dernière semaine ou les 30 derniers jours
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getLeaderboard(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String window,
+            @RequestParam(required = false) Integer limit) {
+        log.info("GET /api/feedbacks/leaderboard - Classement (tri: {}, fenêtre: {}, limite: {})", sort, window, limit);
+        return ResponseEntity.ok(leaderboard.getTop(sort, window, limit));
+    }
+}
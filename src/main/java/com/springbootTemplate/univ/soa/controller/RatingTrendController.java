@@ -0,0 +1,34 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.springbootTemplate.univ.soa.dto.RatingTrendResponse;
+import com.springbootTemplate.univ.soa.rating.RatingTrendStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Tendances des notes par recette, servies depuis les compteurs horaires et journaliers en mémoire
+ */
+@RestController
+@RequestMapping("/api/feedbacks")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class RatingTrendController {
+
+    private final RatingTrendStore ratingTrendStore;
+
+    /**
+     * Nombre et moyenne des notes sur 24h, 7, 30 et 90 jours, et leur évolution par rapport à la période précédente
+     */
+    @GetMapping("/recette/{recetteId}/trend")
+    public ResponseEntity<RatingTrendResponse> getRatingTrendByRecetteId(@PathVariable String recetteId) {
+        log.info("GET /api/feedbacks/recette/{}/trend - Calcul des tendances de notes", recetteId);
+        try {
+            return ResponseEntity.ok(ratingTrendStore.getTrendResponse(Long.parseLong(recetteId)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Format d'ID recette invalide: " + recetteId);
+        }
+    }
+}
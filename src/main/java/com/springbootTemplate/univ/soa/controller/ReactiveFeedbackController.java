@@ -0,0 +1,71 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.springbootTemplate.univ.soa.dto.AverageRatingResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackResponse;
+import com.springbootTemplate.univ.soa.service.ReactiveFeedbackService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Variantes non bloquantes des lectures de {@link FeedbackController} : le thread de la requête est libéré
+ * pendant les appels à ms-persistance (traitement asynchrone de Spring MVC).
+ * <p>
+ * Les listes sont écrites en {@code application/x-ndjson} au fil de la réponse de ms-persistance, y compris
+ * quand le client accepte tous les formats ; avec {@code Accept: application/json}, elles sont rassemblées
+ * en tableau avant l'envoi.
+ */
+@RestController
+@RequestMapping("/api/reactive/feedbacks")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(prefix = "feedback.store", name = "mode", havingValue = "remote", matchIfMissing = true)
+public class ReactiveFeedbackController {
+
+    private final ReactiveFeedbackService feedbackService;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FeedbackResponse> getAllFeedbacks() {
+        log.info("GET /api/reactive/feedbacks - Récupération de tous les feedbacks");
+        return feedbackService.getAllFeedbacks();
+    }
+
+    @GetMapping(value = "/average", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AverageRatingResponse> getAverageRatingsByRecetteIds(
+            @RequestParam(required = false) List<String> recetteIds) {
+        log.info("GET /api/reactive/feedbacks/average - Calcul des notes moyennes de {} recettes",
+                recetteIds == null ? 0 : recetteIds.size());
+        return feedbackService.getAverageRatingsByRecetteIds(recetteIds);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<FeedbackResponse> getFeedbackById(@PathVariable String id) {
+        log.info("GET /api/reactive/feedbacks/{} - Récupération du feedback", id);
+        return feedbackService.getFeedbackById(id);
+    }
+
+    @GetMapping(value = "/utilisateur/{utilisateurId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FeedbackResponse> getFeedbacksByUtilisateurId(@PathVariable String utilisateurId) {
+        log.info("GET /api/reactive/feedbacks/utilisateur/{} - Récupération des feedbacks de l'utilisateur", utilisateurId);
+        return feedbackService.getFeedbacksByUtilisateurId(utilisateurId);
+    }
+
+    @GetMapping(value = "/recette/{recetteId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FeedbackResponse> getFeedbacksByRecetteId(@PathVariable String recetteId) {
+        log.info("GET /api/reactive/feedbacks/recette/{} - Récupération des feedbacks de la recette", recetteId);
+        return feedbackService.getFeedbacksByRecetteId(recetteId);
+    }
+
+    @GetMapping("/recette/{recetteId}/average")
+    public Mono<AverageRatingResponse> getAverageRatingByRecetteId(@PathVariable String recetteId) {
+        log.info("GET /api/reactive/feedbacks/recette/{}/average - Calcul de la note moyenne", recetteId);
+        return feedbackService.getAverageRatingByRecetteId(recetteId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Lot de feedbacks à créer (ex. notes saisies hors ligne)")
+public class FeedbackBatchCreateRequest {
+
+    @Schema(description = "Feedbacks à créer, validés et traités indépendamment les uns des autres", required = true)
+    @NotEmpty(message = "Le lot doit contenir au moins un feedback")
+    private List<FeedbackCreateRequest> feedbacks;
+}
@@ -0,0 +1,62 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Résultat de la création d'un feedback d'un lot")
+public class FeedbackBatchItemResult {
+
+    @Schema(description = "Position du feedback dans le lot", example = "0")
+    private Integer index;
+
+    @Schema(description = "Code HTTP équivalent à une création unitaire (201, 400, 409 ou 503)", example = "201")
+    private Integer status;
+
+    @Schema(description = "Feedback créé (si status = 201)")
+    private FeedbackResponse feedback;
+
+    @Schema(description = "Motif de l'échec (si status != 201)", example = "Vous avez déjà noté cette recette.")
+    private String error;
+
+    /** Échec dû à la saturation d'une cloison (non sérialisé) : l'écriture peut être renvoyée telle quelle */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private boolean retryable;
+
+    public static FeedbackBatchItemResult created(int index, FeedbackResponse feedback) {
+        return FeedbackBatchItemResult.builder()
+                .index(index)
+                .status(HttpStatus.CREATED.value())
+                .feedback(feedback)
+                .build();
+    }
+
+    public static FeedbackBatchItemResult failed(int index, HttpStatus status, String error) {
+        return FeedbackBatchItemResult.builder()
+                .index(index)
+                .status(status.value())
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Appel refusé par une cloison pleine : 503 pour le client, écriture pouvant être renvoyée
+     */
+    public static FeedbackBatchItemResult rejected(int index, String error) {
+        return FeedbackBatchItemResult.builder()
+                .index(index)
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(error)
+                .retryable(true)
+                .build();
+    }
+}
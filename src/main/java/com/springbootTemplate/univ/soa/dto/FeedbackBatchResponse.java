@@ -0,0 +1,39 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Résultats d'une création groupée, dans l'ordre du lot")
+public class FeedbackBatchResponse {
+
+    @Schema(description = "Nombre de feedbacks reçus", example = "3")
+    private Integer total;
+
+    @Schema(description = "Nombre de feedbacks créés", example = "2")
+    private Integer created;
+
+    @Schema(description = "Nombre de feedbacks en échec", example = "1")
+    private Integer failed;
+
+    @Schema(description = "Résultat de chaque feedback")
+    private List<FeedbackBatchItemResult> results;
+
+    public static FeedbackBatchResponse of(List<FeedbackBatchItemResult> results) {
+        int created = (int) results.stream().filter(result -> result.getFeedback() != null).count();
+        return FeedbackBatchResponse.builder()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+}
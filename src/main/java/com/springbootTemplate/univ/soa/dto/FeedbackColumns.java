@@ -0,0 +1,160 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Liste de feedbacks rangée par colonnes, pour les réponses de liste de l'API.
+ * <p>
+ * Une ligne n'est pas un objet : identifiants, notes et dates (secondes epoch de l'heure locale
+ * et nanosecondes) sont dans des tableaux primitifs, les commentaires sont les chaînes du {@link FeedbackDTO} reçu.
+ * Le JSON (ou CBOR) est écrit directement depuis les colonnes par {@link FeedbackColumnsSerializer},
+ * sans {@link FeedbackResponse} intermédiaire ; le contenu sérialisé est identique à celui d'une
+ * {@code List<FeedbackResponse>}, pour toute date représentable par {@link LocalDateTime}.
+ * <p>
+ * N'est volontairement pas une {@link List} : Spring MVC sérialise un type conteneur avec le sérialiseur
+ * de collection, qui ignorerait {@link JsonSerialize} ; {@link #asList()} en donne une vue pour les appelants Java.
+ */
+@JsonSerialize(using = FeedbackColumnsSerializer.class)
+@ArraySchema(schema = @Schema(implementation = FeedbackResponse.class))
+public final class FeedbackColumns {
+
+    /** Valeur absente (null) dans les colonnes primitives */
+    static final long ABSENT = Long.MIN_VALUE;
+    static final int ABSENT_EVALUATION = Integer.MIN_VALUE;
+
+    private static final FeedbackColumns EMPTY = new FeedbackColumns(0);
+
+    final int size;
+    final long[] ids;
+    final long[] utilisateurIds;
+    final long[] recetteIds;
+    final int[] evaluations;
+    final String[] commentaires;
+    final long[] datesFeedback;
+    final int[] nanosFeedback;
+    final long[] datesModification;
+    final int[] nanosModification;
+
+    private FeedbackColumns(int size) {
+        this.size = size;
+        ids = new long[size];
+        utilisateurIds = new long[size];
+        recetteIds = new long[size];
+        evaluations = new int[size];
+        commentaires = new String[size];
+        datesFeedback = new long[size];
+        nanosFeedback = new int[size];
+        datesModification = new long[size];
+        nanosModification = new int[size];
+    }
+
+    public static FeedbackColumns of(List<FeedbackDTO> feedbacks) {
+        if (feedbacks.isEmpty()) {
+            return EMPTY;
+        }
+        FeedbackColumns columns = new FeedbackColumns(feedbacks.size());
+        int row = 0;
+        for (FeedbackDTO feedback : feedbacks) {
+            columns.set(row++, feedback.getId(), feedback.getUtilisateurId(), feedback.getRecetteId(),
+                    feedback.getEvaluation(), feedback.getCommentaire(),
+                    feedback.getDateFeedback(), feedback.getDateModification());
+        }
+        return columns;
+    }
+
+    /**
+     * Colonnes d'une liste de réponses déjà construites (contenu provisoire de l'écriture différée)
+     */
+    public static FeedbackColumns ofResponses(List<FeedbackResponse> feedbacks) {
+        if (feedbacks.isEmpty()) {
+            return EMPTY;
+        }
+        FeedbackColumns columns = new FeedbackColumns(feedbacks.size());
+        int row = 0;
+        for (FeedbackResponse feedback : feedbacks) {
+            columns.set(row++, feedback.getId(), feedback.getUtilisateurId(), feedback.getRecetteId(),
+                    feedback.getEvaluation(), feedback.getCommentaire(),
+                    feedback.getDateFeedback(), feedback.getDateModification());
+        }
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Ligne reconstruite en {@link FeedbackResponse} (allocation par appel)
+     */
+    public FeedbackResponse get(int row) {
+        return FeedbackResponse.builder()
+                .id(toLong(ids[row]))
+                .utilisateurId(toLong(utilisateurIds[row]))
+                .recetteId(toLong(recetteIds[row]))
+                .evaluation(evaluations[row] == ABSENT_EVALUATION ? null : evaluations[row])
+                .commentaire(commentaires[row])
+                .dateFeedback(toDate(datesFeedback[row], nanosFeedback[row]))
+                .dateModification(toDate(datesModification[row], nanosModification[row]))
+                .build();
+    }
+
+    /**
+     * Vue en lecture seule, chaque ligne reconstruite à la lecture
+     */
+    public List<FeedbackResponse> asList() {
+        return new Rows();
+    }
+
+    private void set(int row, Long id, Long utilisateurId, Long recetteId, Integer evaluation, String commentaire,
+                     LocalDateTime dateFeedback, LocalDateTime dateModification) {
+        ids[row] = id == null ? ABSENT : id;
+        utilisateurIds[row] = utilisateurId == null ? ABSENT : utilisateurId;
+        recetteIds[row] = recetteId == null ? ABSENT : recetteId;
+        evaluations[row] = evaluation == null ? ABSENT_EVALUATION : evaluation;
+        commentaires[row] = commentaire;
+        datesFeedback[row] = epochSecond(dateFeedback);
+        nanosFeedback[row] = dateFeedback == null ? 0 : dateFeedback.getNano();
+        datesModification[row] = epochSecond(dateModification);
+        nanosModification[row] = dateModification == null ? 0 : dateModification.getNano();
+    }
+
+    private static Long toLong(long value) {
+        return value == ABSENT ? null : value;
+    }
+
+    /**
+     * Secondes epoch de l'heure locale ; toujours loin de {@link #ABSENT} (années ±999 999 999)
+     */
+    static long epochSecond(LocalDateTime date) {
+        return date == null ? ABSENT : date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime toDate(long epochSecond, int nano) {
+        return epochSecond == ABSENT ? null : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private final class Rows extends AbstractList<FeedbackResponse> implements RandomAccess {
+
+        @Override
+        public FeedbackResponse get(int index) {
+            return FeedbackColumns.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Écrit un {@link FeedbackColumns} comme la {@code List<FeedbackResponse>} équivalente (mêmes champs, même ordre),
+ * ligne par ligne depuis les colonnes.
+ * <p>
+ * Les dates sont écrites en texte ISO sans objet intermédiaire quand le sérialiseur Jackson par défaut s'applique ;
+ * sinon (CBOR en millisecondes epoch, format personnalisé) chaque date est reconstruite et confiée au sérialiseur
+ * configuré. Une inclusion autre que toujours / non nul (NON_EMPTY, NON_DEFAULT...) repasse par le sérialiseur
+ * de {@link FeedbackResponse}.
+ */
+final class FeedbackColumnsSerializer extends StdSerializer<FeedbackColumns> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString UTILISATEUR_ID = new SerializedString("utilisateurId");
+    private static final SerializableString RECETTE_ID = new SerializedString("recetteId");
+    private static final SerializableString EVALUATION = new SerializedString("evaluation");
+    private static final SerializableString COMMENTAIRE = new SerializedString("commentaire");
+    private static final SerializableString DATE_FEEDBACK = new SerializedString("dateFeedback");
+    private static final SerializableString DATE_MODIFICATION = new SerializedString("dateModification");
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    /** yyyy-MM-ddTHH:mm:ss.nnnnnnnnn */
+    private static final int ISO_MAX_LENGTH = 29;
+
+    FeedbackColumnsSerializer() {
+        super(FeedbackColumns.class);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, FeedbackColumns value) {
+        return value.isEmpty();
+    }
+
+    @Override
+    public void serialize(FeedbackColumns columns, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        JsonInclude.Include inclusion = provider.getConfig()
+                .getDefaultPropertyInclusion(FeedbackResponse.class).getValueInclusion();
+        boolean skipNulls = inclusion == JsonInclude.Include.NON_NULL || inclusion == JsonInclude.Include.NON_ABSENT;
+        if (!skipNulls && inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.USE_DEFAULTS) {
+            writeAsResponses(columns, generator, provider);
+            return;
+        }
+
+        // Texte ISO direct si ni module (CBOR), ni format déclaré pour LocalDateTime, ni dates en timestamps
+        JsonFormat.Value format = provider.getDefaultPropertyFormat(LocalDateTime.class);
+        boolean isoText = (Object) provider.findValueSerializer(LocalDateTime.class) == LocalDateTimeSerializer.INSTANCE
+                && !format.hasPattern() && format.getShape() == JsonFormat.Shape.ANY
+                && !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        char[] iso = isoText ? new char[ISO_MAX_LENGTH] : null;
+        JsonSerializer<Object> dates = isoText ? null
+                : provider.findValueSerializer(provider.constructType(LocalDateTime.class), null);
+
+        generator.writeStartArray(columns, columns.size);
+        for (int row = 0; row < columns.size; row++) {
+            generator.writeStartObject();
+            writeLong(generator, ID, columns.ids[row], skipNulls);
+            writeLong(generator, UTILISATEUR_ID, columns.utilisateurIds[row], skipNulls);
+            writeLong(generator, RECETTE_ID, columns.recetteIds[row], skipNulls);
+            int evaluation = columns.evaluations[row];
+            if (evaluation != FeedbackColumns.ABSENT_EVALUATION) {
+                generator.writeFieldName(EVALUATION);
+                generator.writeNumber(evaluation);
+            } else if (!skipNulls) {
+                generator.writeFieldName(EVALUATION);
+                generator.writeNull();
+            }
+            String commentaire = columns.commentaires[row];
+            if (commentaire != null) {
+                generator.writeFieldName(COMMENTAIRE);
+                generator.writeString(commentaire);
+            } else if (!skipNulls) {
+                generator.writeFieldName(COMMENTAIRE);
+                generator.writeNull();
+            }
+            writeDate(generator, provider, DATE_FEEDBACK, columns.datesFeedback[row], columns.nanosFeedback[row],
+                    skipNulls, dates, iso);
+            writeDate(generator, provider, DATE_MODIFICATION, columns.datesModification[row],
+                    columns.nanosModification[row], skipNulls, dates, iso);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeLong(JsonGenerator generator, SerializableString name, long value, boolean skipNulls)
+            throws IOException {
+        if (value != FeedbackColumns.ABSENT) {
+            generator.writeFieldName(name);
+            generator.writeNumber(value);
+        } else if (!skipNulls) {
+            generator.writeFieldName(name);
+            generator.writeNull();
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, SerializerProvider provider, SerializableString name,
+                                  long epochSecond, int nano, boolean skipNulls, JsonSerializer<Object> dates,
+                                  char[] iso) throws IOException {
+        if (epochSecond == FeedbackColumns.ABSENT) {
+            if (!skipNulls) {
+                generator.writeFieldName(name);
+                generator.writeNull();
+            }
+            return;
+        }
+        generator.writeFieldName(name);
+        int length = iso == null ? -1 : formatIso(epochSecond, nano, iso);
+        if (length >= 0) {
+            generator.writeString(iso, 0, length);
+        } else if (iso != null) {
+            // Année hors de 0000-9999 (signe, plus de quatre chiffres)
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(FeedbackColumns.toDate(epochSecond, nano)));
+        } else {
+            dates.serialize(FeedbackColumns.toDate(epochSecond, nano), generator, provider);
+        }
+    }
+
+    private static void writeAsResponses(FeedbackColumns columns, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        JsonSerializer<Object> responses = provider.findValueSerializer(FeedbackResponse.class);
+        generator.writeStartArray(columns, columns.size);
+        for (int row = 0; row < columns.size; row++) {
+            responses.serialize(columns.get(row), generator, provider);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Même texte que {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME} : secondes toujours écrites,
+     * fraction sans zéros finaux et absente si nulle
+     *
+     * @return nombre de caractères écrits, -1 si l'année n'est pas comprise entre 0000 et 9999
+     */
+    static int formatIso(long seconds, int nano, char[] buffer) {
+        long epochDay = Math.floorDiv(seconds, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(seconds, SECONDS_PER_DAY);
+
+        // Jour epoch vers date civile (calendrier grégorien proleptique, ères de 400 ans commençant un 1er mars)
+        long shifted = epochDay + 719_468;
+        long era = Math.floorDiv(shifted, 146_097);
+        int dayOfEra = (int) (shifted - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthFromMarch = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+        int month = monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9;
+        long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9_999) {
+            return -1;
+        }
+
+        writeDigits(buffer, 0, (int) year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, month, 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, day, 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, secondOfDay / 3_600, 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, secondOfDay / 60 % 60, 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, secondOfDay % 60, 2);
+        if (nano == 0) {
+            return 19;
+        }
+        buffer[19] = '.';
+        writeDigits(buffer, 20, nano, 9);
+        int length = ISO_MAX_LENGTH;
+        while (buffer[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
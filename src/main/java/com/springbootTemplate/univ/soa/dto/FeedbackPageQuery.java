@@ -0,0 +1,31 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Critères d'une page de feedbacks demandée au microservice Persistance.
+ * Les feedbacks sont triés par (dateFeedback, id) décroissants ; si {@code afterDate}/{@code afterId}
+ * sont renseignés, seuls les feedbacks strictement après cette clé sont renvoyés et {@code page} est ignoré ;
+ * sinon la page commence au rang {@code page × limit}.
+ * {@code from}/{@code to} bornent dateFeedback (inclus).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackPageQuery {
+
+    private Long utilisateurId;
+    private Long recetteId;
+    private Integer page;
+    private int limit;
+    private LocalDateTime afterDate;
+    private Long afterId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
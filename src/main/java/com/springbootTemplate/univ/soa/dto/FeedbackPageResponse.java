@@ -0,0 +1,32 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page de feedbacks triés du plus récent au plus ancien")
+public class FeedbackPageResponse {
+
+    @Schema(description = "Feedbacks de la page")
+    private List<FeedbackResponse> content;
+
+    @Schema(description = "Numéro de page (absent en pagination par curseur)", example = "0")
+    private Integer page;
+
+    @Schema(description = "Taille de page appliquée", example = "20")
+    private Integer size;
+
+    @Schema(description = "Indique s'il reste des feedbacks après cette page", example = "true")
+    private Boolean hasNext;
+
+    @Schema(description = "Curseur opaque à renvoyer pour obtenir la page suivante", example = "MjAyNS0xMS0wNVQxNDozMDowMHwxMg")
+    private String nextCursor;
+}
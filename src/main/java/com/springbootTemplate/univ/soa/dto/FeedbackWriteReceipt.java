@@ -0,0 +1,63 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Schema(description = "Suivi d'une écriture différée")
+public class FeedbackWriteReceipt {
+
+    /**
+     * Avancement de l'écriture
+     */
+    public enum State {
+        PENDING,
+        DONE,
+        FAILED
+    }
+
+    @Schema(description = "Identifiant de suivi", example = "3f1c2b9e-8d4a-4e2f-9b1a-6c7d8e9f0a1b")
+    private String trackingId;
+
+    @Schema(description = "Avancement : en attente, écrit ou en échec", example = "PENDING")
+    private State state;
+
+    @Schema(description = "Code HTTP équivalent à l'écriture synchrone (une fois terminée)", example = "201")
+    private Integer status;
+
+    @Schema(description = "Feedback écrit (si state = DONE)")
+    private FeedbackResponse feedback;
+
+    @Schema(description = "Motif de l'échec (si state = FAILED)", example = "Vous avez déjà noté cette recette.")
+    private String error;
+
+    public static FeedbackWriteReceipt pending(String trackingId) {
+        return FeedbackWriteReceipt.builder()
+                .trackingId(trackingId)
+                .state(State.PENDING)
+                .build();
+    }
+
+    public static FeedbackWriteReceipt done(HttpStatus status, FeedbackResponse feedback) {
+        return FeedbackWriteReceipt.builder()
+                .state(State.DONE)
+                .status(status.value())
+                .feedback(feedback)
+                .build();
+    }
+
+    public static FeedbackWriteReceipt failed(HttpStatus status, String error) {
+        return FeedbackWriteReceipt.builder()
+                .state(State.FAILED)
+                .status(status.value())
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Recette du classement")
+public class LeaderboardEntryResponse {
+
+    @Schema(description = "Rang dans le classement (à partir de 1)", example = "1")
+    private Integer rank;
+
+    @Schema(description = "Identifiant de la recette", example = "5")
+    private Long recetteId;
+
+    @Schema(description = "Nombre de feedbacks sur la fenêtre", example = "42")
+    private Long totalFeedbacks;
+
+    @Schema(description = "Note moyenne sur la fenêtre", example = "4.6")
+    private Double averageRating;
+
+    @Schema(description = "Note moyenne bayésienne sur la fenêtre (critère du tri par note)", example = "4.45")
+    private Double bayesianAverageRating;
+}
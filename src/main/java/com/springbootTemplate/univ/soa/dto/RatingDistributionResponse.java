@@ -0,0 +1,51 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Répartition des notes d'une recette")
+public class RatingDistributionResponse {
+
+    @Schema(description = "Identifiant de la recette", example = "5")
+    private Long recetteId;
+
+    @Schema(description = "Nombre total de feedbacks", example = "50")
+    private Long totalFeedbacks;
+
+    @Schema(description = "Note moyenne (de 1 à 5)", example = "4.3")
+    private Double averageRating;
+
+    @Schema(description = "Note moyenne bayésienne, rapprochée de la note a priori pour les recettes peu notées", example = "4.18")
+    private Double bayesianAverageRating;
+
+    @Schema(description = "Variance des notes", example = "0.97")
+    private Double variance;
+
+    @Schema(description = "Nombre et part des notes par nombre d'étoiles, de 5 à 1")
+    private List<StarCount> distribution;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Notes d'un nombre d'étoiles donné")
+    public static class StarCount {
+
+        @Schema(description = "Nombre d'étoiles", example = "5")
+        private Integer stars;
+
+        @Schema(description = "Nombre de notes", example = "31")
+        private Long count;
+
+        @Schema(description = "Part des notes, en pourcentage", example = "62.0")
+        private Double percentage;
+    }
+}
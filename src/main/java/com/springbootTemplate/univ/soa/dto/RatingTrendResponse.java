@@ -0,0 +1,52 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Tendances des notes d'une recette")
+public class RatingTrendResponse {
+
+    @Schema(description = "Identifiant de la recette", example = "5")
+    private Long recetteId;
+
+    @Schema(description = "Fenêtres 24h, 7d, 30d et 90d, chacune comparée à la période précédente de même durée")
+    private List<WindowTrend> windows;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "Notes d'une fenêtre et de la période précédente")
+    public static class WindowTrend {
+
+        @Schema(description = "Fenêtre", example = "7d")
+        private String window;
+
+        @Schema(description = "Nombre de feedbacks sur la fenêtre", example = "12")
+        private Long totalFeedbacks;
+
+        @Schema(description = "Note moyenne sur la fenêtre (0 sans feedback)", example = "4.25")
+        private Double averageRating;
+
+        @Schema(description = "Nombre de feedbacks sur la période précédente", example = "8")
+        private Long previousTotalFeedbacks;
+
+        @Schema(description = "Note moyenne sur la période précédente (0 sans feedback)", example = "3.9")
+        private Double previousAverageRating;
+
+        @Schema(description = "Évolution du nombre de feedbacks", example = "4")
+        private Long feedbacksChange;
+
+        @Schema(description = "Évolution de la note moyenne, absente si l'une des deux périodes est vide", example = "0.35")
+        private Double ratingChange;
+    }
+}
@@ -0,0 +1,31 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import java.util.function.Supplier;
+
+/**
+ * Réponse accompagnée de son validateur HTTP (ETag faible).
+ * Le contenu n'est construit qu'à la demande : une requête conditionnelle satisfaite (304)
+ * ne paie ni le mapping ni la sérialisation.
+ */
+public final class Versioned<T> {
+
+    private final String eTag;
+    private final Supplier<T> body;
+
+    private Versioned(String eTag, Supplier<T> body) {
+        this.eTag = eTag;
+        this.body = body;
+    }
+
+    public static <T> Versioned<T> of(String eTag, Supplier<T> body) {
+        return new Versioned<>(eTag, body);
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public T getBody() {
+        return body.get();
+    }
+}
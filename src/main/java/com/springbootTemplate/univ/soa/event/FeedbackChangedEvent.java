@@ -0,0 +1,61 @@
+package com.springbootTemplate.univ.soa.event;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Événement publié après chaque écriture réussie dans le microservice Persistance.
+ * <p>
+ * {@code previous} est null pour une création, {@code current} est null pour une suppression.
+ * {@code startedAtNanos} est l'instant ({@link System#nanoTime()}) précédant l'appel d'écriture :
+ * les consommateurs s'en servent pour savoir si une donnée chargée avant l'écriture peut l'inclure.
+ */
+public record FeedbackChangedEvent(FeedbackDTO previous, FeedbackDTO current, long startedAtNanos) {
+
+    public static FeedbackChangedEvent created(FeedbackDTO current, long startedAtNanos) {
+        return new FeedbackChangedEvent(null, current, startedAtNanos);
+    }
+
+    public static FeedbackChangedEvent updated(FeedbackDTO previous, FeedbackDTO current, long startedAtNanos) {
+        return new FeedbackChangedEvent(previous, current, startedAtNanos);
+    }
+
+    public static FeedbackChangedEvent deleted(FeedbackDTO previous, long startedAtNanos) {
+        return new FeedbackChangedEvent(previous, null, startedAtNanos);
+    }
+
+    /**
+     * Recettes concernées par le changement (avant et après)
+     */
+    public Set<Long> recetteIds() {
+        return ids(FeedbackDTO::getRecetteId);
+    }
+
+    /**
+     * Utilisateurs concernés par le changement (avant et après)
+     */
+    public Set<Long> utilisateurIds() {
+        return ids(FeedbackDTO::getUtilisateurId);
+    }
+
+    /**
+     * Feedback modifié
+     */
+    public Set<Long> feedbackIds() {
+        return ids(FeedbackDTO::getId);
+    }
+
+    private Set<Long> ids(Function<FeedbackDTO, Long> id) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (previous != null && id.apply(previous) != null) {
+            ids.add(id.apply(previous));
+        }
+        if (current != null && id.apply(current) != null) {
+            ids.add(id.apply(current));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,23 @@
+package com.springbootTemplate.univ.soa.event;
+
+import java.util.Set;
+
+/**
+ * Événement publié quand une autre instance signale une écriture : les données en mémoire
+ * des identifiants concernés doivent être invalidées ou relues, jamais corrigées par delta
+ * (le message peut arriver plusieurs fois, et après des lectures qui incluent déjà l'écriture).
+ * <p>
+ * Seuls les identifiants dont la version est plus récente que la dernière reçue sont présents.
+ * Avec {@code all}, des messages ont été perdus : toutes les données en mémoire sont à invalider ou relire.
+ */
+public record FeedbackInvalidatedEvent(Set<Long> recetteIds, Set<Long> utilisateurIds, Set<Long> feedbackIds,
+                                       boolean all) {
+
+    public FeedbackInvalidatedEvent(Set<Long> recetteIds, Set<Long> utilisateurIds, Set<Long> feedbackIds) {
+        this(recetteIds, utilisateurIds, feedbackIds, false);
+    }
+
+    public static FeedbackInvalidatedEvent invalidateAll() {
+        return new FeedbackInvalidatedEvent(Set.of(), Set.of(), Set.of(), true);
+    }
+}
@@ -0,0 +1,15 @@
+package com.springbootTemplate.univ.soa.exception;
+
+/**
+ * L'utilisateur a déjà noté cette recette (couple utilisateur / recette unique), quel que soit le stockage
+ */
+public class DuplicateFeedbackException extends RuntimeException {
+
+    public DuplicateFeedbackException(String message) {
+        super(message);
+    }
+
+    public DuplicateFeedbackException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,6 +1,7 @@
 package com.springbootTemplate.univ.soa.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -68,6 +69,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Gestion des écritures différées refusées (file pleine, arrêt en cours) : le client peut réessayer
+     */
+    @ExceptionHandler(WriteBehindRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleWriteBehindRejectedException(WriteBehindRejectedException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Service temporairement indisponible");
+        response.put("message", ex.getMessage());
+
+        log.warn("Écriture différée refusée: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     /**
      * Gestion des exceptions de communication inter-services
      */
@@ -0,0 +1,11 @@
+package com.springbootTemplate.univ.soa.exception;
+
+/**
+ * Écriture différée refusée : file pleine ou arrêt en cours. Le client peut réessayer.
+ */
+public class WriteBehindRejectedException extends RuntimeException {
+
+    public WriteBehindRejectedException(String message) {
+        super(message);
+    }
+}
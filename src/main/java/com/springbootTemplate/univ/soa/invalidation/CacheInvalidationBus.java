@@ -0,0 +1,249 @@
+package com.springbootTemplate.univ.soa.invalidation;
+
+import com.springbootTemplate.univ.soa.config.InvalidationProperties;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import com.springbootTemplate.univ.soa.invalidation.InvalidationVersions.Kind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invalidation des caches entre instances (feedback.invalidation.enabled).
+ * <p>
+ * Chaque écriture de cette instance ({@link FeedbackChangedEvent}) devient un message numéroté
+ * (recettes, utilisateurs et feedback concernés), envoyé à chaque autre instance par sa propre file :
+ * un lot non reçu est renvoyé jusqu'à réception (au moins une fois) ; une file pleine est remplacée par un
+ * message « tout invalider ». Les instances sont la liste
+ * {@code peers} et les adresses du nom {@code peer-dns} (service headless), relu périodiquement.
+ * <p>
+ * À la réception, les identifiants déjà vus avec une version égale ou plus récente sont ignorés, puis
+ * {@link FeedbackInvalidatedEvent} est publié. Les consommateurs ne font qu'invalider ou relire depuis
+ * Persistance : un message en retard ne peut donc pas réintroduire une donnée périmée. Un message
+ * « tout invalider » publie {@link FeedbackInvalidatedEvent#invalidateAll()}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "feedback.invalidation", name = "enabled", havingValue = "true")
+@Slf4j
+public class CacheInvalidationBus {
+
+    /**
+     * Diffusé après la mise à jour des données locales
+     */
+    public static final int LISTENER_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private final InvalidationProperties properties;
+    private final InvalidationTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationVersions versions;
+    /** Identifiant de cette instance, nouveau à chaque démarrage */
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, PeerOutbox> outboxes = new ConcurrentHashMap<>();
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter collapsed;
+    private final Counter received;
+    private final Counter ignored;
+    private Thread discovery;
+
+    public CacheInvalidationBus(InvalidationProperties properties,
+                                InvalidationTransport transport,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        this.versions = new InvalidationVersions(properties.getVersionRetention(), properties.getVersionMaxSize());
+        this.sent = messages(meterRegistry, "sent");
+        this.dropped = messages(meterRegistry, "dropped");
+        this.collapsed = messages(meterRegistry, "collapsed");
+        this.received = messages(meterRegistry, "received");
+        this.ignored = messages(meterRegistry, "ignored");
+        Gauge.builder("feedback.invalidation.pending", this, CacheInvalidationBus::getPendingCount)
+                .description("Messages d'invalidation en attente d'envoi, toutes instances confondues")
+                .register(meterRegistry);
+        Gauge.builder("feedback.invalidation.peers", outboxes, Map::size)
+                .description("Autres instances destinataires des invalidations")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        refreshPeers();
+        if (hasPeerDns()) {
+            discovery = Thread.ofPlatform().name("invalidation-discovery").daemon().start(this::discoveryLoop);
+        }
+    }
+
+    /**
+     * Diffuser une écriture de cette instance
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        InvalidationMessage message = new InvalidationMessage(origin, sequence.incrementAndGet(),
+                event.recetteIds(), event.utilisateurIds(), event.feedbackIds());
+        outboxes.values().forEach(outbox -> outbox.offer(message));
+    }
+
+    /**
+     * Appliquer les messages reçus d'une autre instance, dans l'ordre
+     */
+    public void receive(List<InvalidationMessage> messages) {
+        for (InvalidationMessage message : messages) {
+            // Sa propre adresse peut figurer dans la liste fixe des instances
+            if (origin.equals(message.origin())) {
+                continue;
+            }
+            received.increment();
+            if (message.all()) {
+                log.warn("Invalidations de {} perdues jusqu'à la version {}, données en mémoire invalidées",
+                        message.origin(), message.version());
+                eventPublisher.publishEvent(FeedbackInvalidatedEvent.invalidateAll());
+                continue;
+            }
+            Set<Long> recetteIds = versions.fresh(message.origin(), Kind.RECETTE, message.recetteIds(), message.version());
+            Set<Long> utilisateurIds = versions.fresh(
+                    message.origin(), Kind.UTILISATEUR, message.utilisateurIds(), message.version());
+            Set<Long> feedbackIds = versions.fresh(
+                    message.origin(), Kind.FEEDBACK, message.feedbackIds(), message.version());
+            if (recetteIds.isEmpty() && utilisateurIds.isEmpty() && feedbackIds.isEmpty()) {
+                ignored.increment();
+                log.debug("Invalidation {}#{} déjà appliquée, ignorée", message.origin(), message.version());
+                continue;
+            }
+            eventPublisher.publishEvent(new FeedbackInvalidatedEvent(recetteIds, utilisateurIds, feedbackIds));
+        }
+    }
+
+    public int getPendingCount() {
+        return outboxes.values().stream().mapToInt(PeerOutbox::size).sum();
+    }
+
+    /**
+     * Arrêt : envoyer les messages restants (au plus {@code drain-timeout}), après l'envoi des écritures différées
+     */
+    @EventListener(ContextClosedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void drain() throws InterruptedException {
+        if (discovery != null) {
+            discovery.interrupt();
+        }
+        outboxes.values().forEach(PeerOutbox::close);
+        long deadline = System.nanoTime() + properties.getDrainTimeout().toNanos();
+        int remaining = 0;
+        for (PeerOutbox outbox : outboxes.values()) {
+            remaining += outbox.awaitDrained(deadline);
+        }
+        if (remaining > 0) {
+            log.warn("Arrêt : {} invalidations non envoyées après {}", remaining, properties.getDrainTimeout());
+        }
+    }
+
+    /**
+     * Ajouter les files des nouvelles instances, abandonner celles des instances disparues
+     */
+    synchronized void refreshPeers() {
+        Set<String> peers = resolvePeers();
+        if (peers == null) {
+            return;
+        }
+        for (String peer : peers) {
+            outboxes.computeIfAbsent(peer, url -> {
+                log.info("Invalidations envoyées à {}", url);
+                PeerOutbox outbox = new PeerOutbox(url, transport, properties, sent, dropped, collapsed);
+                outbox.start();
+                return outbox;
+            });
+        }
+        outboxes.keySet().removeIf(peer -> {
+            if (peers.contains(peer)) {
+                return false;
+            }
+            log.info("Instance {} disparue, {} invalidations abandonnées", peer, outboxes.get(peer).size());
+            outboxes.get(peer).stop();
+            return true;
+        });
+    }
+
+    /**
+     * Instances fixes et adresses du nom DNS hors adresses locales ; null si la résolution DNS échoue
+     */
+    private Set<String> resolvePeers() {
+        Set<String> peers = new LinkedHashSet<>();
+        for (String peer : properties.getPeers()) {
+            if (peer != null && !peer.isBlank()) {
+                peers.add(peer.trim());
+            }
+        }
+        if (hasPeerDns()) {
+            try {
+                for (InetAddress address : InetAddress.getAllByName(properties.getPeerDns().trim())) {
+                    if (!isLocal(address)) {
+                        String host = address.getHostAddress();
+                        peers.add("http://" + (address instanceof Inet6Address ? "[" + host + "]" : host)
+                                + ":" + properties.getPeerPort());
+                    }
+                }
+            } catch (UnknownHostException e) {
+                log.warn("Résolution de {} impossible, instances inchangées: {}", properties.getPeerDns(), e.getMessage());
+                return null;
+            }
+        }
+        return peers;
+    }
+
+    private boolean hasPeerDns() {
+        return properties.getPeerDns() != null && !properties.getPeerDns().isBlank();
+    }
+
+    private static boolean isLocal(InetAddress address) {
+        try {
+            return address.isLoopbackAddress() || NetworkInterface.getByInetAddress(address) != null;
+        } catch (SocketException e) {
+            return false;
+        }
+    }
+
+    private void discoveryLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(properties.getPeerRefreshInterval());
+            } catch (InterruptedException e) {
+                return;
+            }
+            refreshPeers();
+        }
+    }
+
+    private static Counter messages(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("feedback.invalidation.messages")
+                .description("Messages d'invalidation : envoyés, abandonnés ou remplacés par une invalidation complète "
+                        + "(par instance destinataire), reçus ou ignorés")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
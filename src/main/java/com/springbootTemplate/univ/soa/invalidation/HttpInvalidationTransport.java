@@ -0,0 +1,47 @@
+package com.springbootTemplate.univ.soa.invalidation;
+
+import com.springbootTemplate.univ.soa.config.InvalidationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+/**
+ * Envoi en JSON sur {@code POST /internal/invalidations} de l'instance, avec des délais courts :
+ * une instance lente ou arrêtée ne retient que sa propre file
+ */
+@Component
+@ConditionalOnProperty(prefix = "feedback.invalidation", name = "enabled", havingValue = "true")
+public class HttpInvalidationTransport implements InvalidationTransport {
+
+    public static final String PATH = "/internal/invalidations";
+    public static final String TOKEN_HEADER = "X-Invalidation-Token";
+
+    private final RestTemplate restTemplate;
+    private final String token;
+
+    public HttpInvalidationTransport(InvalidationProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getRequestTimeout());
+        requestFactory.setReadTimeout(properties.getRequestTimeout());
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.token = properties.getToken();
+    }
+
+    @Override
+    public void send(String peer, List<InvalidationMessage> messages) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null && !token.isBlank()) {
+            headers.set(TOKEN_HEADER, token);
+        }
+        // Réponse non 2xx : exception, le lot sera renvoyé
+        restTemplate.exchange(peer + PATH, HttpMethod.POST, new HttpEntity<>(messages, headers), Void.class);
+    }
+}
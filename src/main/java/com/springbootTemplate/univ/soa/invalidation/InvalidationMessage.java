@@ -0,0 +1,35 @@
+package com.springbootTemplate.univ.soa.invalidation;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Écriture signalée aux autres instances : identifiants dont les données en mémoire sont périmées.
+ * <p>
+ * {@code version} croît à chaque message d'une même instance ({@code origin}) : un message reçu en double
+ * ou après un plus récent pour les mêmes identifiants est ignoré.
+ * {@code all} remplace les messages d'une file pleine : le destinataire invalide toutes ses données en mémoire.
+ */
+public record InvalidationMessage(String origin, long version,
+                                  Set<Long> recetteIds, Set<Long> utilisateurIds, Set<Long> feedbackIds,
+                                  boolean all) {
+
+    public InvalidationMessage {
+        Objects.requireNonNull(origin, "origin est obligatoire");
+        recetteIds = recetteIds == null ? Set.of() : Set.copyOf(recetteIds);
+        utilisateurIds = utilisateurIds == null ? Set.of() : Set.copyOf(utilisateurIds);
+        feedbackIds = feedbackIds == null ? Set.of() : Set.copyOf(feedbackIds);
+    }
+
+    public InvalidationMessage(String origin, long version,
+                               Set<Long> recetteIds, Set<Long> utilisateurIds, Set<Long> feedbackIds) {
+        this(origin, version, recetteIds, utilisateurIds, feedbackIds, false);
+    }
+
+    /**
+     * Message « tout invalider », à la place des messages jusqu'à {@code version} incluse
+     */
+    public static InvalidationMessage invalidateAll(String origin, long version) {
+        return new InvalidationMessage(origin, version, Set.of(), Set.of(), Set.of(), true);
+    }
+}
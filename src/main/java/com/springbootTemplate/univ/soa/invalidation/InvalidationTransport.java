@@ -0,0 +1,16 @@
+package com.springbootTemplate.univ.soa.invalidation;
+
+import java.util.List;
+
+/**
+ * Envoi d'un lot de messages d'invalidation à une autre instance
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Envoyer le lot, dans l'ordre ; une exception signifie que le lot n'a pas été reçu et sera renvoyé
+     *
+     * @param peer adresse de l'instance (ex. http://10.0.0.12:8091)
+     */
+    void send(String peer, List<InvalidationMessage> messages);
+}
@@ -0,0 +1,52 @@
+package com.springbootTemplate.univ.soa.invalidation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Dernière version reçue par instance d'origine et par identifiant.
+ * <p>
+ * Un identifiant n'est retenu que si le message est plus récent que le dernier reçu pour lui :
+ * les doublons (renvois) et les messages arrivés en retard sont ignorés.
+ */
+final class InvalidationVersions {
+
+    enum Kind { RECETTE, UTILISATEUR, FEEDBACK }
+
+    private record Key(String origin, Kind kind, long id) {
+    }
+
+    private final Cache<Key, Long> versions;
+
+    InvalidationVersions(Duration retention, long maxSize) {
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Identifiants pour lesquels {@code version} est nouvelle ; leur dernière version devient {@code version}
+     */
+    Set<Long> fresh(String origin, Kind kind, Set<Long> ids, long version) {
+        Set<Long> fresh = new LinkedHashSet<>();
+        for (Long id : ids) {
+            boolean[] newer = {false};
+            versions.asMap().compute(new Key(origin, kind, id), (key, seen) -> {
+                if (seen != null && seen >= version) {
+                    return seen;
+                }
+                newer[0] = true;
+                return version;
+            });
+            if (newer[0]) {
+                fresh.add(id);
+            }
+        }
+        return fresh;
+    }
+}
@@ -0,0 +1,188 @@
+package com.springbootTemplate.univ.soa.invalidation;
+
+import com.springbootTemplate.univ.soa.config.InvalidationProperties;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * File des messages d'une instance et son thread d'envoi.
+ * <p>
+ * Un lot n'est retiré de la file qu'une fois reçu : en cas d'échec, il est remis en tête et renvoyé
+ * après un délai croissant. File pleine : ses messages sont remplacés par un seul message « tout invalider »,
+ * pour que l'instance, même longtemps injoignable, ne garde aucune donnée périmée une fois jointe.
+ */
+@Slf4j
+final class PeerOutbox {
+
+    private final String peer;
+    private final InvalidationTransport transport;
+    private final InvalidationProperties properties;
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter collapsed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<InvalidationMessage> queue = new ArrayDeque<>();
+    private boolean closed;
+    private Thread sender;
+
+    PeerOutbox(String peer, InvalidationTransport transport, InvalidationProperties properties,
+               Counter sent, Counter dropped, Counter collapsed) {
+        this.peer = peer;
+        this.transport = transport;
+        this.properties = properties;
+        this.sent = sent;
+        this.dropped = dropped;
+        this.collapsed = collapsed;
+    }
+
+    void start() {
+        sender = Thread.ofPlatform().name("invalidation-" + peer).daemon().start(this::sendLoop);
+    }
+
+    void offer(InvalidationMessage message) {
+        lock.lock();
+        try {
+            if (closed) {
+                dropped.increment();
+                return;
+            }
+            queue.addLast(message);
+            trim();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ne plus accepter de messages ; le thread d'envoi s'arrête une fois la file vide
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attendre l'envoi des messages restants jusqu'à l'échéance ({@link System#nanoTime()}), puis arrêter le thread
+     *
+     * @return messages non envoyés
+     */
+    int awaitDrained(long deadlineNanos) throws InterruptedException {
+        close();
+        sender.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime())));
+        sender.interrupt();
+        return size();
+    }
+
+    /**
+     * Instance disparue : abandonner sa file
+     */
+    void stop() {
+        close();
+        sender.interrupt();
+    }
+
+    private void sendLoop() {
+        long retryDelay = properties.getRetryDelay().toNanos();
+        boolean failing = false;
+        List<InvalidationMessage> batch;
+        while ((batch = nextBatch()) != null) {
+            try {
+                transport.send(peer, batch);
+                sent.increment(batch.size());
+                if (failing) {
+                    log.info("Invalidations de nouveau reçues par {}", peer);
+                }
+                failing = false;
+                retryDelay = properties.getRetryDelay().toNanos();
+            } catch (RuntimeException e) {
+                requeue(batch);
+                if (!failing) {
+                    log.warn("Envoi des invalidations à {} impossible, nouvelle tentative dans {} ms: {}",
+                            peer, TimeUnit.NANOSECONDS.toMillis(retryDelay), e.getMessage());
+                }
+                failing = true;
+                try {
+                    TimeUnit.NANOSECONDS.sleep(retryDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                retryDelay = Math.min(retryDelay * 2, properties.getMaxRetryDelay().toNanos());
+            }
+        }
+    }
+
+    /**
+     * Prochain lot, retiré de la file ; null une fois la file fermée et vide, ou le thread interrompu
+     */
+    private List<InvalidationMessage> nextBatch() {
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                if (closed) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            List<InvalidationMessage> batch = new ArrayList<>(Math.min(queue.size(), properties.getBatchSize()));
+            while (!queue.isEmpty() && batch.size() < properties.getBatchSize()) {
+                batch.add(queue.pollFirst());
+            }
+            return batch;
+        } catch (InterruptedException e) {
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void requeue(List<InvalidationMessage> batch) {
+        lock.lock();
+        try {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                queue.addFirst(batch.get(i));
+            }
+            trim();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * File pleine : remplacer les messages en attente par un message « tout invalider » portant la version
+     * du plus récent (la file est dans l'ordre des versions)
+     */
+    private void trim() {
+        if (queue.size() <= properties.getQueueCapacity()) {
+            return;
+        }
+        InvalidationMessage latest = queue.peekLast();
+        collapsed.increment(queue.size());
+        queue.clear();
+        queue.addLast(InvalidationMessage.invalidateAll(latest.origin(), latest.version()));
+        log.warn("File des invalidations pour {} pleine, remplacée par une invalidation complète", peer);
+    }
+}
@@ -0,0 +1,85 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import java.util.Arrays;
+
+/**
+ * Nombre et somme des notes par unité de temps (heure ou jour) sur les {@code size} dernières unités.
+ * <p>
+ * L'emplacement d'une unité est {@code unité mod size} ; quand une unité plus récente arrive,
+ * les emplacements des unités sautées sont remis à zéro. Les unités trop anciennes sont ignorées.
+ */
+final class BucketRing {
+
+    private final int[] counts;
+    private final int[] sums;
+    /** Unité la plus récente enregistrée */
+    private long last;
+
+    BucketRing(int size) {
+        this.counts = new int[size];
+        this.sums = new int[size];
+        this.last = Long.MIN_VALUE;
+    }
+
+    private BucketRing(BucketRing other) {
+        this.counts = other.counts.clone();
+        this.sums = other.sums.clone();
+        this.last = other.last;
+    }
+
+    BucketRing copy() {
+        return new BucketRing(this);
+    }
+
+    void add(long unit, int evaluation, int delta) {
+        int size = counts.length;
+        if (last == Long.MIN_VALUE || unit - last >= size) {
+            Arrays.fill(counts, 0);
+            Arrays.fill(sums, 0);
+            last = unit;
+        } else if (unit > last) {
+            for (long skipped = last + 1; skipped <= unit; skipped++) {
+                int slot = slot(skipped);
+                counts[slot] = 0;
+                sums[slot] = 0;
+            }
+            last = unit;
+        } else if (unit <= last - size) {
+            return;
+        }
+        int slot = slot(unit);
+        counts[slot] = Math.max(0, counts[slot] + delta);
+        sums[slot] = Math.max(0, sums[slot] + evaluation * delta);
+    }
+
+    /**
+     * Nombre de notes des unités {@code from} à {@code to} incluses
+     */
+    long count(long from, long to) {
+        return total(counts, from, to);
+    }
+
+    /**
+     * Somme des notes des unités {@code from} à {@code to} incluses
+     */
+    long sum(long from, long to) {
+        return total(sums, from, to);
+    }
+
+    private long total(int[] values, long from, long to) {
+        if (last == Long.MIN_VALUE) {
+            return 0;
+        }
+        long start = Math.max(from, last - values.length + 1);
+        long end = Math.min(to, last);
+        long total = 0;
+        for (long unit = start; unit <= end; unit++) {
+            total += values[slot(unit)];
+        }
+        return total;
+    }
+
+    private int slot(long unit) {
+        return (int) Math.floorMod(unit, (long) counts.length);
+    }
+}
@@ -0,0 +1,302 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.rating.RecipeLeaderboard.Sort;
+import com.springbootTemplate.univ.soa.rating.RecipeLeaderboard.Window;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+/**
+ * Index du classement des recettes.
+ * <p>
+ * Chaque recette garde ses totaux et ses compteurs des {@value #DAYS} derniers jours (un emplacement par jour,
+ * réutilisé en anneau). Pour chaque fenêtre et chaque tri, un ensemble trié (skip list) contient les recettes
+ * notées dans la fenêtre : une écriture ne reclasse que sa recette, et le top N se lit en tête d'ensemble.
+ * Au changement de jour, toutes les recettes sont reclassées une fois.
+ * <p>
+ * Chaque recette retient l'instant de sa dernière lecture complète : le delta d'une écriture commencée avant
+ * cet instant peut déjà y être compté, il est refusé et la recette doit être relue.
+ */
+final class LeaderboardIndex {
+
+    static final int DAYS = 30;
+
+    private static final int SORTS = Sort.values().length;
+
+    private final double priorMean;
+    private final long priorWeight;
+    private final Map<Long, RecipeStats> recipes = new ConcurrentHashMap<>();
+    private final List<ConcurrentSkipListSet<Ranked>> rankings = new ArrayList<>();
+    private volatile long rankedDay;
+
+    LeaderboardIndex(double priorMean, long priorWeight, long today) {
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+        this.rankedDay = today;
+        for (int i = 0; i < Window.values().length * SORTS; i++) {
+            rankings.add(new ConcurrentSkipListSet<>());
+        }
+    }
+
+    /**
+     * Compter un feedback sans reclasser sa recette (chargement complet, suivi de {@link #rankAll})
+     */
+    void load(FeedbackDTO feedback, long today) {
+        if (feedback.getRecetteId() == null || !RatingAggregate.isValid(feedback.getEvaluation())) {
+            return;
+        }
+        RecipeStats stats = recipes.computeIfAbsent(feedback.getRecetteId(), RecipeStats::new);
+        synchronized (stats) {
+            stats.add(dayOf(feedback, today), feedback.getEvaluation(), 1, today);
+        }
+    }
+
+    /**
+     * Dater la lecture complète qui a produit les compteurs chargés par {@link #load}
+     */
+    void markLoaded(long loadedAtNanos) {
+        for (RecipeStats stats : recipes.values()) {
+            synchronized (stats) {
+                stats.loadedAtNanos = loadedAtNanos;
+                stats.loaded = true;
+            }
+        }
+    }
+
+    /**
+     * Ajouter (delta positif) ou retirer (delta négatif) la note d'un feedback, puis reclasser sa recette
+     *
+     * @param startedAtNanos instant ({@link System#nanoTime()}) précédant l'écriture
+     * @return false si la recette a été lue après le début de l'écriture : delta ignoré, recette à relire
+     */
+    boolean apply(FeedbackDTO feedback, int delta, long today, long startedAtNanos) {
+        if (feedback.getRecetteId() == null || !RatingAggregate.isValid(feedback.getEvaluation())) {
+            return true;
+        }
+        rollOver(today);
+        RecipeStats stats = recipes.computeIfAbsent(feedback.getRecetteId(), RecipeStats::new);
+        synchronized (stats) {
+            if (stats.loaded && stats.loadedAtNanos - startedAtNanos >= 0) {
+                return false;
+            }
+            stats.add(dayOf(feedback, today), feedback.getEvaluation(), delta, today);
+            stats.modifications++;
+            rank(stats, today);
+            return true;
+        }
+    }
+
+    /**
+     * Relire la liste complète des feedbacks d'une recette : les compteurs sont calculés à part,
+     * puis substitués sous le verrou de la recette
+     *
+     * @return false si un delta a été appliqué pendant la lecture (peut-être déjà compté) : compteurs
+     * inchangés, recette à relire
+     */
+    boolean replace(Long recetteId, Supplier<List<FeedbackDTO>> read, long today) {
+        RecipeStats stats = recipes.computeIfAbsent(recetteId, RecipeStats::new);
+        long modifications;
+        synchronized (stats) {
+            modifications = stats.modifications;
+        }
+        List<FeedbackDTO> feedbacks = read.get();
+        long loadedAtNanos = System.nanoTime();
+        RecipeStats fresh = new RecipeStats(recetteId);
+        for (FeedbackDTO feedback : feedbacks) {
+            if (RatingAggregate.isValid(feedback.getEvaluation())) {
+                fresh.add(dayOf(feedback, today), feedback.getEvaluation(), 1, today);
+            }
+        }
+        rollOver(today);
+        synchronized (stats) {
+            if (stats.modifications != modifications) {
+                return false;
+            }
+            stats.copyCounters(fresh);
+            stats.loadedAtNanos = loadedAtNanos;
+            stats.loaded = true;
+            rank(stats, today);
+            return true;
+        }
+    }
+
+    List<Ranked> top(Window window, Sort sort, int limit, long today) {
+        rollOver(today);
+        List<Ranked> top = new ArrayList<>(limit);
+        for (Ranked ranked : rankings.get(index(window, sort))) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(ranked);
+        }
+        return top;
+    }
+
+    int size() {
+        return recipes.size();
+    }
+
+    void rankAll(long today) {
+        for (RecipeStats stats : recipes.values()) {
+            synchronized (stats) {
+                rank(stats, today);
+            }
+        }
+        rankedDay = today;
+    }
+
+    private void rollOver(long today) {
+        if (today != rankedDay) {
+            synchronized (this) {
+                if (today != rankedDay) {
+                    rankAll(today);
+                }
+            }
+        }
+    }
+
+    private void rank(RecipeStats stats, long today) {
+        for (Window window : Window.values()) {
+            long count = stats.count(window, today);
+            long sum = stats.sum(window, today);
+            double bayesian = RatingAggregate.bayesianAverage(count, sum, priorMean, priorWeight);
+            for (Sort sort : Sort.values()) {
+                int index = index(window, sort);
+                Ranked next = count == 0 ? null : switch (sort) {
+                    case RATING -> new Ranked(stats.recetteId, count, sum, bayesian, bayesian, count);
+                    case REVIEWS -> new Ranked(stats.recetteId, count, sum, bayesian, count, bayesian);
+                };
+                Ranked previous = stats.ranked[index];
+                if (Objects.equals(previous, next)) {
+                    continue;
+                }
+                if (previous != null) {
+                    rankings.get(index).remove(previous);
+                }
+                if (next != null) {
+                    rankings.get(index).add(next);
+                }
+                stats.ranked[index] = next;
+            }
+        }
+    }
+
+    private static int index(Window window, Sort sort) {
+        return window.ordinal() * SORTS + sort.ordinal();
+    }
+
+    private static long dayOf(FeedbackDTO feedback, long today) {
+        return feedback.getDateFeedback() == null ? today : feedback.getDateFeedback().toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Position d'une recette dans un classement : tri par {@code primary} puis {@code secondary} décroissants
+     */
+    record Ranked(long recetteId, long count, long sum, double bayesianAverage, double primary, double secondary)
+            implements Comparable<Ranked> {
+
+        double average() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            int byPrimary = Double.compare(other.primary, primary);
+            if (byPrimary != 0) {
+                return byPrimary;
+            }
+            int bySecondary = Double.compare(other.secondary, secondary);
+            return bySecondary != 0 ? bySecondary : Long.compare(recetteId, other.recetteId);
+        }
+    }
+
+    /**
+     * Compteurs d'une recette ; accès sous le moniteur de l'instance
+     */
+    private static final class RecipeStats {
+
+        private final long recetteId;
+        private final Ranked[] ranked = new Ranked[Window.values().length * SORTS];
+        private final long[] slotDays = new long[DAYS];
+        private final int[] dayCounts = new int[DAYS];
+        private final int[] daySums = new int[DAYS];
+        private long count;
+        private long sum;
+        /** Fin de la dernière lecture complète, si {@code loaded} */
+        private long loadedAtNanos;
+        private boolean loaded;
+        /** Nombre de deltas appliqués */
+        private long modifications;
+
+        private RecipeStats(Long recetteId) {
+            this.recetteId = recetteId;
+            Arrays.fill(slotDays, Long.MIN_VALUE);
+        }
+
+        private void add(long day, int evaluation, int delta, long today) {
+            count = Math.max(0, count + delta);
+            sum = Math.max(0, sum + (long) evaluation * delta);
+            long clamped = Math.min(day, today);
+            if (clamped <= today - DAYS) {
+                return;
+            }
+            int slot = (int) Math.floorMod(clamped, (long) DAYS);
+            if (slotDays[slot] != clamped) {
+                if (slotDays[slot] > clamped) {
+                    // Emplacement déjà réutilisé par un jour plus récent : jour hors fenêtre
+                    return;
+                }
+                slotDays[slot] = clamped;
+                dayCounts[slot] = 0;
+                daySums[slot] = 0;
+            }
+            dayCounts[slot] = Math.max(0, dayCounts[slot] + delta);
+            daySums[slot] = Math.max(0, daySums[slot] + evaluation * delta);
+        }
+
+        private void copyCounters(RecipeStats other) {
+            count = other.count;
+            sum = other.sum;
+            System.arraycopy(other.slotDays, 0, slotDays, 0, DAYS);
+            System.arraycopy(other.dayCounts, 0, dayCounts, 0, DAYS);
+            System.arraycopy(other.daySums, 0, daySums, 0, DAYS);
+        }
+
+        private long count(Window window, long today) {
+            if (window.getDays() == 0) {
+                return count;
+            }
+            long total = 0;
+            for (int slot = 0; slot < DAYS; slot++) {
+                if (inWindow(slot, window, today)) {
+                    total += dayCounts[slot];
+                }
+            }
+            return total;
+        }
+
+        private long sum(Window window, long today) {
+            if (window.getDays() == 0) {
+                return sum;
+            }
+            long total = 0;
+            for (int slot = 0; slot < DAYS; slot++) {
+                if (inWindow(slot, window, today)) {
+                    total += daySums[slot];
+                }
+            }
+            return total;
+        }
+
+        private boolean inWindow(int slot, Window window, long today) {
+            return slotDays[slot] > today - window.getDays() && slotDays[slot] <= today;
+        }
+    }
+}
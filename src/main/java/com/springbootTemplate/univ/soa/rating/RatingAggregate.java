@@ -0,0 +1,123 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Agrégat immuable des notes d'une recette : nombre, somme et histogramme 1..5 étoiles.
+ * <p>
+ * {@code loadedAtNanos} est l'instant où l'agrégat a été initialisé depuis Persistance ;
+ * il est conservé lorsque des deltas sont appliqués.
+ */
+public final class RatingAggregate {
+
+    public static final int MIN_STARS = 1;
+    public static final int MAX_STARS = 5;
+
+    private final long count;
+    private final long sum;
+    private final long[] histogram;
+    private final long loadedAtNanos;
+
+    private RatingAggregate(long count, long sum, long[] histogram, long loadedAtNanos) {
+        this.count = count;
+        this.sum = sum;
+        this.histogram = histogram;
+        this.loadedAtNanos = loadedAtNanos;
+    }
+
+    public static RatingAggregate empty(long loadedAtNanos) {
+        return new RatingAggregate(0, 0, new long[MAX_STARS], loadedAtNanos);
+    }
+
+    public static RatingAggregate of(List<FeedbackDTO> feedbacks, long loadedAtNanos) {
+        long[] histogram = new long[MAX_STARS];
+        long count = 0;
+        long sum = 0;
+        for (FeedbackDTO feedback : feedbacks) {
+            Integer evaluation = feedback.getEvaluation();
+            if (isValid(evaluation)) {
+                histogram[evaluation - 1]++;
+                count++;
+                sum += evaluation;
+            }
+        }
+        return new RatingAggregate(count, sum, histogram, loadedAtNanos);
+    }
+
+    /**
+     * Nouvel agrégat avec une note ajoutée (delta positif) ou retirée (delta négatif)
+     */
+    public RatingAggregate withDelta(Integer evaluation, int delta) {
+        if (!isValid(evaluation) || delta == 0) {
+            return this;
+        }
+        long[] next = Arrays.copyOf(histogram, MAX_STARS);
+        next[evaluation - 1] = Math.max(0, next[evaluation - 1] + delta);
+        long nextCount = 0;
+        long nextSum = 0;
+        for (int i = 0; i < MAX_STARS; i++) {
+            nextCount += next[i];
+            nextSum += next[i] * (i + 1);
+        }
+        return new RatingAggregate(nextCount, nextSum, next, loadedAtNanos);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Nombre de notes pour un nombre d'étoiles donné (1 à 5)
+     */
+    public long getCount(int stars) {
+        return histogram[stars - 1];
+    }
+
+    public long getLoadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * Moyenne bayésienne : les notes sont complétées par {@code priorWeight} notes fictives valant {@code priorMean},
+     * ce qui rapproche de {@code priorMean} les recettes peu notées
+     */
+    public double getBayesianAverage(double priorMean, long priorWeight) {
+        return bayesianAverage(count, sum, priorMean, priorWeight);
+    }
+
+    static double bayesianAverage(long count, long sum, double priorMean, long priorWeight) {
+        long weight = Math.max(0, priorWeight);
+        return count + weight == 0 ? priorMean : (priorMean * weight + sum) / (count + weight);
+    }
+
+    /**
+     * Variance (population) des notes, calculée sur l'histogramme
+     */
+    public double getVariance() {
+        if (count == 0) {
+            return 0.0;
+        }
+        double average = getAverage();
+        double squares = 0;
+        for (int i = 0; i < MAX_STARS; i++) {
+            double deviation = (i + 1) - average;
+            squares += histogram[i] * deviation * deviation;
+        }
+        return squares / count;
+    }
+
+    static boolean isValid(Integer evaluation) {
+        return evaluation != null && evaluation >= MIN_STARS && evaluation <= MAX_STARS;
+    }
+}
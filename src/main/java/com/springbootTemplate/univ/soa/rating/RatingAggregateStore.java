@@ -0,0 +1,126 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.springbootTemplate.univ.soa.cache.RecetteFeedbackCache;
+import com.springbootTemplate.univ.soa.config.RatingAggregateProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Agrégats de notes par recette, initialisés une fois depuis Persistance
+ * puis tenus à jour par deltas à chaque écriture.
+ */
+@Component
+@Slf4j
+public class RatingAggregateStore {
+
+    public static final String CACHE_NAME = "rating-aggregates";
+
+    /**
+     * Appliqué après l'invalidation du cache des feedbacks, pour qu'une réinitialisation
+     * déclenchée ici ne relise jamais une liste antérieure à l'écriture
+     */
+    public static final int LISTENER_ORDER = RecetteFeedbackCache.LISTENER_ORDER + 1;
+
+    private final RecetteFeedbackCache recetteFeedbackCache;
+    private final RatingAggregateProperties properties;
+    private final LoadingCache<Long, RatingAggregate> aggregates;
+
+    public RatingAggregateStore(RecetteFeedbackCache recetteFeedbackCache,
+                                RatingAggregateProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.recetteFeedbackCache = recetteFeedbackCache;
+        this.properties = properties;
+        this.aggregates = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .refreshAfterWrite(properties.getResyncInterval())
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, aggregates, CACHE_NAME);
+    }
+
+    /**
+     * Agrégat d'une recette ; seul le premier accès interroge Persistance
+     */
+    public RatingAggregate getAggregate(Long recetteId) {
+        return aggregates.get(recetteId);
+    }
+
+    /**
+     * Agrégat d'une recette s'il est déjà en mémoire, sans appel à Persistance
+     */
+    public RatingAggregate getAggregateIfLoaded(Long recetteId) {
+        return aggregates.getIfPresent(recetteId);
+    }
+
+    /**
+     * Moyenne bayésienne d'un agrégat, avec la note a priori configurée
+     */
+    public double getBayesianAverage(RatingAggregate aggregate) {
+        return aggregate.getBayesianAverage(properties.getBayesianPriorMean(), properties.getBayesianPriorWeight());
+    }
+
+    /**
+     * Appliquer le delta d'une écriture aux agrégats déjà chargés.
+     * <p>
+     * Un agrégat chargé après le début de l'écriture peut déjà l'inclure : il est alors
+     * invalidé plutôt que corrigé, et sera rechargé au prochain accès.
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        for (Long recetteId : event.recetteIds()) {
+            aggregates.asMap().computeIfPresent(recetteId, (id, aggregate) -> {
+                if (aggregate.getLoadedAtNanos() - event.startedAtNanos() >= 0) {
+                    log.debug("Agrégat de la recette {} chargé pendant une écriture, invalidé", id);
+                    return null;
+                }
+                return applyDelta(aggregate, id, event);
+            });
+        }
+    }
+
+    /**
+     * Agrégats des recettes modifiées par une autre instance (tous si des messages ont été perdus) :
+     * invalidés, rechargés au prochain accès
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackInvalidated(FeedbackInvalidatedEvent event) {
+        if (event.all()) {
+            aggregates.invalidateAll();
+        } else {
+            aggregates.invalidateAll(event.recetteIds());
+        }
+    }
+
+    private RatingAggregate applyDelta(RatingAggregate aggregate, Long recetteId, FeedbackChangedEvent event) {
+        RatingAggregate next = aggregate;
+        FeedbackDTO previous = event.previous();
+        FeedbackDTO current = event.current();
+        if (previous != null && recetteId.equals(previous.getRecetteId())) {
+            next = next.withDelta(previous.getEvaluation(), -1);
+        }
+        if (current != null && recetteId.equals(current.getRecetteId())) {
+            next = next.withDelta(current.getEvaluation(), 1);
+        }
+        return next;
+    }
+
+    private RatingAggregate load(Long recetteId) {
+        List<FeedbackDTO> feedbacks = recetteFeedbackCache.getFeedbacksByRecetteId(
+                recetteId, RecetteFeedbackCache.Endpoint.AVERAGE);
+        log.debug("Agrégat de la recette {} initialisé depuis {} feedbacks", recetteId, feedbacks.size());
+        return RatingAggregate.of(feedbacks, System.nanoTime());
+    }
+}
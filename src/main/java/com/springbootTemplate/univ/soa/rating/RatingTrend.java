@@ -0,0 +1,91 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Notes d'une recette par heure ({@value #HOURS} dernières heures) et par jour ({@value #DAYS} derniers jours),
+ * de quoi comparer chaque fenêtre à la précédente sans relire les feedbacks.
+ * <p>
+ * Instance immuable : chaque écriture produit une copie.
+ */
+public final class RatingTrend {
+
+    public static final int HOURS = 48;
+    public static final int DAYS = 180;
+
+    private final BucketRing hours;
+    private final BucketRing days;
+    private final long loadedAtNanos;
+
+    private RatingTrend(BucketRing hours, BucketRing days, long loadedAtNanos) {
+        this.hours = hours;
+        this.days = days;
+        this.loadedAtNanos = loadedAtNanos;
+    }
+
+    public static RatingTrend of(List<FeedbackDTO> feedbacks, long loadedAtNanos) {
+        RatingTrend trend = new RatingTrend(new BucketRing(HOURS), new BucketRing(DAYS), loadedAtNanos);
+        for (FeedbackDTO feedback : feedbacks) {
+            trend.record(feedback.getDateFeedback(), feedback.getEvaluation(), 1);
+        }
+        return trend;
+    }
+
+    /**
+     * Copie avec une note ajoutée (delta positif) ou retirée (delta négatif)
+     */
+    public RatingTrend withDelta(LocalDateTime dateFeedback, Integer evaluation, int delta) {
+        if (dateFeedback == null || !RatingAggregate.isValid(evaluation)) {
+            return this;
+        }
+        RatingTrend next = new RatingTrend(hours.copy(), days.copy(), loadedAtNanos);
+        next.record(dateFeedback, evaluation, delta);
+        return next;
+    }
+
+    /**
+     * Nombre de notes des heures {@code from} à {@code to} incluses (heures epoch)
+     */
+    public long getHourlyCount(long from, long to) {
+        return hours.count(from, to);
+    }
+
+    public long getHourlySum(long from, long to) {
+        return hours.sum(from, to);
+    }
+
+    /**
+     * Nombre de notes des jours {@code from} à {@code to} inclus (jours epoch)
+     */
+    public long getDailyCount(long from, long to) {
+        return days.count(from, to);
+    }
+
+    public long getDailySum(long from, long to) {
+        return days.sum(from, to);
+    }
+
+    public long getLoadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    public static long epochHour(LocalDateTime date) {
+        return Math.floorDiv(date.toEpochSecond(ZoneOffset.UTC), 3600L);
+    }
+
+    public static long epochDay(LocalDateTime date) {
+        return date.toLocalDate().toEpochDay();
+    }
+
+    private void record(LocalDateTime dateFeedback, Integer evaluation, int delta) {
+        if (dateFeedback == null || !RatingAggregate.isValid(evaluation)) {
+            return;
+        }
+        hours.add(epochHour(dateFeedback), evaluation, delta);
+        days.add(epochDay(dateFeedback), evaluation, delta);
+    }
+}
@@ -0,0 +1,191 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.springbootTemplate.univ.soa.cache.RecetteFeedbackCache;
+import com.springbootTemplate.univ.soa.config.RatingTrendProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.RatingTrendResponse;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tendances de notes par recette (24 dernières heures, 7, 30 et 90 derniers jours, comparées à la période précédente),
+ * initialisées une fois depuis Persistance puis tenues à jour par deltas à chaque écriture.
+ */
+@Component
+@Slf4j
+public class RatingTrendStore {
+
+    public static final String CACHE_NAME = "rating-trends";
+
+    /**
+     * Appliqué après l'invalidation du cache des feedbacks, comme les agrégats de notes
+     */
+    public static final int LISTENER_ORDER = RecetteFeedbackCache.LISTENER_ORDER + 1;
+
+    public enum Window {
+        HOURS_24("24h", 24, true),
+        DAYS_7("7d", 7, false),
+        DAYS_30("30d", 30, false),
+        DAYS_90("90d", 90, false);
+
+        private final String label;
+        private final int length;
+        private final boolean hourly;
+
+        Window(String label, int length, boolean hourly) {
+            this.label = label;
+            this.length = length;
+            this.hourly = hourly;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final RecetteFeedbackCache recetteFeedbackCache;
+    private final Clock clock;
+    private final LoadingCache<Long, RatingTrend> trends;
+
+    @Autowired
+    public RatingTrendStore(RecetteFeedbackCache recetteFeedbackCache,
+                            RatingTrendProperties properties,
+                            MeterRegistry meterRegistry) {
+        this(recetteFeedbackCache, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    RatingTrendStore(RecetteFeedbackCache recetteFeedbackCache,
+                     RatingTrendProperties properties,
+                     MeterRegistry meterRegistry,
+                     Clock clock) {
+        this.recetteFeedbackCache = recetteFeedbackCache;
+        this.clock = clock;
+        this.trends = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .refreshAfterWrite(properties.getResyncInterval())
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, trends, CACHE_NAME);
+    }
+
+    /**
+     * Tendances d'une recette ; seul le premier accès interroge Persistance
+     */
+    public RatingTrend getTrend(Long recetteId) {
+        return trends.get(recetteId);
+    }
+
+    /**
+     * Nombre et moyenne des notes de chaque fenêtre, de la période précédente, et leur évolution
+     */
+    public RatingTrendResponse getTrendResponse(Long recetteId) {
+        RatingTrend trend = getTrend(recetteId);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<RatingTrendResponse.WindowTrend> windows = new ArrayList<>(Window.values().length);
+        for (Window window : Window.values()) {
+            long end = window.hourly ? RatingTrend.epochHour(now) : RatingTrend.epochDay(now);
+            long start = end - window.length + 1;
+            long count = count(trend, window, start, end);
+            long sum = sum(trend, window, start, end);
+            long previousCount = count(trend, window, start - window.length, start - 1);
+            long previousSum = sum(trend, window, start - window.length, start - 1);
+            double average = average(count, sum);
+            double previousAverage = average(previousCount, previousSum);
+            windows.add(RatingTrendResponse.WindowTrend.builder()
+                    .window(window.getLabel())
+                    .totalFeedbacks(count)
+                    .averageRating(round2(average))
+                    .previousTotalFeedbacks(previousCount)
+                    .previousAverageRating(round2(previousAverage))
+                    .feedbacksChange(count - previousCount)
+                    .ratingChange(count == 0 || previousCount == 0 ? null : round2(average - previousAverage))
+                    .build());
+        }
+        return RatingTrendResponse.builder()
+                .recetteId(recetteId)
+                .windows(windows)
+                .build();
+    }
+
+    /**
+     * Appliquer le delta d'une écriture aux tendances déjà chargées ; tendances chargées
+     * après le début de l'écriture invalidées, comme les agrégats de notes
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        for (Long recetteId : event.recetteIds()) {
+            trends.asMap().computeIfPresent(recetteId, (id, trend) -> {
+                if (trend.getLoadedAtNanos() - event.startedAtNanos() >= 0) {
+                    log.debug("Tendances de la recette {} chargées pendant une écriture, invalidées", id);
+                    return null;
+                }
+                return applyDelta(trend, id, event);
+            });
+        }
+    }
+
+    /**
+     * Tendances des recettes modifiées par une autre instance (toutes si des messages ont été perdus) :
+     * invalidées, rechargées au prochain accès
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackInvalidated(FeedbackInvalidatedEvent event) {
+        if (event.all()) {
+            trends.invalidateAll();
+        } else {
+            trends.invalidateAll(event.recetteIds());
+        }
+    }
+
+    private RatingTrend applyDelta(RatingTrend trend, Long recetteId, FeedbackChangedEvent event) {
+        RatingTrend next = trend;
+        FeedbackDTO previous = event.previous();
+        FeedbackDTO current = event.current();
+        if (previous != null && recetteId.equals(previous.getRecetteId())) {
+            next = next.withDelta(previous.getDateFeedback(), previous.getEvaluation(), -1);
+        }
+        if (current != null && recetteId.equals(current.getRecetteId())) {
+            next = next.withDelta(current.getDateFeedback(), current.getEvaluation(), 1);
+        }
+        return next;
+    }
+
+    private RatingTrend load(Long recetteId) {
+        List<FeedbackDTO> feedbacks = recetteFeedbackCache.getFeedbacksByRecetteId(
+                recetteId, RecetteFeedbackCache.Endpoint.AVERAGE);
+        log.debug("Tendances de la recette {} initialisées depuis {} feedbacks", recetteId, feedbacks.size());
+        return RatingTrend.of(feedbacks, System.nanoTime());
+    }
+
+    private static long count(RatingTrend trend, Window window, long from, long to) {
+        return window.hourly ? trend.getHourlyCount(from, to) : trend.getDailyCount(from, to);
+    }
+
+    private static long sum(RatingTrend trend, Window window, long from, long to) {
+        return window.hourly ? trend.getHourlySum(from, to) : trend.getDailySum(from, to);
+    }
+
+    private static double average(long count, long sum) {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
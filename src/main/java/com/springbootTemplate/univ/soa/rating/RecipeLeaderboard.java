@@ -0,0 +1,396 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.springbootTemplate.univ.soa.config.LeaderboardProperties;
+import com.springbootTemplate.univ.soa.config.RatingAggregateProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.FeedbackPageQuery;
+import com.springbootTemplate.univ.soa.dto.LeaderboardEntryResponse;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import com.springbootTemplate.univ.soa.service.PagedFeedbackIterator;
+import com.springbootTemplate.univ.soa.store.FeedbackStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Classement des recettes les mieux notées (moyenne bayésienne) ou les plus commentées,
+ * sur tout l'historique ou sur le dernier jour, les 7 ou les 30 derniers jours.
+ * <p>
+ * L'index est chargé au démarrage depuis Persistance (page par page), tenu à jour à chaque écriture
+ * de cette instance, puis reconstruit périodiquement pour intégrer les écritures des autres instances.
+ * Les recettes signalées par les autres instances ({@link FeedbackInvalidatedEvent}) sont relues dès réception ;
+ * si des messages ont été perdus, l'index est reconstruit sans attendre.
+ * Les recettes modifiées pendant une reconstruction ou une relecture sont relues avant que l'index ne soit publié.
+ * Une écriture commencée avant la dernière lecture de sa recette n'est pas appliquée (elle peut y être déjà comptée) :
+ * la recette est relue à la place.
+ */
+@Component
+@ConditionalOnProperty(prefix = "feedback.leaderboard", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RecipeLeaderboard {
+
+    /**
+     * Appliqué après les agrégats de notes
+     */
+    public static final int LISTENER_ORDER = RatingAggregateStore.LISTENER_ORDER + 1;
+
+    public enum Window {
+        ALL(0), DAY(1), WEEK(7), MONTH(LeaderboardIndex.DAYS);
+
+        private final int days;
+
+        Window(int days) {
+            this.days = days;
+        }
+
+        /** Nombre de jours couverts, 0 pour tout l'historique */
+        public int getDays() {
+            return days;
+        }
+
+        public static Window parse(String value) {
+            if (value == null || value.isBlank()) {
+                return ALL;
+            }
+            for (Window window : values()) {
+                if (window.name().equalsIgnoreCase(value.trim())) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Fenêtre de classement invalide: " + value + " (all, day, week, month)");
+        }
+    }
+
+    public enum Sort {
+        RATING, REVIEWS;
+
+        public static Sort parse(String value) {
+            if (value == null || value.isBlank()) {
+                return RATING;
+            }
+            for (Sort sort : values()) {
+                if (sort.name().equalsIgnoreCase(value.trim())) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Tri de classement invalide: " + value + " (rating, reviews)");
+        }
+    }
+
+    private final FeedbackStore feedbackStore;
+    private final LeaderboardProperties properties;
+    private final RatingAggregateProperties ratingProperties;
+    private final Clock clock;
+    private final Object swapLock = new Object();
+
+    /** Null tant que le premier chargement n'est pas terminé */
+    private volatile LeaderboardIndex index;
+    /** Recettes modifiées pendant une reconstruction ou une relecture, null sinon (accès sous swapLock) */
+    private Set<Long> touchedDuringRebuild;
+    /** Recettes modifiées par d'autres instances, à relire par le thread de chargement (accès sous swapLock) */
+    private final Set<Long> staleRecettes = new HashSet<>();
+    /** Reconstruction demandée avant l'échéance, messages d'une autre instance perdus (accès sous swapLock) */
+    private boolean rebuildRequested;
+    private Thread loader;
+
+    @Autowired
+    public RecipeLeaderboard(FeedbackStore feedbackStore,
+                             LeaderboardProperties properties,
+                             RatingAggregateProperties ratingProperties,
+                             MeterRegistry meterRegistry) {
+        this(feedbackStore, properties, ratingProperties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    RecipeLeaderboard(FeedbackStore feedbackStore,
+                      LeaderboardProperties properties,
+                      RatingAggregateProperties ratingProperties,
+                      MeterRegistry meterRegistry,
+                      Clock clock) {
+        this.feedbackStore = feedbackStore;
+        this.properties = properties;
+        this.ratingProperties = ratingProperties;
+        this.clock = clock;
+        Gauge.builder("feedback.leaderboard.recipes", this, leaderboard -> {
+                    LeaderboardIndex current = leaderboard.index;
+                    return current == null ? 0 : current.size();
+                })
+                .description("Recettes présentes dans l'index du classement")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        loader = Thread.ofPlatform().name("leaderboard-loader").daemon().start(this::loadLoop);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        if (loader != null) {
+            loader.interrupt();
+        }
+    }
+
+    /**
+     * Top N des recettes pour un tri et une fenêtre donnés
+     */
+    public List<LeaderboardEntryResponse> getTop(String sort, String window, Integer limit) {
+        Sort parsedSort = Sort.parse(sort);
+        Window parsedWindow = Window.parse(window);
+        int size = limit == null ? properties.getDefaultLimit() : Math.max(1, Math.min(limit, properties.getMaxLimit()));
+        LeaderboardIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("Classement des recettes en cours de chargement, réessayer plus tard");
+        }
+
+        List<LeaderboardIndex.Ranked> top = current.top(parsedWindow, parsedSort, size, today());
+        List<LeaderboardEntryResponse> entries = new ArrayList<>(top.size());
+        for (LeaderboardIndex.Ranked ranked : top) {
+            entries.add(LeaderboardEntryResponse.builder()
+                    .rank(entries.size() + 1)
+                    .recetteId(ranked.recetteId())
+                    .totalFeedbacks(ranked.count())
+                    .averageRating(Math.round(ranked.average() * 100.0) / 100.0)
+                    .bayesianAverageRating(Math.round(ranked.bayesianAverage() * 100.0) / 100.0)
+                    .build());
+        }
+        return entries;
+    }
+
+    /**
+     * Appliquer une écriture à l'index courant ; pendant une reconstruction, la recette sera aussi relue.
+     * Une recette lue après le début de l'écriture est relue au lieu d'être corrigée.
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        LeaderboardIndex current;
+        synchronized (swapLock) {
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.addAll(event.recetteIds());
+            }
+            current = index;
+        }
+        if (current == null) {
+            return;
+        }
+        long today = today();
+        Set<Long> reread = new HashSet<>();
+        if (event.previous() != null && !current.apply(event.previous(), -1, today, event.startedAtNanos())) {
+            reread.add(event.previous().getRecetteId());
+        }
+        if (event.current() != null && !current.apply(event.current(), 1, today, event.startedAtNanos())) {
+            reread.add(event.current().getRecetteId());
+        }
+        if (!reread.isEmpty()) {
+            log.debug("Recettes {} lues pendant une écriture, relues", reread);
+            markStale(reread);
+        }
+    }
+
+    /**
+     * Relire les recettes modifiées par une autre instance : pendant une reconstruction, avec les recettes touchées ;
+     * sinon par le thread de chargement. Avant le premier chargement, rien à faire.
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    public void onFeedbackInvalidated(FeedbackInvalidatedEvent event) {
+        if (event.all()) {
+            // Une reconstruction en cours peut avoir lu des pages antérieures : une autre la suivra
+            synchronized (swapLock) {
+                rebuildRequested = true;
+                swapLock.notifyAll();
+            }
+        } else if (!event.recetteIds().isEmpty()) {
+            markStale(event.recetteIds());
+        }
+    }
+
+    /**
+     * Recettes à relire : avec les recettes touchées pendant une reconstruction ou une relecture,
+     * sinon par le thread de chargement
+     */
+    private void markStale(Set<Long> recetteIds) {
+        synchronized (swapLock) {
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.addAll(recetteIds);
+            } else if (index != null) {
+                staleRecettes.addAll(recetteIds);
+                swapLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Construire un nouvel index depuis Persistance puis le substituer à l'index courant
+     */
+    void rebuild() {
+        long startedAt = System.nanoTime();
+        synchronized (swapLock) {
+            touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+        }
+        try {
+            long today = today();
+            LeaderboardIndex next = new LeaderboardIndex(
+                    ratingProperties.getBayesianPriorMean(), ratingProperties.getBayesianPriorWeight(), today);
+            try (Stream<FeedbackDTO> feedbacks = PagedFeedbackIterator.stream(
+                    feedbackStore, FeedbackPageQuery.builder().build(), properties.getPageSize())) {
+                feedbacks.forEach(feedback -> next.load(feedback, today));
+            }
+            next.markLoaded(System.nanoTime());
+            next.rankAll(today());
+            replaceTouched(next);
+            log.info("Classement des recettes chargé - {} recettes en {} ms",
+                    next.size(), Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        } catch (RuntimeException e) {
+            synchronized (swapLock) {
+                // Recettes dont l'écriture n'a pas été appliquée à l'index courant : relues par le thread de chargement
+                if (touchedDuringRebuild != null && index != null) {
+                    staleRecettes.addAll(touchedDuringRebuild);
+                }
+            }
+            throw e;
+        } finally {
+            synchronized (swapLock) {
+                touchedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Relire des recettes dans l'index courant ; en cas d'échec, celles qui restent à relire sont gardées
+     */
+    void refresh(Set<Long> recetteIds) {
+        LeaderboardIndex current = index;
+        if (current == null || recetteIds.isEmpty()) {
+            return;
+        }
+        synchronized (swapLock) {
+            touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+            touchedDuringRebuild.addAll(recetteIds);
+        }
+        try {
+            replaceTouched(current);
+            log.debug("Classement des recettes : {} recettes relues", recetteIds.size());
+        } catch (RuntimeException e) {
+            synchronized (swapLock) {
+                if (touchedDuringRebuild != null) {
+                    staleRecettes.addAll(touchedDuringRebuild);
+                }
+            }
+            throw e;
+        } finally {
+            synchronized (swapLock) {
+                touchedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Relire les recettes touchées jusqu'à ce qu'aucune ne l'ait été pendant la relecture, puis publier l'index.
+     * Les recettes touchées ne sont plus suivies à partir de la publication (même section sous swapLock) :
+     * une écriture ultérieure est appliquée à l'index publié ou signalée au thread de chargement.
+     */
+    private void replaceTouched(LeaderboardIndex target) {
+        while (true) {
+            Set<Long> touched;
+            synchronized (swapLock) {
+                if (touchedDuringRebuild.isEmpty()) {
+                    index = target;
+                    touchedDuringRebuild = null;
+                    return;
+                }
+                touched = Set.copyOf(touchedDuringRebuild);
+                touchedDuringRebuild.clear();
+            }
+            try {
+                for (Long recetteId : touched) {
+                    if (!target.replace(recetteId, () -> feedbackStore.getFeedbacksByRecetteId(recetteId), today())) {
+                        // Écriture appliquée pendant la lecture : relire
+                        synchronized (swapLock) {
+                            touchedDuringRebuild.add(recetteId);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                synchronized (swapLock) {
+                    touchedDuringRebuild.addAll(touched);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reconstruction complète toutes les {@code resync-interval} ; entre deux, relecture des recettes
+     * signalées par les autres instances
+     */
+    private void loadLoop() {
+        long rebuildAt = System.nanoTime();
+        while (!Thread.currentThread().isInterrupted()) {
+            Set<Long> stale;
+            synchronized (swapLock) {
+                try {
+                    long waitNanos;
+                    while (staleRecettes.isEmpty() && !rebuildRequested
+                            && (waitNanos = rebuildAt - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(swapLock, waitNanos);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (rebuildRequested) {
+                    rebuildRequested = false;
+                    rebuildAt = System.nanoTime();
+                }
+                stale = Set.copyOf(staleRecettes);
+                staleRecettes.clear();
+            }
+            if (rebuildAt - System.nanoTime() <= 0) {
+                // Les recettes signalées sont relues par la reconstruction
+                try {
+                    rebuild();
+                    rebuildAt = System.nanoTime() + properties.getResyncInterval().toNanos();
+                } catch (RuntimeException e) {
+                    log.warn("Chargement du classement des recettes impossible, nouvelle tentative dans {}: {}",
+                            properties.getRetryDelay(), e.getMessage());
+                    rebuildAt = System.nanoTime() + properties.getRetryDelay().toNanos();
+                }
+                continue;
+            }
+            try {
+                refresh(stale);
+            } catch (RuntimeException e) {
+                log.warn("Relecture de {} recettes du classement impossible, nouvelle tentative dans {}: {}",
+                        stale.size(), properties.getRetryDelay(), e.getMessage());
+                try {
+                    Thread.sleep(properties.getRetryDelay());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+}
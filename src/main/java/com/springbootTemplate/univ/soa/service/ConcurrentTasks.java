@@ -0,0 +1,53 @@
+package com.springbootTemplate.univ.soa.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntConsumer;
+
+/**
+ * Appels vers Persistance lancés en parallèle en nombre borné, pour rester dans les cloisons Resilience4j
+ * (utilisé par le service et par les écritures différées)
+ */
+public final class ConcurrentTasks {
+
+    private ConcurrentTasks() {
+    }
+
+    /**
+     * Exécuter une tâche par index sur {@code executor}, avec au plus {@code concurrency} tâches
+     * en cours ; rend la main quand toutes sont terminées et propage la première erreur rencontrée
+     */
+    public static void runConcurrently(List<Integer> indexes, int concurrency, Executor executor, IntConsumer task) {
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        List<CompletableFuture<Void>> calls = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                permits.acquire();
+                calls.add(CompletableFuture.runAsync(() -> task.accept(index), executor)
+                        .whenComplete((ignored, error) -> permits.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Traitement groupé interrompu", e);
+        }
+        await(CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)));
+    }
+
+    /**
+     * Attendre un appel lancé en parallèle en propageant son exception d'origine
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
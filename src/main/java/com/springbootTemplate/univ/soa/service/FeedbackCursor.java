@@ -0,0 +1,39 @@
+package com.springbootTemplate.univ.soa.service;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Clé de pagination (dateFeedback, id) du dernier feedback d'une page, échangée avec
+ * le client sous forme de chaîne opaque (Base64 URL).
+ */
+public record FeedbackCursor(LocalDateTime dateFeedback, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static FeedbackCursor of(FeedbackDTO feedback) {
+        return new FeedbackCursor(feedback.getDateFeedback(), feedback.getId());
+    }
+
+    public String encode() {
+        String raw = (dateFeedback != null ? dateFeedback.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedbackCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String date = raw.substring(0, separator);
+            return new FeedbackCursor(
+                    date.isEmpty() ? null : LocalDateTime.parse(date),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide: " + cursor);
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package com.springbootTemplate.univ.soa.service;
 
+import com.springbootTemplate.univ.soa.dto.FeedbackBatchResponse;
 import com.springbootTemplate.univ.soa.dto.FeedbackCreateRequest;
 import com.springbootTemplate.univ.soa.dto.FeedbackUpdateRequest;
 import com.springbootTemplate.univ.soa.dto.AverageRatingResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackColumns;
+import com.springbootTemplate.univ.soa.dto.FeedbackPageResponse;
 import com.springbootTemplate.univ.soa.dto.FeedbackResponse;
+import com.springbootTemplate.univ.soa.dto.RatingDistributionResponse;
+import com.springbootTemplate.univ.soa.dto.Versioned;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface FeedbackService {
 
     FeedbackResponse createFeedback(FeedbackCreateRequest request);
 
-    List<FeedbackResponse> getAllFeedbacks();
+    /**
+     * Créer un lot de feedbacks ; chaque feedback réussit ou échoue indépendamment des autres
+     */
+    FeedbackBatchResponse createFeedbacks(List<FeedbackCreateRequest> requests);
+
+    /**
+     * Tous les feedbacks en colonnes, sérialisés sans objet réponse par feedback
+     */
+    FeedbackColumns getAllFeedbacks();
 
     FeedbackResponse getFeedbackById(String id);
 
@@ -21,6 +35,45 @@ public interface FeedbackService {
 
     AverageRatingResponse getAverageRatingByRecetteId(String recetteId);
 
+    /**
+     * Feedbacks de l'utilisateur avec leurs validateurs HTTP ; les colonnes ne sont remplies qu'à la lecture du contenu
+     */
+    Versioned<FeedbackColumns> getVersionedFeedbacksByUtilisateurId(String utilisateurId);
+
+    /**
+     * Feedbacks de la recette avec leurs validateurs HTTP, calculés une fois par entrée du cache
+     */
+    Versioned<FeedbackColumns> getVersionedFeedbacksByRecetteId(String recetteId);
+
+    /**
+     * Note moyenne de la recette avec son ETag (nombre de notes et note moyenne)
+     */
+    Versioned<AverageRatingResponse> getVersionedAverageRatingByRecetteId(String recetteId);
+
+    RatingDistributionResponse getRatingDistributionByRecetteId(String recetteId);
+
+    /**
+     * Répartition des notes de la recette avec son ETag (histogramme des notes)
+     */
+    Versioned<RatingDistributionResponse> getVersionedRatingDistributionByRecetteId(String recetteId);
+
+    /**
+     * Notes moyennes de plusieurs recettes, dans l'ordre des identifiants reçus (doublons ignorés)
+     */
+    List<AverageRatingResponse> getAverageRatingsByRecetteIds(List<String> recetteIds);
+
+    FeedbackPageResponse getFeedbacksPage(Integer page, Integer size, String cursor);
+
+    FeedbackPageResponse getFeedbacksPageByUtilisateurId(String utilisateurId, Integer page, Integer size, String cursor);
+
+    FeedbackPageResponse getFeedbacksPageByRecetteId(String recetteId, Integer page, Integer size, String cursor);
+
+    /**
+     * Flux paresseux des feedbacks filtrés ; les filtres sont validés immédiatement,
+     * les pages ne sont lues qu'au fil de la consommation du flux
+     */
+    Stream<FeedbackResponse> streamFeedbacks(String utilisateurId, String recetteId, String from, String to);
+
     FeedbackResponse updateFeedback(String id, FeedbackUpdateRequest request);
 
     void deleteFeedback(String id);
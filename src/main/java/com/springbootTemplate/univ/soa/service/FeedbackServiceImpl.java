@@ -1,66 +1,153 @@
 package com.springbootTemplate.univ.soa.service;
 
-import com.springbootTemplate.univ.soa.client.PersistanceClient;
+import com.springbootTemplate.univ.soa.cache.ExistenceCache;
+import com.springbootTemplate.univ.soa.cache.FeedbackSnapshot;
+import com.springbootTemplate.univ.soa.cache.RecetteFeedbackCache;
+import com.springbootTemplate.univ.soa.client.PersistanceResilience;
+import com.springbootTemplate.univ.soa.config.BatchProperties;
+import com.springbootTemplate.univ.soa.config.PaginationProperties;
 import com.springbootTemplate.univ.soa.dto.*;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.exception.DuplicateFeedbackException;
 import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import com.springbootTemplate.univ.soa.rating.RatingAggregate;
+import com.springbootTemplate.univ.soa.rating.RatingAggregateStore;
+import com.springbootTemplate.univ.soa.store.FeedbackStore;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "feedback.service", description = "Durée des méthodes du service feedbacks, appels vers ms-persistance compris")
 public class FeedbackServiceImpl implements FeedbackService {
 
-    private final PersistanceClient persistanceClient;
+    private static final String DUPLICATE_FEEDBACK_MESSAGE = "Vous avez déjà noté cette recette.";
+
+    private final FeedbackStore feedbackStore;
+    private final RecetteFeedbackCache recetteFeedbackCache;
+    private final RatingAggregateStore ratingAggregateStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PaginationProperties paginationProperties;
+    private final BatchProperties batchProperties;
+    private final ExistenceCache existenceCache;
+    private final Validator validator;
+
+    @Qualifier("persistanceExecutor")
+    private final Executor persistanceExecutor;
 
     @Override
     public FeedbackResponse createFeedback(FeedbackCreateRequest request) {
         log.info("Création d'un nouveau feedback pour la recette: {}", request.getRecetteId());
 
-        // Validation : vérifier que l'utilisateur existe
-        if (!persistanceClient.utilisateurExists(request.getUtilisateurId())) {
+        // Validation : vérifier en parallèle que l'utilisateur et la recette existent
+        CompletableFuture<Boolean> utilisateurExists = CompletableFuture.supplyAsync(
+                () -> existenceCache.utilisateurExists(request.getUtilisateurId()), persistanceExecutor);
+        boolean recetteExists = existenceCache.recetteExists(request.getRecetteId());
+
+        if (!ConcurrentTasks.await(utilisateurExists)) {
             throw new IllegalArgumentException("Utilisateur non trouvé avec l'ID: " + request.getUtilisateurId());
         }
 
-        // Validation : vérifier que la recette existe
-        if (!persistanceClient.recetteExists(request.getRecetteId())) {
+        if (!recetteExists) {
             throw new IllegalArgumentException("Recette non trouvée avec l'ID: " + request.getRecetteId());
         }
 
-        // Créer le DTO pour le microservice Persistance
-        FeedbackDTO feedbackDTO = FeedbackDTO.builder()
-                .utilisateurId(request.getUtilisateurId())
-                .recetteId(request.getRecetteId())
-                .evaluation(request.getEvaluation())
-                .commentaire(request.getCommentaire())
-                .dateFeedback(LocalDateTime.now())
-                .dateModification(LocalDateTime.now())
-                .build();
-
         try {
-            // Appel au microservice Persistance
-            FeedbackDTO savedFeedback = persistanceClient.createFeedback(feedbackDTO);
-            log.info("Feedback créé avec succès - ID: {}", savedFeedback.getId());
-            return mapToResponse(savedFeedback);
-        } catch (org.springframework.web.client.HttpClientErrorException.Conflict e) {
+            // Écriture dans le stockage (Persistance ou magasin local)
+            return mapToResponse(insert(request));
+        } catch (DuplicateFeedbackException e) {
             log.warn("Feedback déjà existant pour utilisateur {} et recette {}",
                      request.getUtilisateurId(), request.getRecetteId());
-            throw new IllegalArgumentException("Vous avez déjà noté cette recette.");
+            throw new IllegalArgumentException(DUPLICATE_FEEDBACK_MESSAGE);
         }
     }
 
     @Override
-    public List<FeedbackResponse> getAllFeedbacks() {
+    public FeedbackBatchResponse createFeedbacks(List<FeedbackCreateRequest> requests) {
+        log.info("Création groupée de {} feedbacks", requests.size());
+        if (requests.size() > batchProperties.getMaxSize()) {
+            throw new IllegalArgumentException(
+                    "Un lot ne peut pas dépasser " + batchProperties.getMaxSize() + " feedbacks");
+        }
+
+        // Contraintes de chaque feedback : un feedback mal formé est rejeté en 400 sans bloquer le reste du lot
+        FeedbackBatchItemResult[] results = new FeedbackBatchItemResult[requests.size()];
+        for (int index = 0; index < requests.size(); index++) {
+            results[index] = checkConstraints(index, requests.get(index));
+        }
+
+        // Validation : une seule vérification par utilisateur et par recette distincts, en parallèle
+        // dans la limite de la cloison des vérifications d'existence
+        List<Runnable> checks = new ArrayList<>();
+        Map<Long, CompletableFuture<Boolean>> utilisateurs = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<Boolean>> recettes = new LinkedHashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            if (results[index] == null) {
+                FeedbackCreateRequest request = requests.get(index);
+                addCheck(checks, utilisateurs, request.getUtilisateurId(), existenceCache::utilisateurExists);
+                addCheck(checks, recettes, request.getRecetteId(), existenceCache::recetteExists);
+            }
+        }
+        runConcurrently(IntStream.range(0, checks.size()).boxed().toList(), batchProperties.getExistenceConcurrency(),
+                index -> checks.get(index).run());
+
+        List<Integer> accepted = new ArrayList<>();
+        Set<List<Long>> pairs = new HashSet<>();
+        for (int index = 0; index < requests.size(); index++) {
+            FeedbackCreateRequest request = requests.get(index);
+            if (results[index] != null) {
+                continue;
+            }
+            if (!pairs.add(List.of(request.getUtilisateurId(), request.getRecetteId()))) {
+                results[index] = FeedbackBatchItemResult.failed(index, HttpStatus.CONFLICT, DUPLICATE_FEEDBACK_MESSAGE);
+            } else {
+                results[index] = validate(index, request, utilisateurs, recettes);
+                if (results[index] == null) {
+                    accepted.add(index);
+                }
+            }
+        }
+
+        // Créations en parallèle (Persistance n'expose pas d'insertion groupée)
+        runConcurrently(accepted, batchProperties.getInsertConcurrency(),
+                index -> results[index] = insertItem(index, requests.get(index)));
+
+        FeedbackBatchResponse response = FeedbackBatchResponse.of(Arrays.asList(results));
+        log.info("Création groupée terminée - {} créés, {} en échec", response.getCreated(), response.getFailed());
+        return response;
+    }
+
+    @Override
+    public FeedbackColumns getAllFeedbacks() {
         log.info("Récupération de tous les feedbacks");
-        List<FeedbackDTO> feedbacks = persistanceClient.getAllFeedbacks();
-        return feedbacks.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<FeedbackDTO> feedbacks = feedbackStore.getAllFeedbacks();
+        return FeedbackColumns.of(feedbacks);
     }
 
     @Override
@@ -69,25 +156,26 @@ public class FeedbackServiceImpl implements FeedbackService {
 
         try {
             Long feedbackId = Long.parseLong(id);
-            FeedbackDTO feedback = persistanceClient.getFeedbackById(feedbackId);
+            FeedbackDTO feedback = feedbackStore.getFeedbackById(feedbackId);
             return mapToResponse(feedback);
         } catch (NumberFormatException e) {
             throw new FeedbackNotFoundException("Format d'ID invalide: " + id);
-        } catch (RuntimeException e) {
-            throw new FeedbackNotFoundException("Feedback non trouvé avec l'ID: " + id);
         }
     }
 
     @Override
     public List<FeedbackResponse> getFeedbacksByUtilisateurId(String utilisateurId) {
+        return getVersionedFeedbacksByUtilisateurId(utilisateurId).getBody().asList();
+    }
+
+    @Override
+    public Versioned<FeedbackColumns> getVersionedFeedbacksByUtilisateurId(String utilisateurId) {
         log.info("Récupération des feedbacks de l'utilisateur: {}", utilisateurId);
 
         try {
             Long utilisateurIdLong = Long.parseLong(utilisateurId);
-            List<FeedbackDTO> feedbacks = persistanceClient.getFeedbacksByUtilisateurId(utilisateurIdLong);
-            return feedbacks.stream()
-                    .map(this::mapToResponse)
-                    .collect(Collectors.toList());
+            List<FeedbackDTO> feedbacks = feedbackStore.getFeedbacksByUtilisateurId(utilisateurIdLong);
+            return toVersionedResponses(FeedbackSnapshot.of(feedbacks));
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Format d'ID utilisateur invalide: " + utilisateurId);
         }
@@ -95,14 +183,18 @@ public class FeedbackServiceImpl implements FeedbackService {
 
     @Override
     public List<FeedbackResponse> getFeedbacksByRecetteId(String recetteId) {
+        return getVersionedFeedbacksByRecetteId(recetteId).getBody().asList();
+    }
+
+    @Override
+    public Versioned<FeedbackColumns> getVersionedFeedbacksByRecetteId(String recetteId) {
         log.info("Récupération des feedbacks de la recette: {}", recetteId);
 
         try {
             Long recetteIdLong = Long.parseLong(recetteId);
-            List<FeedbackDTO> feedbacks = persistanceClient.getFeedbacksByRecetteId(recetteIdLong);
-            return feedbacks.stream()
-                    .map(this::mapToResponse)
-                    .collect(Collectors.toList());
+            FeedbackSnapshot snapshot = recetteFeedbackCache.getSnapshot(
+                    recetteIdLong, RecetteFeedbackCache.Endpoint.FEEDBACKS);
+            return toVersionedResponses(snapshot);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Format d'ID recette invalide: " + recetteId);
         }
@@ -110,36 +202,132 @@ public class FeedbackServiceImpl implements FeedbackService {
 
     @Override
     public AverageRatingResponse getAverageRatingByRecetteId(String recetteId) {
+        return getVersionedAverageRatingByRecetteId(recetteId).getBody();
+    }
+
+    @Override
+    public Versioned<AverageRatingResponse> getVersionedAverageRatingByRecetteId(String recetteId) {
         log.info("Calcul de la note moyenne pour la recette: {}", recetteId);
 
         try {
             Long recetteIdLong = Long.parseLong(recetteId);
-            List<FeedbackDTO> feedbacks = persistanceClient.getFeedbacksByRecetteId(recetteIdLong);
-
-            if (feedbacks.isEmpty()) {
-                return AverageRatingResponse.builder()
-                        .recetteId(recetteIdLong)
-                        .averageRating(0.0)
-                        .totalFeedbacks(0L)
-                        .build();
+            AverageRatingResponse response = toAverageResponse(recetteIdLong, ratingAggregateStore.getAggregate(recetteIdLong));
+            // La réponse dépend uniquement du nombre de notes et de la moyenne arrondie
+            String eTag = response.getTotalFeedbacks() + "-" + Long.toHexString(Double.doubleToLongBits(response.getAverageRating()));
+            return Versioned.of(eTag, () -> response);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Format d'ID recette invalide: " + recetteId);
+        }
+    }
+
+    @Override
+    public RatingDistributionResponse getRatingDistributionByRecetteId(String recetteId) {
+        return getVersionedRatingDistributionByRecetteId(recetteId).getBody();
+    }
+
+    @Override
+    public Versioned<RatingDistributionResponse> getVersionedRatingDistributionByRecetteId(String recetteId) {
+        log.info("Calcul de la répartition des notes pour la recette: {}", recetteId);
+
+        try {
+            Long recetteIdLong = Long.parseLong(recetteId);
+            RatingAggregate aggregate = ratingAggregateStore.getAggregate(recetteIdLong);
+            // La réponse dépend uniquement de l'histogramme des notes
+            StringBuilder eTag = new StringBuilder("d");
+            for (int stars = RatingAggregate.MIN_STARS; stars <= RatingAggregate.MAX_STARS; stars++) {
+                eTag.append('-').append(aggregate.getCount(stars));
             }
+            return Versioned.of(eTag.toString(), () -> toDistributionResponse(recetteIdLong, aggregate));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Format d'ID recette invalide: " + recetteId);
+        }
+    }
 
-            double average = feedbacks.stream()
-                    .mapToInt(FeedbackDTO::getEvaluation)
-                    .average()
-                    .orElse(0.0);
+    @Override
+    public List<AverageRatingResponse> getAverageRatingsByRecetteIds(List<String> recetteIds) {
+        log.info("Calcul des notes moyennes de {} recettes", recetteIds == null ? 0 : recetteIds.size());
+        if (recetteIds == null || recetteIds.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un ID de recette est requis");
+        }
 
-            return AverageRatingResponse.builder()
-                    .recetteId(recetteIdLong)
-                    .averageRating(Math.round(average * 100.0) / 100.0)
-                    .totalFeedbacks((long) feedbacks.size())
-                    .build();
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        for (String recetteId : recetteIds) {
+            try {
+                distinctIds.add(Long.parseLong(recetteId.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Format d'ID recette invalide: " + recetteId);
+            }
+        }
+        if (distinctIds.size() > batchProperties.getAverageMaxSize()) {
+            throw new IllegalArgumentException(
+                    "Une demande ne peut pas dépasser " + batchProperties.getAverageMaxSize() + " recettes");
+        }
+
+        // Agrégats déjà en mémoire servis directement, les autres chargés en parallèle
+        List<Long> ids = List.copyOf(distinctIds);
+        RatingAggregate[] aggregates = new RatingAggregate[ids.size()];
+        List<Integer> missing = new ArrayList<>();
+        for (int index = 0; index < ids.size(); index++) {
+            aggregates[index] = ratingAggregateStore.getAggregateIfLoaded(ids.get(index));
+            if (aggregates[index] == null) {
+                missing.add(index);
+            }
+        }
+        runConcurrently(missing, batchProperties.getAverageConcurrency(),
+                index -> aggregates[index] = ratingAggregateStore.getAggregate(ids.get(index)));
 
+        List<AverageRatingResponse> responses = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            responses.add(toAverageResponse(ids.get(index), aggregates[index]));
+        }
+        return responses;
+    }
+
+    @Override
+    public FeedbackPageResponse getFeedbacksPage(Integer page, Integer size, String cursor) {
+        log.info("Récupération d'une page de feedbacks (page={}, size={}, cursor={})", page, size, cursor);
+        return fetchPage(FeedbackPageQuery.builder(), page, size, cursor);
+    }
+
+    @Override
+    public FeedbackPageResponse getFeedbacksPageByUtilisateurId(String utilisateurId, Integer page, Integer size, String cursor) {
+        log.info("Récupération d'une page de feedbacks de l'utilisateur: {}", utilisateurId);
+
+        try {
+            Long utilisateurIdLong = Long.parseLong(utilisateurId);
+            return fetchPage(FeedbackPageQuery.builder().utilisateurId(utilisateurIdLong), page, size, cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Format d'ID utilisateur invalide: " + utilisateurId);
+        }
+    }
+
+    @Override
+    public FeedbackPageResponse getFeedbacksPageByRecetteId(String recetteId, Integer page, Integer size, String cursor) {
+        log.info("Récupération d'une page de feedbacks de la recette: {}", recetteId);
+
+        try {
+            Long recetteIdLong = Long.parseLong(recetteId);
+            return fetchPage(FeedbackPageQuery.builder().recetteId(recetteIdLong), page, size, cursor);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Format d'ID recette invalide: " + recetteId);
         }
     }
 
+    @Override
+    public Stream<FeedbackResponse> streamFeedbacks(String utilisateurId, String recetteId, String from, String to) {
+        log.info("Export des feedbacks (utilisateur={}, recette={}, du {} au {})", utilisateurId, recetteId, from, to);
+
+        FeedbackPageQuery filter = FeedbackPageQuery.builder()
+                .utilisateurId(parseOptionalId(utilisateurId, "Format d'ID utilisateur invalide: "))
+                .recetteId(parseOptionalId(recetteId, "Format d'ID recette invalide: "))
+                .from(parseOptionalDate(from))
+                .to(parseOptionalDate(to))
+                .build();
+
+        return PagedFeedbackIterator.stream(feedbackStore, filter, paginationProperties.getExportPageSize())
+                .map(FeedbackServiceImpl::mapToResponse);
+    }
+
     @Override
     public FeedbackResponse updateFeedback(String id, FeedbackUpdateRequest request) {
         log.info("Mise à jour du feedback avec l'ID: {}", id);
@@ -148,7 +336,7 @@ public class FeedbackServiceImpl implements FeedbackService {
             Long feedbackId = Long.parseLong(id);
 
             // Récupérer le feedback existant
-            FeedbackDTO existingFeedback = persistanceClient.getFeedbackById(feedbackId);
+            FeedbackDTO existingFeedback = feedbackStore.getFeedbackById(feedbackId);
 
             // Créer le DTO mis à jour
             FeedbackDTO updatedFeedback = FeedbackDTO.builder()
@@ -161,14 +349,14 @@ public class FeedbackServiceImpl implements FeedbackService {
                     .dateModification(LocalDateTime.now())
                     .build();
 
-            FeedbackDTO saved = persistanceClient.updateFeedback(feedbackId, updatedFeedback);
+            long startedAt = System.nanoTime();
+            FeedbackDTO saved = feedbackStore.updateFeedback(feedbackId, updatedFeedback);
+            eventPublisher.publishEvent(FeedbackChangedEvent.updated(existingFeedback, updatedFeedback, startedAt));
             log.info("Feedback mis à jour avec succès - ID: {}", saved.getId());
             return mapToResponse(saved);
 
         } catch (NumberFormatException e) {
             throw new FeedbackNotFoundException("Format d'ID invalide: " + id);
-        } catch (RuntimeException e) {
-            throw new FeedbackNotFoundException("Feedback non trouvé avec l'ID: " + id);
         }
     }
 
@@ -178,21 +366,258 @@ public class FeedbackServiceImpl implements FeedbackService {
 
         try {
             Long feedbackId = Long.parseLong(id);
-            persistanceClient.deleteFeedback(feedbackId);
+
+            // Récupérer le feedback existant pour connaître la recette et la note retirées
+            FeedbackDTO existingFeedback = feedbackStore.getFeedbackById(feedbackId);
+
+            long startedAt = System.nanoTime();
+            feedbackStore.deleteFeedback(feedbackId);
+            eventPublisher.publishEvent(FeedbackChangedEvent.deleted(existingFeedback, startedAt));
             log.info("Feedback supprimé avec succès - ID: {}", feedbackId);
 
         } catch (NumberFormatException e) {
             throw new FeedbackNotFoundException("Format d'ID invalide: " + id);
+        }
+    }
+
+    // ========================================
+    // MÉTHODES PRIVÉES - CRÉATION
+    // ========================================
+
+    /**
+     * Créer le feedback dans le stockage et notifier les caches et agrégats
+     */
+    private FeedbackDTO insert(FeedbackCreateRequest request) {
+        FeedbackDTO feedbackDTO = FeedbackDTO.builder()
+                .utilisateurId(request.getUtilisateurId())
+                .recetteId(request.getRecetteId())
+                .evaluation(request.getEvaluation())
+                .commentaire(request.getCommentaire())
+                .dateFeedback(LocalDateTime.now())
+                .dateModification(LocalDateTime.now())
+                .build();
+
+        long startedAt = System.nanoTime();
+        FeedbackDTO savedFeedback = feedbackStore.createFeedback(feedbackDTO);
+        eventPublisher.publishEvent(FeedbackChangedEvent.created(savedFeedback, startedAt));
+        log.info("Feedback créé avec succès - ID: {}", savedFeedback.getId());
+        return savedFeedback;
+    }
+
+    private FeedbackBatchItemResult insertItem(int index, FeedbackCreateRequest request) {
+        try {
+            return FeedbackBatchItemResult.created(index, mapToResponse(insert(request)));
+        } catch (DuplicateFeedbackException e) {
+            return FeedbackBatchItemResult.failed(index, HttpStatus.CONFLICT, DUPLICATE_FEEDBACK_MESSAGE);
+        } catch (RuntimeException e) {
+            log.error("Échec de la création du feedback {} du lot: {}", index, e.getMessage());
+            return unavailable(index, e);
+        }
+    }
+
+    /**
+     * Prévoir la vérification d'un identifiant pas encore vu dans le lot ; son résultat, ou son erreur,
+     * est rendu par le futur associé à l'identifiant
+     */
+    private static void addCheck(List<Runnable> checks, Map<Long, CompletableFuture<Boolean>> results,
+                                 Long id, Function<Long, Boolean> exists) {
+        results.computeIfAbsent(id, key -> {
+            CompletableFuture<Boolean> result = new CompletableFuture<>();
+            checks.add(() -> {
+                try {
+                    result.complete(exists.apply(key));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            return result;
+        });
+    }
+
+    /**
+     * Résultat 400 si un feedback du lot enfreint ses contraintes (champs obligatoires, note, commentaire),
+     * ou null s'il est bien formé
+     */
+    private FeedbackBatchItemResult checkConstraints(int index, FeedbackCreateRequest request) {
+        if (request == null) {
+            return FeedbackBatchItemResult.failed(index, HttpStatus.BAD_REQUEST, "Le feedback est obligatoire");
+        }
+        Set<ConstraintViolation<FeedbackCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        String error = violations.stream()
+                .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return FeedbackBatchItemResult.failed(index, HttpStatus.BAD_REQUEST, error);
+    }
+
+    /**
+     * Résultat d'échec de la validation d'un feedback du lot, ou null s'il peut être créé
+     */
+    private FeedbackBatchItemResult validate(int index, FeedbackCreateRequest request,
+                                             Map<Long, CompletableFuture<Boolean>> utilisateurs,
+                                             Map<Long, CompletableFuture<Boolean>> recettes) {
+        try {
+            if (!ConcurrentTasks.await(utilisateurs.get(request.getUtilisateurId()))) {
+                return FeedbackBatchItemResult.failed(index, HttpStatus.BAD_REQUEST,
+                        "Utilisateur non trouvé avec l'ID: " + request.getUtilisateurId());
+            }
+            if (!ConcurrentTasks.await(recettes.get(request.getRecetteId()))) {
+                return FeedbackBatchItemResult.failed(index, HttpStatus.BAD_REQUEST,
+                        "Recette non trouvée avec l'ID: " + request.getRecetteId());
+            }
+            return null;
         } catch (RuntimeException e) {
-            throw new FeedbackNotFoundException("Feedback non trouvé avec l'ID: " + id);
+            return unavailable(index, e);
+        }
+    }
+
+    private static FeedbackBatchItemResult unavailable(int index, RuntimeException e) {
+        return PersistanceResilience.isBulkheadFull(e)
+                ? FeedbackBatchItemResult.rejected(index, e.getMessage())
+                : FeedbackBatchItemResult.failed(index, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    /**
+     * Exécuter une tâche par index sur le pool Persistance, avec au plus {@code concurrency} tâches en cours
+     */
+    private void runConcurrently(List<Integer> indexes, int concurrency, IntConsumer task) {
+        ConcurrentTasks.runConcurrently(indexes, concurrency, persistanceExecutor, task);
+    }
+
+    /**
+     * Colonnes remplies à la lecture du contenu : rien n'est construit pour un 304
+     */
+    private Versioned<FeedbackColumns> toVersionedResponses(FeedbackSnapshot snapshot) {
+        return Versioned.of(snapshot.eTag(), () -> FeedbackColumns.of(snapshot.feedbacks()));
+    }
+
+    static AverageRatingResponse toAverageResponse(Long recetteId, RatingAggregate aggregate) {
+        return AverageRatingResponse.builder()
+                .recetteId(recetteId)
+                .averageRating(round2(aggregate.getAverage()))
+                .totalFeedbacks(aggregate.getCount())
+                .build();
+    }
+
+    private RatingDistributionResponse toDistributionResponse(Long recetteId, RatingAggregate aggregate) {
+        long total = aggregate.getCount();
+        List<RatingDistributionResponse.StarCount> distribution = new ArrayList<>(RatingAggregate.MAX_STARS);
+        for (int stars = RatingAggregate.MAX_STARS; stars >= RatingAggregate.MIN_STARS; stars--) {
+            long count = aggregate.getCount(stars);
+            double percentage = total == 0 ? 0.0 : round2(count * 100.0 / total);
+            distribution.add(new RatingDistributionResponse.StarCount(stars, count, percentage));
+        }
+        return RatingDistributionResponse.builder()
+                .recetteId(recetteId)
+                .totalFeedbacks(total)
+                .averageRating(round2(aggregate.getAverage()))
+                .bayesianAverageRating(round2(ratingAggregateStore.getBayesianAverage(aggregate)))
+                .variance(round2(aggregate.getVariance()))
+                .distribution(distribution)
+                .build();
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    // ========================================
+    // MÉTHODES PRIVÉES - PAGINATION
+    // ========================================
+
+    /**
+     * Demande une ligne de plus que la taille de page pour savoir s'il existe une page suivante,
+     * sans requête de comptage côté Persistance
+     */
+    private FeedbackPageResponse fetchPage(FeedbackPageQuery.FeedbackPageQueryBuilder query,
+                                           Integer page, Integer size, String cursor) {
+        int pageSize = resolvePageSize(size);
+
+        Integer pageNumber = null;
+        List<FeedbackDTO> rows;
+        boolean hasNext;
+        if (cursor != null && !cursor.isBlank()) {
+            // Par clé : une ligne de plus indique s'il reste une page
+            FeedbackCursor after = FeedbackCursor.decode(cursor);
+            rows = feedbackStore.getFeedbacksPage(query.afterDate(after.dateFeedback()).afterId(after.id())
+                    .limit(pageSize + 1).build());
+            hasNext = rows.size() > pageSize;
+            rows = hasNext ? rows.subList(0, pageSize) : rows;
+        } else {
+            pageNumber = page != null ? page : 0;
+            if (pageNumber < 0) {
+                throw new IllegalArgumentException("Le numéro de page doit être positif: " + pageNumber);
+            }
+            // Par numéro : Persistance place la page à page × size, la taille demandée est donc exactement pageSize ;
+            // une page pleine est suivie d'une lecture d'une ligne après sa dernière clé
+            FeedbackPageQuery pageQuery = query.page(pageNumber).limit(pageSize).build();
+            rows = feedbackStore.getFeedbacksPage(pageQuery);
+            hasNext = rows.size() == pageSize && hasRowAfter(pageQuery, rows.get(pageSize - 1));
+        }
+
+        return FeedbackPageResponse.builder()
+                .content(rows.stream().map(FeedbackServiceImpl::mapToResponse).collect(Collectors.toList()))
+                .page(pageNumber)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? FeedbackCursor.of(rows.get(pageSize - 1)).encode() : null)
+                .build();
+    }
+
+    private boolean hasRowAfter(FeedbackPageQuery pageQuery, FeedbackDTO last) {
+        FeedbackPageQuery probe = FeedbackPageQuery.builder()
+                .utilisateurId(pageQuery.getUtilisateurId())
+                .recetteId(pageQuery.getRecetteId())
+                .from(pageQuery.getFrom())
+                .to(pageQuery.getTo())
+                .afterDate(last.getDateFeedback())
+                .afterId(last.getId())
+                .limit(1)
+                .build();
+        return !feedbackStore.getFeedbacksPage(probe).isEmpty();
+    }
+
+    private Long parseOptionalId(String value, String errorMessage) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(errorMessage + value);
+        }
+    }
+
+    private LocalDateTime parseOptionalDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Format de date invalide (attendu: 2025-11-05T14:30:00): " + value);
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return paginationProperties.getDefaultSize();
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("La taille de page doit être supérieure à 0: " + size);
         }
+        return Math.min(size, paginationProperties.getMaxSize());
     }
 
     // ========================================
     // MÉTHODES PRIVÉES - MAPPING
     // ========================================
 
-    private FeedbackResponse mapToResponse(FeedbackDTO dto) {
+    /** Visibilité paquet pour le service réactif et les benchmarks JMH (src/jmh) */
+    static FeedbackResponse mapToResponse(FeedbackDTO dto) {
         return FeedbackResponse.builder()
                 .id(dto.getId())
                 .utilisateurId(dto.getUtilisateurId())
@@ -0,0 +1,76 @@
+package com.springbootTemplate.univ.soa.service;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.FeedbackPageQuery;
+import com.springbootTemplate.univ.soa.store.FeedbackStore;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parcours paresseux de tous les feedbacks correspondant à une requête, page par page
+ * (pagination par clé), sans jamais garder plus d'une page en mémoire.
+ */
+public class PagedFeedbackIterator implements Iterator<FeedbackDTO> {
+
+    private final FeedbackStore feedbackStore;
+    private final FeedbackPageQuery filter;
+    private final int pageSize;
+
+    private Iterator<FeedbackDTO> current = Collections.emptyIterator();
+    private FeedbackDTO last;
+    private boolean exhausted;
+
+    public PagedFeedbackIterator(FeedbackStore feedbackStore, FeedbackPageQuery filter, int pageSize) {
+        this.feedbackStore = feedbackStore;
+        this.filter = filter;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Flux séquentiel des feedbacks ; chaque page n'est demandée qu'une fois la précédente consommée
+     */
+    public static Stream<FeedbackDTO> stream(FeedbackStore feedbackStore, FeedbackPageQuery filter, int pageSize) {
+        Iterator<FeedbackDTO> iterator = new PagedFeedbackIterator(feedbackStore, filter, pageSize);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!current.hasNext() && !exhausted) {
+            fetchNextPage();
+        }
+        return current.hasNext();
+    }
+
+    @Override
+    public FeedbackDTO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        last = current.next();
+        return last;
+    }
+
+    private void fetchNextPage() {
+        FeedbackPageQuery query = FeedbackPageQuery.builder()
+                .utilisateurId(filter.getUtilisateurId())
+                .recetteId(filter.getRecetteId())
+                .from(filter.getFrom())
+                .to(filter.getTo())
+                .limit(pageSize)
+                .afterDate(last != null ? last.getDateFeedback() : null)
+                .afterId(last != null ? last.getId() : null)
+                .build();
+        List<FeedbackDTO> page = feedbackStore.getFeedbacksPage(query);
+        exhausted = page.size() < pageSize;
+        current = page.iterator();
+    }
+}
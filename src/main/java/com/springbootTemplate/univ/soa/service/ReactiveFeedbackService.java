@@ -0,0 +1,33 @@
+package com.springbootTemplate.univ.soa.service;
+
+import com.springbootTemplate.univ.soa.dto.AverageRatingResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Lectures non bloquantes des feedbacks, servies par {@link com.springbootTemplate.univ.soa.client.ReactivePersistanceClient}
+ */
+public interface ReactiveFeedbackService {
+
+    Flux<FeedbackResponse> getAllFeedbacks();
+
+    Mono<FeedbackResponse> getFeedbackById(String id);
+
+    Flux<FeedbackResponse> getFeedbacksByUtilisateurId(String utilisateurId);
+
+    Flux<FeedbackResponse> getFeedbacksByRecetteId(String recetteId);
+
+    /**
+     * Note moyenne de la recette : agrégat en mémoire s'il est chargé, sinon calculée au fil des feedbacks reçus
+     */
+    Mono<AverageRatingResponse> getAverageRatingByRecetteId(String recetteId);
+
+    /**
+     * Notes moyennes de plusieurs recettes, dans l'ordre des identifiants reçus (doublons ignorés),
+     * toutes les recettes absentes de la mémoire interrogées simultanément
+     */
+    Flux<AverageRatingResponse> getAverageRatingsByRecetteIds(List<String> recetteIds);
+}
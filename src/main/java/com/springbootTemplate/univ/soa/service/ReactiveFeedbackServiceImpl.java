@@ -0,0 +1,115 @@
+package com.springbootTemplate.univ.soa.service;
+
+import com.springbootTemplate.univ.soa.client.ReactivePersistanceClient;
+import com.springbootTemplate.univ.soa.config.BatchProperties;
+import com.springbootTemplate.univ.soa.dto.AverageRatingResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackResponse;
+import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import com.springbootTemplate.univ.soa.rating.RatingAggregate;
+import com.springbootTemplate.univ.soa.rating.RatingAggregateStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Service
+@ConditionalOnProperty(prefix = "feedback.store", name = "mode", havingValue = "remote", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveFeedbackServiceImpl implements ReactiveFeedbackService {
+
+    private final ReactivePersistanceClient persistanceClient;
+    private final RatingAggregateStore ratingAggregateStore;
+    private final BatchProperties batchProperties;
+
+    @Override
+    public Flux<FeedbackResponse> getAllFeedbacks() {
+        log.info("Récupération de tous les feedbacks (non bloquant)");
+        return persistanceClient.getAllFeedbacks().map(FeedbackServiceImpl::mapToResponse);
+    }
+
+    @Override
+    public Mono<FeedbackResponse> getFeedbackById(String id) {
+        log.info("Récupération du feedback avec l'ID: {} (non bloquant)", id);
+        return parseId(id, () -> new FeedbackNotFoundException("Format d'ID invalide: " + id))
+                .flatMap(persistanceClient::getFeedbackById)
+                .map(FeedbackServiceImpl::mapToResponse)
+                .switchIfEmpty(Mono.error(() -> new FeedbackNotFoundException("Feedback non trouvé avec l'ID: " + id)));
+    }
+
+    @Override
+    public Flux<FeedbackResponse> getFeedbacksByUtilisateurId(String utilisateurId) {
+        log.info("Récupération des feedbacks de l'utilisateur: {} (non bloquant)", utilisateurId);
+        return parseId(utilisateurId, () -> new IllegalArgumentException("Format d'ID utilisateur invalide: " + utilisateurId))
+                .flatMapMany(persistanceClient::getFeedbacksByUtilisateurId)
+                .map(FeedbackServiceImpl::mapToResponse);
+    }
+
+    @Override
+    public Flux<FeedbackResponse> getFeedbacksByRecetteId(String recetteId) {
+        log.info("Récupération des feedbacks de la recette: {} (non bloquant)", recetteId);
+        return parseId(recetteId, () -> new IllegalArgumentException("Format d'ID recette invalide: " + recetteId))
+                .flatMapMany(persistanceClient::getFeedbacksByRecetteId)
+                .map(FeedbackServiceImpl::mapToResponse);
+    }
+
+    @Override
+    public Mono<AverageRatingResponse> getAverageRatingByRecetteId(String recetteId) {
+        log.info("Calcul de la note moyenne pour la recette: {} (non bloquant)", recetteId);
+        return parseId(recetteId, () -> new IllegalArgumentException("Format d'ID recette invalide: " + recetteId))
+                .flatMap(this::averageRating);
+    }
+
+    @Override
+    public Flux<AverageRatingResponse> getAverageRatingsByRecetteIds(List<String> recetteIds) {
+        log.info("Calcul des notes moyennes de {} recettes (non bloquant)", recetteIds == null ? 0 : recetteIds.size());
+        if (recetteIds == null || recetteIds.isEmpty()) {
+            return Flux.error(new IllegalArgumentException("Au moins un ID de recette est requis"));
+        }
+
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        for (String recetteId : recetteIds) {
+            try {
+                distinctIds.add(Long.parseLong(recetteId.trim()));
+            } catch (NumberFormatException e) {
+                return Flux.error(new IllegalArgumentException("Format d'ID recette invalide: " + recetteId));
+            }
+        }
+        if (distinctIds.size() > batchProperties.getAverageMaxSize()) {
+            return Flux.error(new IllegalArgumentException(
+                    "Une demande ne peut pas dépasser " + batchProperties.getAverageMaxSize() + " recettes"));
+        }
+
+        // Pas de limite de parallélisme ici : les appels en vol n'occupent pas de thread, la cloison borne le total
+        return Flux.fromIterable(distinctIds).flatMapSequential(this::averageRating, distinctIds.size());
+    }
+
+    /**
+     * Agrégat en mémoire s'il est chargé, sinon nombre et somme des notes accumulés au fil de la réponse,
+     * sans garder la liste
+     */
+    private Mono<AverageRatingResponse> averageRating(Long recetteId) {
+        RatingAggregate loaded = ratingAggregateStore.getAggregateIfLoaded(recetteId);
+        Mono<RatingAggregate> aggregate = loaded != null
+                ? Mono.just(loaded)
+                : persistanceClient.getFeedbacksByRecetteId(recetteId)
+                        .reduce(RatingAggregate.empty(System.nanoTime()),
+                                (accumulated, feedback) -> accumulated.withDelta(feedback.getEvaluation(), 1));
+        return aggregate.map(result -> FeedbackServiceImpl.toAverageResponse(recetteId, result));
+    }
+
+    private static Mono<Long> parseId(String value, Supplier<? extends RuntimeException> error) {
+        try {
+            return Mono.just(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return Mono.error(error);
+        }
+    }
+}
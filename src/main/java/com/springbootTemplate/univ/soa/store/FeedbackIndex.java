@@ -0,0 +1,293 @@
+package com.springbootTemplate.univ.soa.store;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Index secondaire compact des feedbacks par utilisateur et par recette, sans objet par ligne.
+ * <p>
+ * Chaque feedback occupe un emplacement dans des colonnes primitives (id, utilisateur, recette, note, date) ;
+ * chaque utilisateur et chaque recette a sa liste d'emplacements ({@code int[]}), triée par
+ * (dateFeedback, id) et tenue à jour à l'insertion, ainsi que son nombre de feedbacks et sa somme de notes.
+ * Environ 70 octets par feedback, contre 220 à 270 pour des {@code Map<Long, List<FeedbackDTO>>}
+ * sans commentaire (mesuré par {@code FeedbackIndexBenchmark}).
+ * <p>
+ * Les emplacements libérés sont réutilisés ; un utilisateur ou une recette sans plus aucun feedback garde
+ * une entrée vide. Non synchronisé : l'appelant sérialise les écritures.
+ */
+public final class FeedbackIndex {
+
+    /** Identifiant renvoyé quand aucun feedback ne correspond */
+    public static final long NONE = -1;
+
+    /** Clé ou date absente ; trie les feedbacks sans date en plus ancien */
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    private long[] ids;
+    private long[] utilisateurIds;
+    private long[] recetteIds;
+    private long[] dates;
+    private byte[] evaluations;
+    /** Emplacements déjà utilisés au moins une fois */
+    private int used;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private final LongIntMap slotsById;
+    private final Postings byUtilisateur = new Postings();
+    private final Postings byRecette = new Postings();
+
+    public FeedbackIndex() {
+        this(1024);
+    }
+
+    public FeedbackIndex(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        ids = new long[capacity];
+        utilisateurIds = new long[capacity];
+        recetteIds = new long[capacity];
+        dates = new long[capacity];
+        evaluations = new byte[capacity];
+        slotsById = new LongIntMap(capacity);
+    }
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    public boolean contains(long id) {
+        return slotsById.get(id) != LongIntMap.MISSING;
+    }
+
+    /**
+     * Ajouter un feedback, ou remplacer celui de même id
+     */
+    public void put(FeedbackDTO feedback) {
+        long id = feedback.getId();
+        int slot = slotsById.get(id);
+        if (slot == LongIntMap.MISSING) {
+            slot = allocate();
+            slotsById.put(id, slot);
+        } else {
+            unlink(slot);
+        }
+        ids[slot] = id;
+        utilisateurIds[slot] = feedback.getUtilisateurId() == null ? ABSENT : feedback.getUtilisateurId();
+        recetteIds[slot] = feedback.getRecetteId() == null ? ABSENT : feedback.getRecetteId();
+        dates[slot] = epochNanos(feedback.getDateFeedback());
+        evaluations[slot] = feedback.getEvaluation() == null ? 0 : feedback.getEvaluation().byteValue();
+        link(slot);
+    }
+
+    /**
+     * @return false si aucun feedback ne porte cet id
+     */
+    public boolean remove(long id) {
+        int slot = slotsById.remove(id);
+        if (slot == LongIntMap.MISSING) {
+            return false;
+        }
+        unlink(slot);
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount << 1);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    /**
+     * Id du feedback de l'utilisateur pour la recette, ou {@link #NONE}
+     */
+    public long findByPair(long utilisateurId, long recetteId) {
+        // Parcourir la plus courte des deux listes
+        boolean fromUtilisateur = byUtilisateur.count(utilisateurId) <= byRecette.count(recetteId);
+        Postings postings = fromUtilisateur ? byUtilisateur : byRecette;
+        long[] other = fromUtilisateur ? recetteIds : utilisateurIds;
+        long wanted = fromUtilisateur ? recetteId : utilisateurId;
+        int entry = postings.entries.get(fromUtilisateur ? utilisateurId : recetteId);
+        if (entry == LongIntMap.MISSING) {
+            return NONE;
+        }
+        int[] slots = postings.slots[entry];
+        for (int i = 0, n = postings.sizes[entry]; i < n; i++) {
+            if (other[slots[i]] == wanted) {
+                return ids[slots[i]];
+            }
+        }
+        return NONE;
+    }
+
+    public int countByUtilisateur(long utilisateurId) {
+        return byUtilisateur.count(utilisateurId);
+    }
+
+    public int countByRecette(long recetteId) {
+        return byRecette.count(recetteId);
+    }
+
+    /**
+     * Somme des notes (note absente comptée 0)
+     */
+    public long ratingSumByUtilisateur(long utilisateurId) {
+        return byUtilisateur.ratingSum(utilisateurId);
+    }
+
+    public long ratingSumByRecette(long recetteId) {
+        return byRecette.ratingSum(recetteId);
+    }
+
+    /**
+     * Ids des feedbacks de l'utilisateur, du plus récent au plus ancien
+     */
+    public long[] idsByUtilisateur(long utilisateurId) {
+        return byUtilisateur.newestFirst(utilisateurId);
+    }
+
+    public long[] idsByRecette(long recetteId) {
+        return byRecette.newestFirst(recetteId);
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (used == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            utilisateurIds = Arrays.copyOf(utilisateurIds, capacity);
+            recetteIds = Arrays.copyOf(recetteIds, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+            evaluations = Arrays.copyOf(evaluations, capacity);
+        }
+        return used++;
+    }
+
+    private void link(int slot) {
+        if (utilisateurIds[slot] != ABSENT) {
+            byUtilisateur.add(utilisateurIds[slot], slot);
+        }
+        if (recetteIds[slot] != ABSENT) {
+            byRecette.add(recetteIds[slot], slot);
+        }
+    }
+
+    private void unlink(int slot) {
+        if (utilisateurIds[slot] != ABSENT) {
+            byUtilisateur.remove(utilisateurIds[slot], slot);
+        }
+        if (recetteIds[slot] != ABSENT) {
+            byRecette.remove(recetteIds[slot], slot);
+        }
+    }
+
+    /**
+     * Ordre (dateFeedback, id) croissant des emplacements
+     */
+    private int compare(int left, int right) {
+        int byDate = Long.compare(dates[left], dates[right]);
+        return byDate != 0 ? byDate : Long.compare(ids[left], ids[right]);
+    }
+
+    private static long epochNanos(LocalDateTime date) {
+        return date == null ? ABSENT : date.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + date.getNano();
+    }
+
+    /**
+     * Listes d'emplacements par clé (utilisateur ou recette), avec nombre et somme des notes
+     */
+    private final class Postings {
+
+        private final LongIntMap entries = new LongIntMap(64);
+        private int[][] slots = new int[64][];
+        private int[] sizes = new int[64];
+        private long[] sums = new long[64];
+
+        int count(long key) {
+            int entry = entries.get(key);
+            return entry == LongIntMap.MISSING ? 0 : sizes[entry];
+        }
+
+        long ratingSum(long key) {
+            int entry = entries.get(key);
+            return entry == LongIntMap.MISSING ? 0 : sums[entry];
+        }
+
+        long[] newestFirst(long key) {
+            int entry = entries.get(key);
+            if (entry == LongIntMap.MISSING) {
+                return new long[0];
+            }
+            int size = sizes[entry];
+            int[] list = slots[entry];
+            long[] result = new long[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = ids[list[size - 1 - i]];
+            }
+            return result;
+        }
+
+        /**
+         * Insertion à sa place dans l'ordre (dateFeedback, id) : en fin de liste pour un nouveau feedback
+         */
+        void add(long key, int slot) {
+            int entry = entries.get(key);
+            if (entry == LongIntMap.MISSING) {
+                entry = entries.size();
+                if (entry == sizes.length) {
+                    int capacity = sizes.length << 1;
+                    slots = Arrays.copyOf(slots, capacity);
+                    sizes = Arrays.copyOf(sizes, capacity);
+                    sums = Arrays.copyOf(sums, capacity);
+                }
+                entries.put(key, entry);
+                slots[entry] = new int[2];
+            }
+            int[] list = slots[entry];
+            int size = sizes[entry];
+            if (size == list.length) {
+                list = slots[entry] = Arrays.copyOf(list, size + Math.max(2, size >> 1));
+            }
+            int position = search(list, size, slot);
+            System.arraycopy(list, position, list, position + 1, size - position);
+            list[position] = slot;
+            sizes[entry] = size + 1;
+            sums[entry] += evaluations[slot];
+        }
+
+        void remove(long key, int slot) {
+            int entry = entries.get(key);
+            if (entry == LongIntMap.MISSING) {
+                return;
+            }
+            int[] list = slots[entry];
+            int size = sizes[entry];
+            int position = search(list, size, slot);
+            if (position == size || list[position] != slot) {
+                return;
+            }
+            System.arraycopy(list, position + 1, list, position, size - position - 1);
+            sizes[entry] = size - 1;
+            sums[entry] -= evaluations[slot];
+        }
+
+        /**
+         * Première position dont l'emplacement n'est pas avant {@code slot}
+         */
+        private int search(int[] list, int size, int slot) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(list[middle], slot) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.springbootTemplate.univ.soa.store;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Encodage binaire des feedbacks dans le journal et l'instantané du magasin local.
+ * Les champs absents sont marqués par un octet de présence ; les dates sont gardées à la nanoseconde.
+ */
+final class FeedbackRecords {
+
+    private FeedbackRecords() {
+    }
+
+    static void write(DataOutput out, FeedbackDTO feedback) throws IOException {
+        out.writeLong(feedback.getId());
+        writeLong(out, feedback.getUtilisateurId());
+        writeLong(out, feedback.getRecetteId());
+        out.writeBoolean(feedback.getEvaluation() != null);
+        if (feedback.getEvaluation() != null) {
+            out.writeInt(feedback.getEvaluation());
+        }
+        writeString(out, feedback.getCommentaire());
+        writeDate(out, feedback.getDateFeedback());
+        writeDate(out, feedback.getDateModification());
+    }
+
+    static FeedbackDTO read(DataInput in) throws IOException {
+        return FeedbackDTO.builder()
+                .id(in.readLong())
+                .utilisateurId(readLong(in))
+                .recetteId(readLong(in))
+                .evaluation(in.readBoolean() ? in.readInt() : null)
+                .commentaire(readString(in))
+                .dateFeedback(readDate(in))
+                .dateModification(readDate(in))
+                .build();
+    }
+
+    private static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    /**
+     * Longueur UTF-8 puis octets (writeUTF est limité à 64 Ko)
+     */
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutput out, LocalDateTime date) throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            out.writeLong(date.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(date.getNano());
+        }
+    }
+
+    private static LocalDateTime readDate(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.springbootTemplate.univ.soa.store;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.FeedbackPageQuery;
+
+import java.util.List;
+
+/**
+ * Stockage des feedbacks sous le service : le microservice Persistance par défaut
+ * ({@link com.springbootTemplate.univ.soa.client.PersistanceClient}), ou le magasin embarqué
+ * {@link LocalFeedbackStore} avec {@code feedback.store.mode=local}.
+ * <p>
+ * Contrat commun : un feedback par couple utilisateur / recette
+ * ({@link com.springbootTemplate.univ.soa.exception.DuplicateFeedbackException} sinon), un identifiant
+ * inconnu lève une {@link com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException} ; toute autre
+ * erreur est une indisponibilité du stockage. Les pages suivent l'ordre décrit par {@link FeedbackPageQuery}.
+ * Les objets renvoyés ne doivent pas être modifiés par l'appelant.
+ */
+public interface FeedbackStore {
+
+    FeedbackDTO createFeedback(FeedbackDTO feedbackDTO);
+
+    List<FeedbackDTO> getAllFeedbacks();
+
+    List<FeedbackDTO> getFeedbacksPage(FeedbackPageQuery query);
+
+    FeedbackDTO getFeedbackById(Long id);
+
+    List<FeedbackDTO> getFeedbacksByUtilisateurId(Long utilisateurId);
+
+    List<FeedbackDTO> getFeedbacksByRecetteId(Long recetteId);
+
+    FeedbackDTO updateFeedback(Long id, FeedbackDTO feedbackDTO);
+
+    void deleteFeedback(Long id);
+}
@@ -0,0 +1,635 @@
+package com.springbootTemplate.univ.soa.store;
+
+import com.springbootTemplate.univ.soa.config.FeedbackStoreProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.FeedbackPageQuery;
+import com.springbootTemplate.univ.soa.exception.DuplicateFeedbackException;
+import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Magasin de feedbacks embarqué, activé par {@code feedback.store.mode=local} : les lectures et écritures
+ * ne font plus l'aller-retour vers Persistance, seules les vérifications d'existence (utilisateur, recette)
+ * y restent.
+ * <p>
+ * Toutes les données sont en mémoire, indexées par identifiant et par date ; les index par utilisateur
+ * et par recette sont les listes primitives de {@link FeedbackIndex}, lues du plus récent au plus ancien
+ * comme les pages de Persistance. La durabilité
+ * repose sur un journal en ajout seul : chaque écriture y est ajoutée (et forcée sur disque si
+ * {@code fsync}) avant d'être appliquée en mémoire et acquittée. Toutes les {@code snapshotEvery}
+ * écritures, un instantané complet est écrit à côté puis renommé atomiquement, et le journal est vidé.
+ * <p>
+ * Au démarrage, l'instantané est rechargé puis le journal rejoué ; chaque enregistrement porte un numéro
+ * de séquence et une somme CRC32, si bien qu'un enregistrement déjà couvert par l'instantané est ignoré
+ * et qu'une fin de journal tronquée par un arrêt brutal est écartée.
+ * <p>
+ * Une seule instance par répertoire (verrou de fichier) : ce mode convient à une instance unique
+ * ou à des essais de performance, pas à plusieurs réplicas partageant les mêmes données.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "feedback.store", name = "mode", havingValue = "local")
+@Slf4j
+public class LocalFeedbackStore implements FeedbackStore {
+
+    static final String LOG_FILE = "feedbacks.log";
+    static final String SNAPSHOT_FILE = "feedbacks.snapshot";
+    private static final String LOCK_FILE = "store.lock";
+
+    private static final int SNAPSHOT_MAGIC = 0x46424b53;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    /** Longueur puis CRC32 du corps de chaque enregistrement du journal */
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Ordre des pages de Persistance : dateFeedback puis id décroissants (feedbacks sans date en dernier)
+     */
+    static final Comparator<FeedbackDTO> NEWEST_FIRST = Comparator
+            .comparing(FeedbackDTO::getDateFeedback, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(FeedbackDTO::getId)
+            .reversed();
+
+    private final FeedbackStoreProperties properties;
+    private final Path directory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, FeedbackDTO> byId = new HashMap<>();
+    private final NavigableSet<FeedbackDTO> byDate = new TreeSet<>(NEWEST_FIRST);
+    /** Index par utilisateur et par recette, unicité du couple */
+    private final FeedbackIndex index = new FeedbackIndex();
+
+    private final FileChannel lockChannel;
+    private final FileLock fileLock;
+    private FileChannel logChannel;
+    private long nextId = 1;
+    private long lastSequence;
+    private int appendedSinceSnapshot;
+    private boolean closed;
+
+    public LocalFeedbackStore(FeedbackStoreProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.directory = Path.of(properties.getDirectory());
+        try {
+            Files.createDirectories(directory);
+            this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.fileLock = lockChannel.tryLock();
+            if (fileLock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("Magasin local déjà ouvert par un autre processus: " + directory);
+            }
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ouverture du magasin local impossible: " + directory, e);
+        }
+
+        Gauge.builder("feedback.store.local.feedbacks", this, LocalFeedbackStore::size)
+                .description("Feedbacks présents dans le magasin local")
+                .register(meterRegistry);
+        Gauge.builder("feedback.store.local.log.records", this, store -> store.appendedSinceSnapshot)
+                .description("Écritures journalisées depuis le dernier instantané")
+                .register(meterRegistry);
+    }
+
+    // ========================================
+    // LECTURES
+    // ========================================
+
+    @Override
+    public List<FeedbackDTO> getAllFeedbacks() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(byDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<FeedbackDTO> getFeedbacksPage(FeedbackPageQuery query) {
+        if (query.getLimit() <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Point de départ : la clé de pagination ou la borne haute, la plus restrictive des deux
+            boolean keyset = query.getAfterDate() != null;
+            FeedbackDTO start = null;
+            boolean inclusive = true;
+            if (keyset) {
+                start = probe(query.getAfterDate(), query.getAfterId() != null ? query.getAfterId() : Long.MAX_VALUE);
+                inclusive = false;
+            }
+            if (query.getTo() != null) {
+                FeedbackDTO upper = probe(query.getTo(), Long.MAX_VALUE);
+                if (start == null || NEWEST_FIRST.compare(upper, start) > 0) {
+                    start = upper;
+                    inclusive = true;
+                }
+            }
+
+            // Par recette ou par utilisateur : liste de l'index, déjà du plus récent au plus ancien
+            boolean filtered = query.getRecetteId() != null || query.getUtilisateurId() != null;
+            List<FeedbackDTO> rows = null;
+            if (filtered) {
+                rows = rows(query.getRecetteId() != null
+                        ? index.idsByRecette(query.getRecetteId())
+                        : index.idsByUtilisateur(query.getUtilisateurId()));
+            }
+
+            long skip = !keyset && query.getPage() != null ? (long) query.getPage() * query.getLimit() : 0;
+            boolean bounded = query.getFrom() != null || query.getTo() != null;
+            List<FeedbackDTO> page = new ArrayList<>(Math.min(query.getLimit(), filtered ? rows.size() : byDate.size()));
+            for (FeedbackDTO feedback : filtered ? rows : start == null ? byDate : byDate.tailSet(start, inclusive)) {
+                if (filtered && start != null) {
+                    int position = NEWEST_FIRST.compare(feedback, start);
+                    if (position < 0 || position == 0 && !inclusive) {
+                        continue;
+                    }
+                }
+                LocalDateTime date = feedback.getDateFeedback();
+                if (bounded && date == null
+                        || query.getFrom() != null && date.isBefore(query.getFrom())) {
+                    break;
+                }
+                if (query.getUtilisateurId() != null && !query.getUtilisateurId().equals(feedback.getUtilisateurId())) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                page.add(feedback);
+                if (page.size() == query.getLimit()) {
+                    break;
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public FeedbackDTO getFeedbackById(Long id) {
+        lock.readLock().lock();
+        try {
+            return require(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<FeedbackDTO> getFeedbacksByUtilisateurId(Long utilisateurId) {
+        lock.readLock().lock();
+        try {
+            return rows(index.idsByUtilisateur(utilisateurId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<FeedbackDTO> getFeedbacksByRecetteId(Long recetteId) {
+        lock.readLock().lock();
+        try {
+            return rows(index.idsByRecette(recetteId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========================================
+    // ÉCRITURES
+    // ========================================
+
+    @Override
+    public FeedbackDTO createFeedback(FeedbackDTO feedbackDTO) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (findByPair(feedbackDTO.getUtilisateurId(), feedbackDTO.getRecetteId()) != null) {
+                throw new DuplicateFeedbackException("Feedback déjà existant pour l'utilisateur "
+                        + feedbackDTO.getUtilisateurId() + " et la recette " + feedbackDTO.getRecetteId());
+            }
+            FeedbackDTO created = copy(feedbackDTO, nextId);
+            append(PUT, created, null);
+            nextId++;
+            index(created);
+            log.debug("Feedback créé dans le magasin local - ID: {}", created.getId());
+            return created;
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public FeedbackDTO updateFeedback(Long id, FeedbackDTO feedbackDTO) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            FeedbackDTO existing = require(id);
+            FeedbackDTO other = findByPair(feedbackDTO.getUtilisateurId(), feedbackDTO.getRecetteId());
+            if (other != null && !other.getId().equals(id)) {
+                throw new DuplicateFeedbackException("Feedback déjà existant pour l'utilisateur "
+                        + feedbackDTO.getUtilisateurId() + " et la recette " + feedbackDTO.getRecetteId());
+            }
+            FeedbackDTO updated = copy(feedbackDTO, id);
+            append(PUT, updated, null);
+            unindex(existing);
+            index(updated);
+            log.debug("Feedback mis à jour dans le magasin local - ID: {}", id);
+            return updated;
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void deleteFeedback(Long id) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            FeedbackDTO existing = require(id);
+            append(DELETE, null, id);
+            unindex(existing);
+            log.debug("Feedback supprimé du magasin local - ID: {}", id);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    /**
+     * Relâcher le verrou d'écriture ; si le seuil est atteint, l'instantané est pris sous le verrou de lecture
+     * (lectures servies pendant l'écriture du fichier, écritures en attente)
+     */
+    private void releaseWriteLock() {
+        if (closed || appendedSinceSnapshot < properties.getSnapshotEvery()) {
+            lock.writeLock().unlock();
+            return;
+        }
+        lock.readLock().lock();
+        lock.writeLock().unlock();
+        try {
+            snapshot();
+        } catch (IOException e) {
+            // Le journal reste complet : seul le prochain redémarrage sera plus long
+            log.error("Échec de l'instantané du magasin local: {}", e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fermer proprement : instantané final (redémarrage sans rejeu) puis libération du répertoire
+     */
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (appendedSinceSnapshot > 0) {
+                snapshot();
+            }
+            logChannel.close();
+            fileLock.release();
+            lockChannel.close();
+            log.info("Magasin local fermé - {} feedbacks", byId.size());
+        } catch (IOException e) {
+            log.error("Erreur à la fermeture du magasin local: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ========================================
+    // JOURNAL ET INSTANTANÉ
+    // ========================================
+
+    /**
+     * Ajouter un enregistrement au journal ; en cas d'échec, le journal est ramené à sa taille précédente
+     * pour ne pas laisser un enregistrement partiel devant les suivants
+     */
+    private void append(byte type, FeedbackDTO feedback, Long id) {
+        long sequence = lastSequence + 1;
+        long position = -1;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream body = new DataOutputStream(bytes);
+            body.writeByte(type);
+            body.writeLong(sequence);
+            if (type == PUT) {
+                FeedbackRecords.write(body, feedback);
+            } else {
+                body.writeLong(id);
+            }
+            byte[] payload = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length)
+                    .putInt(payload.length)
+                    .putInt((int) crc.getValue())
+                    .put(payload)
+                    .flip();
+            position = logChannel.position();
+            while (record.hasRemaining()) {
+                logChannel.write(record);
+            }
+            if (properties.isFsync()) {
+                logChannel.force(false);
+            }
+        } catch (IOException e) {
+            rollback(position);
+            throw new UncheckedIOException("Écriture du journal du magasin local impossible", e);
+        }
+        lastSequence = sequence;
+        appendedSinceSnapshot++;
+    }
+
+    private void rollback(long position) {
+        if (position < 0) {
+            return;
+        }
+        try {
+            logChannel.truncate(position);
+            logChannel.position(position);
+        } catch (IOException e) {
+            log.error("Impossible de ramener le journal du magasin local à {} octets: {}", position, e.getMessage());
+        }
+    }
+
+    /**
+     * Écrire l'état complet dans un fichier temporaire, le renommer atomiquement puis vider le journal.
+     * Un arrêt entre le renommage et la remise à zéro laisse des enregistrements déjà couverts,
+     * ignorés au rejeu grâce à leur numéro de séquence.
+     */
+    private void snapshot() throws IOException {
+        long startedAt = System.nanoTime();
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(lastSequence);
+            out.writeLong(nextId);
+            out.writeInt(byId.size());
+            for (FeedbackDTO feedback : byId.values()) {
+                FeedbackRecords.write(out, feedback);
+            }
+            out.flush();
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+
+        logChannel.truncate(0);
+        logChannel.position(0);
+        logChannel.force(true);
+        appendedSinceSnapshot = 0;
+        log.info("Instantané du magasin local écrit - {} feedbacks, séquence {}, {} ms",
+                byId.size(), lastSequence, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Rendre le renommage durable (sans effet sur les systèmes qui n'ouvrent pas les répertoires)
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("Synchronisation du répertoire du magasin local ignorée: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recharger l'instantané puis rejouer le journal ; la fin tronquée ou corrompue du journal est coupée
+     */
+    private void recover() throws IOException {
+        long startedAt = System.nanoTime();
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotFile)) {
+            loadSnapshot(snapshotFile);
+        }
+        long snapshotSequence = lastSequence;
+
+        Path logFile = directory.resolve(LOG_FILE);
+        long valid = 0;
+        int replayed = 0;
+        if (Files.exists(logFile)) {
+            long fileSize = Files.size(logFile);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile), 1 << 16))) {
+                byte[] payload;
+                while ((payload = readRecord(in, fileSize - valid)) != null) {
+                    valid += RECORD_HEADER_BYTES + payload.length;
+                    if (replay(payload, snapshotSequence)) {
+                        replayed++;
+                    }
+                }
+            }
+            if (valid < fileSize) {
+                log.warn("Fin du journal du magasin local ignorée ({} octets) : écriture interrompue", fileSize - valid);
+            }
+        }
+
+        logChannel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        logChannel.truncate(valid);
+        logChannel.position(valid);
+        appendedSinceSnapshot = replayed;
+        log.info("Magasin local chargé depuis {} - {} feedbacks, {} écritures rejouées, {} ms",
+                directory, byId.size(), replayed, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void loadSnapshot(Path snapshotFile) throws IOException {
+        try (InputStream file = Files.newInputStream(snapshotFile)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file, 1 << 16), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IllegalStateException("Instantané du magasin local illisible: " + snapshotFile);
+            }
+            lastSequence = in.readLong();
+            nextId = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                index(FeedbackRecords.read(in));
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IllegalStateException("Instantané du magasin local corrompu: " + snapshotFile);
+            }
+        }
+    }
+
+    /**
+     * Corps du prochain enregistrement, ou null en fin de journal ou sur un enregistrement incomplet ou corrompu
+     */
+    private static byte[] readRecord(DataInputStream in, long remaining) throws IOException {
+        if (remaining < RECORD_HEADER_BYTES) {
+            return null;
+        }
+        int length = in.readInt();
+        int crc = in.readInt();
+        if (length <= 0 || length > MAX_RECORD_BYTES || length > remaining - RECORD_HEADER_BYTES) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        try {
+            in.readFully(payload);
+        } catch (EOFException e) {
+            return null;
+        }
+        CRC32 actual = new CRC32();
+        actual.update(payload);
+        return (int) actual.getValue() == crc ? payload : null;
+    }
+
+    /**
+     * Appliquer un enregistrement du journal, sauf s'il est déjà couvert par l'instantané
+     */
+    private boolean replay(byte[] payload, long snapshotSequence) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        long sequence = in.readLong();
+        if (sequence <= snapshotSequence) {
+            return false;
+        }
+        if (type == PUT) {
+            FeedbackDTO feedback = FeedbackRecords.read(in);
+            FeedbackDTO previous = byId.get(feedback.getId());
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(feedback);
+            nextId = Math.max(nextId, feedback.getId() + 1);
+        } else {
+            FeedbackDTO previous = byId.get(in.readLong());
+            if (previous != null) {
+                unindex(previous);
+            }
+        }
+        lastSequence = sequence;
+        return true;
+    }
+
+    // ========================================
+    // INDEX
+    // ========================================
+
+    private void index(FeedbackDTO feedback) {
+        byId.put(feedback.getId(), feedback);
+        byDate.add(feedback);
+        index.put(feedback);
+    }
+
+    private void unindex(FeedbackDTO feedback) {
+        byId.remove(feedback.getId());
+        byDate.remove(feedback);
+        index.remove(feedback.getId());
+    }
+
+    private FeedbackDTO findByPair(Long utilisateurId, Long recetteId) {
+        if (utilisateurId == null || recetteId == null) {
+            return null;
+        }
+        long id = index.findByPair(utilisateurId, recetteId);
+        return id == FeedbackIndex.NONE ? null : byId.get(id);
+    }
+
+    private List<FeedbackDTO> rows(long[] ids) {
+        List<FeedbackDTO> rows = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            rows.add(byId.get(id));
+        }
+        return rows;
+    }
+
+    private FeedbackDTO require(Long id) {
+        FeedbackDTO feedback = byId.get(id);
+        if (feedback == null) {
+            throw new FeedbackNotFoundException("Feedback non trouvé avec l'ID: " + id);
+        }
+        return feedback;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Magasin local fermé");
+        }
+    }
+
+    /**
+     * Copie stockée : les objets indexés ne sont jamais partagés avec l'appelant qui écrit
+     */
+    private static FeedbackDTO copy(FeedbackDTO feedback, Long id) {
+        return FeedbackDTO.builder()
+                .id(id)
+                .utilisateurId(feedback.getUtilisateurId())
+                .recetteId(feedback.getRecetteId())
+                .evaluation(feedback.getEvaluation())
+                .commentaire(feedback.getCommentaire())
+                .dateFeedback(feedback.getDateFeedback())
+                .dateModification(feedback.getDateModification())
+                .build();
+    }
+
+    private static FeedbackDTO probe(LocalDateTime dateFeedback, long id) {
+        return FeedbackDTO.builder().id(id).dateFeedback(dateFeedback).build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.springbootTemplate.univ.soa.store;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage long → int sans boîte : adressage ouvert à sondage linéaire sur deux tableaux,
+ * suppression par décalage arrière (pas de pierre tombale). {@link Long#MIN_VALUE} est réservé.
+ * Non synchronisée.
+ */
+final class LongIntMap {
+
+    static final int MISSING = -1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int shift;
+    private int size;
+    private int resizeAt;
+
+    LongIntMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Valeur associée, ou {@link #MISSING}
+     */
+    int get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? MISSING : values[index];
+    }
+
+    void put(long key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Clé réservée: " + key);
+        }
+        int index = home(key);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Retirer la clé ; les entrées suivantes de la même grappe sont ramenées dans le trou
+     *
+     * @return la valeur retirée, ou {@link #MISSING}
+     */
+    int remove(long key) {
+        int gap = indexOf(key);
+        if (gap < 0) {
+            return MISSING;
+        }
+        int removed = values[gap];
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            long candidate = keys[index];
+            if (candidate == EMPTY) {
+                break;
+            }
+            // L'entrée peut combler le trou si celui-ci se trouve entre sa position d'origine et sa position actuelle
+            if (((index - home(candidate)) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = candidate;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    private int indexOf(long key) {
+        int index = home(key);
+        long candidate;
+        while ((candidate = keys[index]) != EMPTY) {
+            if (candidate == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Position d'origine : hachage multiplicatif (Fibonacci), bits de poids fort
+     */
+    private int home(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = home(oldKeys[i]);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 8) / LOAD_FACTOR) + 1;
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,445 @@
+package com.springbootTemplate.univ.soa.writebehind;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springbootTemplate.univ.soa.client.PersistanceResilience;
+import com.springbootTemplate.univ.soa.config.BatchProperties;
+import com.springbootTemplate.univ.soa.config.WriteBehindProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackBatchItemResult;
+import com.springbootTemplate.univ.soa.dto.FeedbackBatchResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackCreateRequest;
+import com.springbootTemplate.univ.soa.dto.FeedbackResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackUpdateRequest;
+import com.springbootTemplate.univ.soa.dto.FeedbackWriteReceipt;
+import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import com.springbootTemplate.univ.soa.exception.WriteBehindRejectedException;
+import com.springbootTemplate.univ.soa.service.ConcurrentTasks;
+import com.springbootTemplate.univ.soa.service.FeedbackService;
+import com.springbootTemplate.univ.soa.writebehind.PendingWrite.UpdateKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Écritures différées : les créations et mises à jour sont acceptées dans une file bornée,
+ * regroupées par (utilisateur, recette) ou par feedback, puis envoyées à Persistance par petits lots
+ * via {@link FeedbackService}, par un thread dédié.
+ * <ul>
+ *     <li>File pleine : attente de {@code offer-timeout}, puis refus (503 + {@code Retry-After})</li>
+ *     <li>Les écritures en attente ou en cours d'envoi d'un utilisateur s'appliquent à la liste de ses feedbacks</li>
+ *     <li>Au plus {@code feedback.batch.insert-concurrency} écritures envoyées à la fois ; une écriture refusée
+ *     par une cloison pleine est remise en file, son reçu reste en attente</li>
+ *     <li>À l'arrêt, avant les executors, les écritures restantes sont envoyées (au plus {@code drain-timeout})</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "feedback.write-behind", name = "enabled", havingValue = "true")
+@Slf4j
+public class FeedbackWriteBehind {
+
+    private final FeedbackService feedbackService;
+    private final WriteBehindProperties properties;
+    private final Executor persistanceExecutor;
+    private final int batchSize;
+    private final int writeConcurrency;
+    private final Cache<String, FeedbackWriteReceipt> receipts;
+    private final Counter queued;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter requeued;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushNeeded = lock.newCondition();
+    /** Écritures en attente, dans l'ordre d'arrivée */
+    private final LinkedHashMap<Object, PendingWrite> pending = new LinkedHashMap<>();
+    /** Écritures retirées de la file, en cours d'envoi */
+    private final Map<Object, PendingWrite> flushing = new HashMap<>();
+    /** Créations en attente ou en cours d'envoi, par utilisateur */
+    private final Map<Long, List<PendingWrite>> createsByUtilisateur = new HashMap<>();
+    private boolean accepting = true;
+    private Thread flusher;
+
+    public FeedbackWriteBehind(FeedbackService feedbackService,
+                               WriteBehindProperties properties,
+                               BatchProperties batchProperties,
+                               @Qualifier("persistanceExecutor") Executor persistanceExecutor,
+                               MeterRegistry meterRegistry) {
+        this.feedbackService = feedbackService;
+        this.properties = properties;
+        this.persistanceExecutor = persistanceExecutor;
+        this.batchSize = Math.min(properties.getBatchSize(), batchProperties.getMaxSize());
+        this.writeConcurrency = batchProperties.getInsertConcurrency();
+        this.receipts = Caffeine.newBuilder()
+                .maximumSize(properties.getStatusMaxSize())
+                .expireAfterWrite(properties.getStatusTtl())
+                .build();
+        this.queued = writes(meterRegistry, "queued");
+        this.coalesced = writes(meterRegistry, "coalesced");
+        this.rejected = writes(meterRegistry, "rejected");
+        this.requeued = Counter.builder("feedback.write-behind.requeued")
+                .description("Écritures différées remises en file après un refus de cloison")
+                .register(meterRegistry);
+        Gauge.builder("feedback.write-behind.pending", this, FeedbackWriteBehind::getPendingCount)
+                .description("Écritures différées en attente d'envoi")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Thread.ofPlatform().name("write-behind-flush").daemon().start(this::flushLoop);
+    }
+
+    /**
+     * Accepter une création ; la création déjà en attente pour le même utilisateur et la même recette est remplacée
+     */
+    public FeedbackWriteReceipt submitCreate(FeedbackCreateRequest request) {
+        String trackingId = UUID.randomUUID().toString();
+        PendingWrite.CreateKey key = new PendingWrite.CreateKey(request.getUtilisateurId(), request.getRecetteId());
+        lock.lock();
+        try {
+            PendingWrite write = awaitSlot(key);
+            if (write != null) {
+                write.merge(request, trackingId);
+            } else {
+                write = PendingWrite.create(request, trackingId);
+                enqueue(write);
+                createsByUtilisateur.computeIfAbsent(request.getUtilisateurId(), id -> new ArrayList<>()).add(write);
+            }
+            return track(trackingId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Accepter une mise à jour ; elle s'ajoute à celle déjà en attente pour le même feedback
+     */
+    public FeedbackWriteReceipt submitUpdate(String id, FeedbackUpdateRequest request) {
+        Long feedbackId;
+        try {
+            feedbackId = Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new FeedbackNotFoundException("Format d'ID invalide: " + id);
+        }
+        String trackingId = UUID.randomUUID().toString();
+        lock.lock();
+        try {
+            PendingWrite write = awaitSlot(new UpdateKey(feedbackId));
+            if (write != null) {
+                write.merge(request, trackingId);
+            } else {
+                enqueue(PendingWrite.update(feedbackId, request, trackingId));
+            }
+            return track(trackingId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<FeedbackWriteReceipt> getReceipt(String trackingId) {
+        return Optional.ofNullable(receipts.getIfPresent(trackingId));
+    }
+
+    /**
+     * Appliquer à la liste des feedbacks d'un utilisateur ses écritures pas encore visibles dans Persistance
+     */
+    public List<FeedbackResponse> withPendingWrites(Long utilisateurId, List<FeedbackResponse> feedbacks) {
+        lock.lock();
+        try {
+            if (pending.isEmpty() && flushing.isEmpty()) {
+                return feedbacks;
+            }
+            Map<Long, FeedbackResponse> byRecette = new LinkedHashMap<>();
+            boolean changed = false;
+            for (FeedbackResponse feedback : feedbacks) {
+                PendingWrite update = latest(new UpdateKey(feedback.getId()));
+                byRecette.put(feedback.getRecetteId(), update != null ? update.applyTo(feedback) : feedback);
+                changed |= update != null;
+            }
+            // Une création déjà écrite figure dans la liste : elle n'est pas ajoutée une seconde fois
+            for (PendingWrite create : createsByUtilisateur.getOrDefault(utilisateurId, List.of())) {
+                if (!byRecette.containsKey(create.getCreate().getRecetteId())
+                        || byRecette.get(create.getCreate().getRecetteId()).getId() == null) {
+                    byRecette.put(create.getCreate().getRecetteId(), create.applyTo(null));
+                    changed = true;
+                }
+            }
+            // Liste reçue rendue telle quelle si aucune écriture ne la concerne (ses validateurs HTTP restent valables)
+            return changed ? new ArrayList<>(byRecette.values()) : feedbacks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Arrêt : refuser les nouvelles écritures et envoyer les restantes, avant l'arrêt des executors
+     */
+    @EventListener(ContextClosedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void drain() throws InterruptedException {
+        int remaining;
+        lock.lock();
+        try {
+            accepting = false;
+            remaining = pending.size();
+            flushNeeded.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Arrêt : envoi des {} écritures différées restantes", remaining);
+        flusher.join(properties.getDrainTimeout());
+        if (flusher.isAlive()) {
+            log.warn("Arrêt : {} écritures différées non envoyées après {}", getPendingCount(), properties.getDrainTimeout());
+        }
+    }
+
+    /**
+     * Écriture en attente pour la clé (à compléter), ou null une fois une place libre pour une nouvelle
+     */
+    private PendingWrite awaitSlot(Object key) {
+        long nanos = properties.getOfferTimeout().toNanos();
+        while (true) {
+            if (!accepting) {
+                rejected.increment();
+                throw new WriteBehindRejectedException("Arrêt en cours, écriture différée refusée");
+            }
+            PendingWrite write = pending.get(key);
+            if (write != null) {
+                coalesced.increment();
+                return write;
+            }
+            if (pending.size() < properties.getQueueCapacity()) {
+                queued.increment();
+                return null;
+            }
+            if (nanos <= 0) {
+                rejected.increment();
+                throw new WriteBehindRejectedException("File des écritures différées pleine, réessayer plus tard");
+            }
+            try {
+                nanos = notFull.awaitNanos(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                throw new WriteBehindRejectedException("Écriture différée interrompue");
+            }
+        }
+    }
+
+    private void enqueue(PendingWrite write) {
+        pending.put(write.getKey(), write);
+        if (pending.size() == 1 || pending.size() >= batchSize) {
+            flushNeeded.signal();
+        }
+    }
+
+    private FeedbackWriteReceipt track(String trackingId) {
+        FeedbackWriteReceipt receipt = FeedbackWriteReceipt.pending(trackingId);
+        receipts.put(trackingId, receipt);
+        return receipt;
+    }
+
+    private PendingWrite latest(Object key) {
+        PendingWrite write = pending.get(key);
+        return write != null ? write : flushing.get(key);
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch;
+        while ((batch = nextBatch()) != null) {
+            try {
+                flush(batch);
+            } catch (RuntimeException e) {
+                log.error("Erreur inattendue lors de l'envoi des écritures différées: {}", e.getMessage(), e);
+                batch.forEach(write -> complete(write,
+                        FeedbackWriteReceipt.failed(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage())));
+            }
+        }
+        log.info("Envoi des écritures différées arrêté");
+    }
+
+    /**
+     * Attendre un lot complet ou la fin de {@code flush-interval}, puis le retirer de la file.
+     * Null une fois l'arrêt demandé et la file vide.
+     */
+    private List<PendingWrite> nextBatch() {
+        lock.lock();
+        try {
+            while (pending.isEmpty()) {
+                if (!accepting) {
+                    return null;
+                }
+                flushNeeded.awaitUninterruptibly();
+            }
+            long nanos = properties.getFlushInterval().toNanos();
+            while (accepting && pending.size() < batchSize && nanos > 0) {
+                nanos = flushNeeded.awaitNanos(nanos);
+            }
+            List<PendingWrite> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+            Iterator<PendingWrite> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                PendingWrite write = iterator.next();
+                iterator.remove();
+                flushing.put(write.getKey(), write);
+                batch.add(write);
+            }
+            notFull.signalAll();
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<PendingWrite> creates = batch.stream().filter(PendingWrite::isCreate).toList();
+        List<PendingWrite> updates = batch.stream().filter(write -> !write.isCreate()).toList();
+        log.debug("Envoi de {} créations et {} mises à jour différées", creates.size(), updates.size());
+
+        // Créations puis mises à jour, jamais en même temps : au plus insert-concurrency écritures en cours,
+        // sous la cloison persistance-write
+        if (!creates.isEmpty()) {
+            List<FeedbackBatchItemResult> results = create(creates);
+            for (int index = 0; index < creates.size(); index++) {
+                if (results.get(index).isRetryable()) {
+                    requeue(creates.get(index));
+                } else {
+                    complete(creates.get(index), toReceipt(results.get(index)));
+                }
+            }
+        }
+        ConcurrentTasks.runConcurrently(IntStream.range(0, updates.size()).boxed().toList(), writeConcurrency,
+                persistanceExecutor, index -> update(updates.get(index)));
+    }
+
+    private List<FeedbackBatchItemResult> create(List<PendingWrite> creates) {
+        try {
+            FeedbackBatchResponse response = feedbackService.createFeedbacks(
+                    creates.stream().map(PendingWrite::getCreate).toList());
+            return response.getResults();
+        } catch (RuntimeException e) {
+            log.warn("Échec de l'envoi de {} créations différées: {}", creates.size(), e.getMessage());
+            List<FeedbackBatchItemResult> results = new ArrayList<>(creates.size());
+            for (int index = 0; index < creates.size(); index++) {
+                results.add(FeedbackBatchItemResult.failed(index, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+            }
+            return results;
+        }
+    }
+
+    private void update(PendingWrite write) {
+        FeedbackWriteReceipt receipt;
+        try {
+            FeedbackResponse feedback = feedbackService.updateFeedback(String.valueOf(write.getFeedbackId()), write.getUpdate());
+            receipt = FeedbackWriteReceipt.done(HttpStatus.OK, feedback);
+        } catch (FeedbackNotFoundException e) {
+            receipt = FeedbackWriteReceipt.failed(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            receipt = FeedbackWriteReceipt.failed(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            if (PersistanceResilience.isBulkheadFull(e)) {
+                requeue(write);
+                return;
+            }
+            receipt = FeedbackWriteReceipt.failed(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+        complete(write, receipt);
+    }
+
+    private static FeedbackWriteReceipt toReceipt(FeedbackBatchItemResult result) {
+        HttpStatus status = HttpStatus.valueOf(result.getStatus());
+        return result.getFeedback() != null
+                ? FeedbackWriteReceipt.done(status, result.getFeedback())
+                : FeedbackWriteReceipt.failed(status, result.getError());
+    }
+
+    /**
+     * Publier le résultat pour chaque identifiant de suivi, puis retirer l'écriture de la vue de l'utilisateur
+     */
+    private void complete(PendingWrite write, FeedbackWriteReceipt result) {
+        for (String trackingId : write.getTrackingIds()) {
+            receipts.put(trackingId, result.toBuilder().trackingId(trackingId).build());
+        }
+        lock.lock();
+        try {
+            flushing.remove(write.getKey(), write);
+            forgetCreate(write);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remettre en file une écriture refusée par une cloison pleine, reçus toujours en attente ; elle repart
+     * avec le lot suivant. Une écriture reçue entre-temps pour la même clé reprend ses identifiants de suivi.
+     */
+    private void requeue(PendingWrite write) {
+        requeued.increment();
+        lock.lock();
+        try {
+            flushing.remove(write.getKey(), write);
+            PendingWrite newer = pending.get(write.getKey());
+            if (newer != null) {
+                newer.absorb(write);
+                forgetCreate(write);
+            } else {
+                pending.put(write.getKey(), write);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void forgetCreate(PendingWrite write) {
+        if (write.isCreate()) {
+            Long utilisateurId = write.getCreate().getUtilisateurId();
+            List<PendingWrite> creates = createsByUtilisateur.get(utilisateurId);
+            if (creates != null && creates.remove(write) && creates.isEmpty()) {
+                createsByUtilisateur.remove(utilisateurId);
+            }
+        }
+    }
+
+    private static Counter writes(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("feedback.write-behind.writes")
+                .description("Écritures différées reçues : ajoutées à la file, regroupées avec une écriture en attente, ou refusées")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
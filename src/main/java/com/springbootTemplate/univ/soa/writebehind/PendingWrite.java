@@ -0,0 +1,141 @@
+package com.springbootTemplate.univ.soa.writebehind;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackCreateRequest;
+import com.springbootTemplate.univ.soa.dto.FeedbackResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackUpdateRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Écriture en attente d'envoi, résultat du regroupement de toutes les écritures reçues pour sa clé.
+ * Modifiée uniquement sous le verrou de {@link FeedbackWriteBehind}.
+ */
+final class PendingWrite {
+
+    /** Clé de regroupement d'une création : un seul feedback par utilisateur et par recette */
+    record CreateKey(Long utilisateurId, Long recetteId) {
+    }
+
+    /** Clé de regroupement d'une mise à jour */
+    record UpdateKey(Long feedbackId) {
+    }
+
+    private final Object key;
+    private final List<String> trackingIds = new ArrayList<>();
+    private final Long feedbackId;
+    private FeedbackCreateRequest create;
+    private FeedbackUpdateRequest update;
+    private LocalDateTime submittedAt;
+
+    private PendingWrite(Object key, Long feedbackId) {
+        this.key = key;
+        this.feedbackId = feedbackId;
+    }
+
+    static PendingWrite create(FeedbackCreateRequest request, String trackingId) {
+        PendingWrite write = new PendingWrite(new CreateKey(request.getUtilisateurId(), request.getRecetteId()), null);
+        write.merge(request, trackingId);
+        return write;
+    }
+
+    static PendingWrite update(Long feedbackId, FeedbackUpdateRequest request, String trackingId) {
+        PendingWrite write = new PendingWrite(new UpdateKey(feedbackId), feedbackId);
+        write.update = new FeedbackUpdateRequest();
+        write.merge(request, trackingId);
+        return write;
+    }
+
+    /**
+     * Une nouvelle création pour le même utilisateur et la même recette remplace la précédente
+     */
+    void merge(FeedbackCreateRequest request, String trackingId) {
+        this.create = FeedbackCreateRequest.builder()
+                .utilisateurId(request.getUtilisateurId())
+                .recetteId(request.getRecetteId())
+                .evaluation(request.getEvaluation())
+                .commentaire(request.getCommentaire())
+                .build();
+        this.submittedAt = LocalDateTime.now();
+        trackingIds.add(trackingId);
+    }
+
+    /**
+     * Les champs renseignés d'une nouvelle mise à jour s'ajoutent à ceux déjà en attente
+     */
+    void merge(FeedbackUpdateRequest request, String trackingId) {
+        if (request.getEvaluation() != null) {
+            update.setEvaluation(request.getEvaluation());
+        }
+        if (request.getCommentaire() != null) {
+            update.setCommentaire(request.getCommentaire());
+        }
+        this.submittedAt = LocalDateTime.now();
+        trackingIds.add(trackingId);
+    }
+
+    /**
+     * Reprendre une écriture plus ancienne de la même clé, remise en file après un refus : ses identifiants de suivi
+     * passent en tête, et les champs de mise à jour non renseignés depuis sont complétés par les siens
+     */
+    void absorb(PendingWrite older) {
+        trackingIds.addAll(0, older.trackingIds);
+        if (!isCreate()) {
+            if (update.getEvaluation() == null) {
+                update.setEvaluation(older.update.getEvaluation());
+            }
+            if (update.getCommentaire() == null) {
+                update.setCommentaire(older.update.getCommentaire());
+            }
+        }
+    }
+
+    /**
+     * Feedback tel qu'il sera après l'écriture, pour que l'utilisateur relise ses propres écritures
+     */
+    FeedbackResponse applyTo(FeedbackResponse feedback) {
+        if (isCreate()) {
+            return FeedbackResponse.builder()
+                    .utilisateurId(create.getUtilisateurId())
+                    .recetteId(create.getRecetteId())
+                    .evaluation(create.getEvaluation())
+                    .commentaire(create.getCommentaire())
+                    .dateFeedback(submittedAt)
+                    .build();
+        }
+        return FeedbackResponse.builder()
+                .id(feedback.getId())
+                .utilisateurId(feedback.getUtilisateurId())
+                .recetteId(feedback.getRecetteId())
+                .evaluation(update.getEvaluation() != null ? update.getEvaluation() : feedback.getEvaluation())
+                .commentaire(update.getCommentaire() != null ? update.getCommentaire() : feedback.getCommentaire())
+                .dateFeedback(feedback.getDateFeedback())
+                .dateModification(submittedAt)
+                .build();
+    }
+
+    boolean isCreate() {
+        return create != null;
+    }
+
+    Object getKey() {
+        return key;
+    }
+
+    List<String> getTrackingIds() {
+        return trackingIds;
+    }
+
+    Long getFeedbackId() {
+        return feedbackId;
+    }
+
+    FeedbackCreateRequest getCreate() {
+        return create;
+    }
+
+    FeedbackUpdateRequest getUpdate() {
+        return update;
+    }
+}
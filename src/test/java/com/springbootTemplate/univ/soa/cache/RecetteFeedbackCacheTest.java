@@ -0,0 +1,117 @@
+package com.springbootTemplate.univ.soa.cache;
+
+import com.springbootTemplate.univ.soa.client.PersistanceClient;
+import com.springbootTemplate.univ.soa.config.FeedbackCacheProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecetteFeedbackCacheTest {
+
+    @Mock
+    private PersistanceClient persistanceClient;
+
+    private FeedbackCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RecetteFeedbackCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FeedbackCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RecetteFeedbackCache(persistanceClient, properties, meterRegistry);
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_LoadsOnceThenHits() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L))
+                .thenReturn(List.of(FeedbackDTO.builder().id(1L).evaluation(5).build()));
+
+        cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.FEEDBACKS);
+        List<FeedbackDTO> second = cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE);
+
+        assertEquals(1, second.size());
+        verify(persistanceClient, times(1)).getFeedbacksByRecetteId(20L);
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", RecetteFeedbackCache.CACHE_NAME).tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void invalidate_ForcesReload() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L)).thenReturn(List.of());
+
+        cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.FEEDBACKS);
+        cache.invalidate(20L);
+        cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.FEEDBACKS);
+
+        verify(persistanceClient, times(2)).getFeedbacksByRecetteId(20L);
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_DisabledEndpoint_BypassesCache() {
+        properties.setAverageEnabled(false);
+        when(persistanceClient.getFeedbacksByRecetteId(20L)).thenReturn(List.of());
+
+        cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE);
+        cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE);
+
+        verify(persistanceClient, times(2)).getFeedbacksByRecetteId(20L);
+    }
+
+    private static RuntimeException circuitOpen() {
+        return new RuntimeException("Erreur lors de la récupération des feedbacks de la recette",
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("persistance-read")));
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_CircuitOpen_ServesLastKnownGood() {
+        properties.setFeedbacksEnabled(false);
+        when(persistanceClient.getFeedbacksByRecetteId(20L))
+                .thenReturn(List.of(FeedbackDTO.builder().id(1L).evaluation(5).build()))
+                .thenThrow(circuitOpen());
+
+        cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.FEEDBACKS);
+        List<FeedbackDTO> fallback = cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.FEEDBACKS);
+
+        assertEquals(1, fallback.size());
+        assertEquals(1.0, meterRegistry.get("feedback.fallback").tag("cache", RecetteFeedbackCache.CACHE_NAME).counter().count());
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_DownstreamError_IsNotMaskedByLastKnownGood() {
+        properties.setFeedbacksEnabled(false);
+        when(persistanceClient.getFeedbacksByRecetteId(20L))
+                .thenReturn(List.of())
+                .thenThrow(new RuntimeException("Erreur lors de la récupération des feedbacks de la recette"));
+
+        cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.FEEDBACKS);
+
+        assertThrows(RuntimeException.class,
+                () -> cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.FEEDBACKS));
+    }
+
+    @Test
+    void invalidate_DropsLastKnownGood() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L))
+                .thenReturn(List.of())
+                .thenThrow(circuitOpen());
+
+        cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.FEEDBACKS);
+        cache.invalidate(20L);
+
+        assertThrows(RuntimeException.class,
+                () -> cache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.FEEDBACKS));
+    }
+}
@@ -0,0 +1,68 @@
+package com.springbootTemplate.univ.soa.client;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistanceMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PersistanceMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new PersistanceMetrics(meterRegistry);
+    }
+
+    private long count(String outcome, String exception) {
+        return meterRegistry.get("persistance.client.requests")
+                .tags("operation", "get-by-id", "outcome", outcome, "exception", exception)
+                .timer().count();
+    }
+
+    private void fail(RuntimeException error) {
+        assertSame(error, assertThrows(RuntimeException.class, () -> metrics.record("get-by-id", () -> {
+            throw error;
+        })));
+    }
+
+    @Test
+    void record_Success_ReturnsResultAndTimesCall() {
+        assertEquals("ok", metrics.record("get-by-id", () -> "ok"));
+
+        assertEquals(1, count("SUCCESS", "none"));
+    }
+
+    @Test
+    void record_Errors_AreTaggedByOutcomeAndRethrown() {
+        fail(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        fail(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null));
+        fail(CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("persistance-read")));
+        fail(new ResourceAccessException("Connection refused"));
+
+        assertEquals(1, count("CLIENT_ERROR", "NotFound"));
+        assertEquals(1, count("SERVER_ERROR", "BadGateway"));
+        assertEquals(1, count("REJECTED", "CallNotPermittedException"));
+        assertEquals(1, count("UNKNOWN", "ResourceAccessException"));
+    }
+
+    @Test
+    void recordSize_RecordsListSizePerOperation() {
+        metrics.recordSize("get-by-recette", 3);
+        metrics.recordSize("get-by-recette", 5);
+
+        DistributionSummary summary = meterRegistry.get("persistance.client.response.size").tag("operation", "get-by-recette").summary();
+        assertEquals(2, summary.count());
+        assertEquals(8.0, summary.totalAmount());
+    }
+}
@@ -0,0 +1,265 @@
+package com.springbootTemplate.univ.soa.client;
+
+import com.springbootTemplate.univ.soa.cache.RecetteFeedbackCache;
+import com.springbootTemplate.univ.soa.client.PersistanceResilience.Operation;
+import com.springbootTemplate.univ.soa.cache.ExistenceCache;
+import com.springbootTemplate.univ.soa.config.BatchProperties;
+import com.springbootTemplate.univ.soa.config.ExistenceCacheProperties;
+import com.springbootTemplate.univ.soa.config.FeedbackCacheProperties;
+import com.springbootTemplate.univ.soa.config.PaginationProperties;
+import com.springbootTemplate.univ.soa.config.RatingAggregateProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackBatchResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackCreateRequest;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.FeedbackUpdateRequest;
+import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import com.springbootTemplate.univ.soa.exception.GlobalExceptionHandler;
+import com.springbootTemplate.univ.soa.rating.RatingAggregateStore;
+import com.springbootTemplate.univ.soa.service.FeedbackServiceImpl;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Disjoncteur et cloison sur le vrai chemin {@link PersistanceClient} (HTTP simulé), jusqu'au repli
+ * du cache sur la dernière liste connue et au 503 renvoyé sans elle
+ */
+class PersistanceResilienceTest {
+
+    private static final String URL = "http://persistance";
+    private static final String RECETTE_20 = URL + "/api/persistance/feedbacks/recette/20";
+    private static final String RECETTE_21 = URL + "/api/persistance/feedbacks/recette/21";
+    private static final String FEEDBACK_99 = URL + "/api/persistance/feedbacks/99";
+    private static final String FEEDBACKS = "[{\"id\":1,\"utilisateurId\":10,\"recetteId\":20,\"evaluation\":5}]";
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private MockRestServiceServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private PersistanceResilience resilience;
+    private PersistanceClient client;
+    private RecetteFeedbackCache cache;
+    private FeedbackServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // Ouvert dès 50 % d'échecs sur 4 appels, sans retour automatique en demi-ouverture pendant le test
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        resilience = new PersistanceResilience(circuitBreakerRegistry, bulkheadRegistry);
+
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        meterRegistry = new SimpleMeterRegistry();
+        client = new PersistanceClient(restTemplate, resilience,
+                new PersistanceSingleFlight(meterRegistry), new PersistanceMetrics(meterRegistry));
+        ReflectionTestUtils.setField(client, "persistanceServiceUrl", URL);
+
+        // Chaque lecture va jusqu'au client : seule la dernière liste connue est gardée
+        FeedbackCacheProperties properties = new FeedbackCacheProperties();
+        properties.setFeedbacksEnabled(false);
+        cache = new RecetteFeedbackCache(client, properties, meterRegistry);
+        service = service(new BatchProperties(), Runnable::run);
+    }
+
+    private FeedbackServiceImpl service(BatchProperties batchProperties, Executor executor) {
+        return new FeedbackServiceImpl(client, cache,
+                new RatingAggregateStore(cache, new RatingAggregateProperties(), meterRegistry), event -> { },
+                new PaginationProperties(), batchProperties,
+                new ExistenceCache(client, new ExistenceCacheProperties(), meterRegistry),
+                Validation.buildDefaultValidatorFactory().getValidator(), executor);
+    }
+
+    private List<FeedbackDTO> read(long recetteId) {
+        return cache.getFeedbacksByRecetteId(recetteId, RecetteFeedbackCache.Endpoint.FEEDBACKS);
+    }
+
+    private double fallbacks() {
+        return meterRegistry.get("feedback.fallback").tag("cache", RecetteFeedbackCache.CACHE_NAME).counter().count();
+    }
+
+    @Test
+    void circuitOpen_RejectsWithoutCallingPersistance_ServesLastKnownGoodOrServiceUnavailable() {
+        server.expect(once(), requestTo(RECETTE_20)).andRespond(withSuccess(FEEDBACKS, MediaType.APPLICATION_JSON));
+        server.expect(times(3), requestTo(RECETTE_20)).andRespond(withServerError());
+
+        assertEquals(1, read(20).size());
+        for (int i = 0; i < 3; i++) {
+            // Panne de ms-persistance, pas un refus : l'erreur n'est pas masquée
+            RuntimeException error = assertThrows(RuntimeException.class, () -> read(20));
+            assertFalse(PersistanceResilience.isRejected(error));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getState(Operation.READ));
+
+        // Disjoncteur ouvert : plus aucun appel HTTP, dernière liste connue servie
+        List<FeedbackDTO> fallback = read(20);
+        assertEquals(1, fallback.size());
+        assertEquals(5, fallback.get(0).getEvaluation());
+        assertEquals(1.0, fallbacks());
+
+        // Recette jamais lue : refus remonté, traduit en 503
+        RuntimeException rejected = assertThrows(RuntimeException.class, () -> read(21));
+        assertInstanceOf(CallNotPermittedException.class, rejected.getCause());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                new GlobalExceptionHandler().handleRuntimeException(rejected).getStatusCode());
+        server.verify();
+    }
+
+    @Test
+    void circuitOpen_FeedbackById_ServiceUnavailableNotNotFound() {
+        server.expect(once(), requestTo(FEEDBACK_99)).andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(times(4), requestTo(RECETTE_20)).andRespond(withServerError());
+
+        // Feedback réellement absent : 404
+        assertThrows(FeedbackNotFoundException.class, () -> service.getFeedbackById("99"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> read(20));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getState(Operation.READ));
+
+        // Disjoncteur ouvert : lecture, mise à jour et suppression refusées, traduites en 503 et non en 404
+        for (Runnable call : List.<Runnable>of(
+                () -> service.getFeedbackById("1"),
+                () -> service.updateFeedback("1", new FeedbackUpdateRequest()),
+                () -> service.deleteFeedback("1"))) {
+            RuntimeException rejected = assertThrows(RuntimeException.class, call::run);
+            assertFalse(rejected instanceof FeedbackNotFoundException);
+            assertTrue(PersistanceResilience.isRejected(rejected));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                    new GlobalExceptionHandler().handleRuntimeException(rejected).getStatusCode());
+        }
+        server.verify();
+    }
+
+    @Test
+    void bulkheadFull_RejectsImmediatelyWithoutOpeningCircuit() throws Exception {
+        server.expect(once(), requestTo(RECETTE_21)).andRespond(withSuccess(FEEDBACKS, MediaType.APPLICATION_JSON));
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.expect(once(), requestTo(RECETTE_20)).andRespond(request -> {
+            inFlight.countDown();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return withSuccess(FEEDBACKS, MediaType.APPLICATION_JSON).createResponse(request);
+        });
+        assertEquals(1, read(21).size());
+
+        CompletableFuture<List<FeedbackDTO>> slow = CompletableFuture.supplyAsync(() -> read(20));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        try {
+            // Seule place de la cloison occupée : refus immédiat, dernière liste connue servie
+            assertEquals(1, read(21).size());
+            assertEquals(1.0, fallbacks());
+
+            cache.invalidate(21L);
+            RuntimeException rejected = assertThrows(RuntimeException.class, () -> read(21));
+            assertInstanceOf(BulkheadFullException.class, rejected.getCause());
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                    new GlobalExceptionHandler().handleRuntimeException(rejected).getStatusCode());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(1, slow.get(5, TimeUnit.SECONDS).size());
+        // Refus de cloison non comptés comme pannes
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker(Operation.READ.getInstanceName()).getMetrics();
+        assertEquals(0, metrics.getNumberOfFailedCalls());
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getState(Operation.READ));
+        server.verify();
+    }
+
+    @Test
+    void createFeedbacks_ManyDistinctIdsSlowProbes_StayWithinExistenceBulkhead() {
+        int size = 12;
+        for (int i = 0; i < size; i++) {
+            server.expect(once(), requestTo(URL + "/api/persistance/utilisateurs/" + (100 + i)))
+                    .andExpect(method(HttpMethod.HEAD)).andRespond(PersistanceResilienceTest::slowOk);
+            server.expect(once(), requestTo(URL + "/api/persistance/recettes/" + (200 + i)))
+                    .andExpect(method(HttpMethod.HEAD)).andRespond(PersistanceResilienceTest::slowOk);
+        }
+        server.expect(times(size), requestTo(URL + "/api/persistance/feedbacks")).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(FEEDBACKS.substring(1, FEEDBACKS.length() - 1), MediaType.APPLICATION_JSON));
+
+        List<FeedbackCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            FeedbackCreateRequest request = new FeedbackCreateRequest();
+            request.setUtilisateurId(100L + i);
+            request.setRecetteId(200L + i);
+            request.setEvaluation(4);
+            requests.add(request);
+        }
+
+        // Cloisons d'une seule place sans attente : le lot ne doit jamais se refuser ses propres appels
+        BatchProperties batchProperties = new BatchProperties();
+        batchProperties.setExistenceConcurrency(1);
+        batchProperties.setInsertConcurrency(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            FeedbackBatchResponse response = service(batchProperties, executor).createFeedbacks(requests);
+            assertEquals(size, response.getCreated());
+            assertEquals(0, response.getFailed());
+        } finally {
+            executor.shutdownNow();
+        }
+        server.verify();
+    }
+
+    private static ClientHttpResponse slowOk(ClientHttpRequest request) throws IOException {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return withSuccess().createResponse(request);
+    }
+}
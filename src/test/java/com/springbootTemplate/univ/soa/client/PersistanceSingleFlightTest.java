@@ -0,0 +1,194 @@
+package com.springbootTemplate.univ.soa.client;
+
+import com.springbootTemplate.univ.soa.client.PersistanceSingleFlight.Read;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistanceSingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PersistanceSingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new PersistanceSingleFlight(meterRegistry);
+    }
+
+    private double requests(String role) {
+        return meterRegistry.get("persistance.singleflight.requests")
+                .tags("operation", "recette", "role", role)
+                .counter().count();
+    }
+
+    /**
+     * Lance {@code callers} lectures de la recette 20 ; l'appel effectif ne se termine
+     * qu'une fois tous les appelants en attente
+     */
+    private List<CompletableFuture<Object>> concurrentReads(int callers, AtomicInteger calls, Object result) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<CompletableFuture<Object>> futures = IntStream.range(0, callers)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> singleFlight.execute(Read.RECETTE, 20L, () -> {
+                        calls.incrementAndGet();
+                        await(release);
+                        if (result instanceof RuntimeException e) {
+                            throw e;
+                        }
+                        return result;
+                    }), executor))
+                    .toList();
+            while (requests("leader") + requests("shared") < callers) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .handle((ignored, e) -> null).get(5, TimeUnit.SECONDS);
+            return futures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void execute_ConcurrentSameKey_SharesOneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<String> result = List.of("feedbacks");
+
+        List<CompletableFuture<Object>> futures = concurrentReads(8, calls, result);
+
+        assertEquals(1, calls.get());
+        for (CompletableFuture<Object> future : futures) {
+            assertSame(result, future.get());
+        }
+        assertEquals(1.0, requests("leader"));
+        assertEquals(7.0, requests("shared"));
+        assertEquals(0.875, meterRegistry.get("persistance.singleflight.collapse.ratio")
+                .tag("operation", "recette").gauge().value());
+    }
+
+    @Test
+    void execute_ConcurrentSameKey_SharesError() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        RuntimeException error = new RuntimeException("Erreur lors de la récupération des feedbacks de la recette");
+
+        List<CompletableFuture<Object>> futures = concurrentReads(4, calls, error);
+
+        assertEquals(1, calls.get());
+        for (CompletableFuture<Object> future : futures) {
+            Exception thrown = assertThrows(Exception.class, future::get);
+            assertSame(error, thrown.getCause());
+        }
+    }
+
+    @Test
+    void execute_SequentialCalls_AreNotShared() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute(Read.RECETTE, 20L, calls::incrementAndGet);
+        singleFlight.execute(Read.RECETTE, 20L, calls::incrementAndGet);
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(Read.RECETTE, 20L, () -> {
+            throw new IllegalStateException("échec");
+        }));
+        singleFlight.execute(Read.RECETTE, 20L, calls::incrementAndGet);
+
+        assertEquals(3, calls.get());
+        assertEquals(4.0, requests("leader"));
+        assertEquals(0.0, requests("shared"));
+    }
+
+    @Test
+    void execute_DifferentKeysOrReads_AreNotShared() {
+        assertEquals("recette-20", singleFlight.execute(Read.RECETTE, 20L, () ->
+                singleFlight.execute(Read.RECETTE, 21L, () ->
+                        singleFlight.execute(Read.UTILISATEUR, 20L, () -> "recette-20"))));
+
+        assertEquals(2.0, requests("leader"));
+    }
+
+    @Test
+    void execute_WriteDuringInFlightRead_LaterCallersStartNewCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Object> before = CompletableFuture.supplyAsync(() ->
+                    singleFlight.execute(Read.RECETTE, 20L, () -> {
+                        started.countDown();
+                        await(release);
+                        return "avant l'écriture";
+                    }), executor);
+            await(started);
+
+            FeedbackDTO feedback = FeedbackDTO.builder().id(1L).utilisateurId(10L).recetteId(20L).evaluation(4).build();
+            singleFlight.onFeedbackChanged(FeedbackChangedEvent.created(feedback, System.nanoTime()));
+
+            // La lecture en cours a commencé avant l'écriture : elle n'est pas rejointe
+            assertEquals("après l'écriture", singleFlight.execute(Read.RECETTE, 20L, () -> "après l'écriture"));
+            release.countDown();
+            assertEquals("avant l'écriture", before.get(5, TimeUnit.SECONDS));
+            assertEquals(2.0, requests("leader"));
+            assertEquals(0.0, requests("shared"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void onFeedbackInvalidated_DetachesInFlightReadsOfTouchedKeysOnly() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<String>> reads = List.of(20L, 21L).stream()
+                    .map(recetteId -> CompletableFuture.supplyAsync(() ->
+                            singleFlight.execute(Read.RECETTE, recetteId, () -> {
+                                started.countDown();
+                                await(release);
+                                return "recette-" + recetteId;
+                            }), executor))
+                    .toList();
+            await(started);
+
+            singleFlight.onFeedbackInvalidated(new FeedbackInvalidatedEvent(Set.of(20L), Set.of(), Set.of()));
+
+            assertEquals("relue", singleFlight.execute(Read.RECETTE, 20L, () -> "relue"));
+            CompletableFuture<String> joined = CompletableFuture.supplyAsync(() ->
+                    singleFlight.execute(Read.RECETTE, 21L, () -> "non partagée"));
+            while (requests("shared") < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            assertEquals("recette-21", joined.get(5, TimeUnit.SECONDS));
+            assertEquals("recette-20", reads.get(0).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
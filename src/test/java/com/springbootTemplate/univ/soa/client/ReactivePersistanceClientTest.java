@@ -0,0 +1,129 @@
+package com.springbootTemplate.univ.soa.client;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactivePersistanceClientTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private ReactivePersistanceClient client;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        client = new ReactivePersistanceClient(WebClient.builder().build(),
+                new PersistanceResilience(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults()),
+                new PersistanceMetrics(meterRegistry));
+        ReflectionTestUtils.setField(client, "persistanceServiceUrl",
+                "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String request = exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath();
+        requests.add(request);
+        switch (request) {
+            case "GET /api/persistance/feedbacks/recette/20" -> respond(exchange, 200,
+                    "[{\"id\":1,\"recetteId\":20,\"evaluation\":5,\"dateFeedback\":\"2025-01-15T10:30:00\"},"
+                            + "{\"id\":2,\"recetteId\":20,\"evaluation\":3}]");
+            case "GET /api/persistance/feedbacks" -> respond(exchange, 502, "{\"error\":\"indisponible\"}");
+            case "POST /api/persistance/feedbacks" -> respond(exchange, 409, "{\"error\":\"doublon\"}");
+            case "HEAD /api/persistance/recettes/20" -> respond(exchange, 405, null);
+            case "GET /api/persistance/recettes/20" -> respond(exchange, 200, "{\"id\":20}");
+            default -> respond(exchange, 404, null);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null || exchange.getRequestMethod().equals("HEAD")) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_DecodesListAsStreamAndRecordsSize() {
+        StepVerifier.create(client.getFeedbacksByRecetteId(20L))
+                .assertNext(feedback -> {
+                    assertEquals(1L, feedback.getId());
+                    assertEquals(LocalDateTime.of(2025, 1, 15, 10, 30), feedback.getDateFeedback());
+                })
+                .assertNext(feedback -> assertEquals(3, feedback.getEvaluation()))
+                .verifyComplete();
+
+        assertEquals(2.0, meterRegistry.get("persistance.client.response.size")
+                .tag("operation", "get-by-recette").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("persistance.client.requests")
+                .tags("operation", "get-by-recette", "outcome", "SUCCESS").timer().count());
+    }
+
+    @Test
+    void getFeedbackById_NotFound_ShouldCompleteEmpty() {
+        StepVerifier.create(client.getFeedbackById(99L)).verifyComplete();
+    }
+
+    @Test
+    void errors_ShouldUseBlockingClientExceptions() {
+        StepVerifier.create(client.createFeedback(FeedbackDTO.builder().recetteId(20L).evaluation(5).build()))
+                .expectError(HttpClientErrorException.Conflict.class)
+                .verify();
+        StepVerifier.create(client.getAllFeedbacks())
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(HttpServerErrorException.BadGateway.class, e);
+                    assertTrue(((HttpServerErrorException) e).getResponseBodyAsString().contains("indisponible"));
+                })
+                .verify();
+
+        assertEquals(1, meterRegistry.get("persistance.client.requests")
+                .tags("operation", "get-all", "outcome", "SERVER_ERROR").timer().count());
+    }
+
+    @Test
+    void exists_FallsBackToGetWhenHeadIsNotAllowed() {
+        StepVerifier.create(client.recetteExists(20L)).expectNext(true).verifyComplete();
+        StepVerifier.create(client.utilisateurExists(10L)).expectNext(false).verifyComplete();
+
+        assertEquals(List.of("HEAD /api/persistance/recettes/20", "GET /api/persistance/recettes/20",
+                "HEAD /api/persistance/utilisateurs/10"), requests);
+    }
+}
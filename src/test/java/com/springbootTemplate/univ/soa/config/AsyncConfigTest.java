@@ -0,0 +1,43 @@
+package com.springbootTemplate.univ.soa.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(AsyncConfig.class)
+            .withPropertyValues(
+                    "feedback.executor.persistance.pool-size=4",
+                    "feedback.executor.persistance.queue-capacity=10",
+                    "feedback.executor.persistance.shutdown-timeout=1000");
+
+    @Test
+    void persistanceExecutor_PlatformMode_IsBoundedPool() {
+        contextRunner.run(context -> {
+            ThreadPoolTaskExecutor executor = context.getBean("persistanceExecutor", ThreadPoolTaskExecutor.class);
+            assertEquals(4, executor.getMaxPoolSize());
+            assertFalse(runsOnVirtualThread(executor));
+        });
+    }
+
+    @Test
+    void persistanceExecutor_VirtualMode_UsesVirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            Executor executor = context.getBean("persistanceExecutor", Executor.class);
+            assertInstanceOf(SimpleAsyncTaskExecutor.class, executor);
+            assertTrue(runsOnVirtualThread(executor));
+        });
+    }
+
+    private static boolean runsOnVirtualThread(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor).join();
+    }
+}
@@ -0,0 +1,42 @@
+package com.springbootTemplate.univ.soa.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CborConfigTest {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+    private final ObjectMapper objectMapper = CborConfig.cborObjectMapper(new Jackson2ObjectMapperBuilder(), PARIS);
+
+    @Test
+    void cborObjectMapper_RoundTripsDatesAsEpochMillis() throws IOException {
+        LocalDateTime date = LocalDateTime.of(2025, 7, 14, 18, 45, 12, 345_000_000);
+        FeedbackDTO feedback = FeedbackDTO.builder().id(1L).recetteId(20L).evaluation(5).dateFeedback(date).build();
+
+        byte[] cbor = objectMapper.writeValueAsBytes(feedback);
+
+        Map<?, ?> raw = new CBORMapper().readValue(cbor, Map.class);
+        assertEquals(date.atZone(PARIS).toInstant().toEpochMilli(), ((Number) raw.get("dateFeedback")).longValue());
+        assertEquals(date, objectMapper.readValue(cbor, FeedbackDTO.class).getDateFeedback());
+    }
+
+    @Test
+    void cborObjectMapper_StillReadsIsoDates() throws IOException {
+        byte[] cbor = new CBORMapper().writeValueAsBytes(Map.of("id", 1, "dateFeedback", "2025-01-15T10:30:00"));
+
+        FeedbackDTO feedback = objectMapper.readValue(cbor, FeedbackDTO.class);
+
+        assertEquals(LocalDateTime.of(2025, 1, 15, 10, 30), feedback.getDateFeedback());
+    }
+}
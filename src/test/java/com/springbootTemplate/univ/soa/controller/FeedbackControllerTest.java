@@ -1,27 +1,39 @@
 package com.springbootTemplate.univ.soa.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.springbootTemplate.univ.soa.config.CborConfig;
 import com.springbootTemplate.univ.soa.dto.*;
 import com.springbootTemplate.univ.soa.service.FeedbackService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(FeedbackController.class)
+@Import(CborConfig.class)
 public class FeedbackControllerTest {
 
     @Autowired
@@ -68,16 +80,145 @@ public class FeedbackControllerTest {
         verify(feedbackService, times(1)).createFeedback(any(FeedbackCreateRequest.class));
     }
 
+    @Test
+    void createFeedbacks_AllCreated_ShouldReturnCreated() throws Exception {
+        when(feedbackService.createFeedbacks(anyList())).thenReturn(
+                FeedbackBatchResponse.of(List.of(FeedbackBatchItemResult.created(0, feedbackResponse))));
+
+        mockMvc.perform(post("/api/feedbacks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FeedbackBatchCreateRequest(List.of(createRequest)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].feedback.id").value(1L));
+    }
+
+    @Test
+    void createFeedbacks_PartialFailure_ShouldReturnMultiStatus() throws Exception {
+        when(feedbackService.createFeedbacks(anyList())).thenReturn(FeedbackBatchResponse.of(List.of(
+                FeedbackBatchItemResult.created(0, feedbackResponse),
+                FeedbackBatchItemResult.failed(1, HttpStatus.CONFLICT, "Vous avez déjà noté cette recette."))));
+
+        mockMvc.perform(post("/api/feedbacks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FeedbackBatchCreateRequest(List.of(createRequest, createRequest)))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].status").value(409));
+    }
+
+    @Test
+    void createFeedbacks_InvalidItem_ShouldReachServiceForPerItemResult() throws Exception {
+        FeedbackCreateRequest invalid = FeedbackCreateRequest.builder().utilisateurId(1L).recetteId(5L).evaluation(9).build();
+        when(feedbackService.createFeedbacks(anyList())).thenReturn(FeedbackBatchResponse.of(List.of(
+                FeedbackBatchItemResult.created(0, feedbackResponse),
+                FeedbackBatchItemResult.failed(1, HttpStatus.BAD_REQUEST, "evaluation : L'évaluation doit être entre 1 et 5"))));
+
+        mockMvc.perform(post("/api/feedbacks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new FeedbackBatchCreateRequest(List.of(createRequest, invalid)))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.results[1].status").value(400));
+    }
+
+    @Test
+    void createFeedbacks_EmptyBatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/feedbacks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FeedbackBatchCreateRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.feedbacks").exists());
+
+        verify(feedbackService, never()).createFeedbacks(anyList());
+    }
+
     @Test
     void getAllFeedbacks_ShouldReturnList() throws Exception {
-        List<FeedbackResponse> list = Arrays.asList(feedbackResponse);
-        when(feedbackService.getAllFeedbacks()).thenReturn(list);
+        when(feedbackService.getAllFeedbacks()).thenReturn(FeedbackColumns.ofResponses(Arrays.asList(feedbackResponse)));
 
         mockMvc.perform(get("/api/feedbacks"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(1));
     }
 
+    @Test
+    void getAverageRatingsByRecetteIds_ShouldReturnList() throws Exception {
+        when(feedbackService.getAverageRatingsByRecetteIds(List.of("20", "21"))).thenReturn(List.of(
+                AverageRatingResponse.builder().recetteId(20L).averageRating(4.5).totalFeedbacks(2L).build(),
+                AverageRatingResponse.builder().recetteId(21L).averageRating(0.0).totalFeedbacks(0L).build()));
+
+        mockMvc.perform(get("/api/feedbacks/average").param("recetteIds", "20,21"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].averageRating").value(4.5));
+    }
+
+    @Test
+    void getFeedbacksPage_ShouldReturnPage() throws Exception {
+        FeedbackPageResponse page = FeedbackPageResponse.builder()
+                .content(Arrays.asList(feedbackResponse))
+                .page(0)
+                .size(1)
+                .hasNext(true)
+                .nextCursor("abc")
+                .build();
+        when(feedbackService.getFeedbacksPage(0, 1, null)).thenReturn(page);
+
+        mockMvc.perform(get("/api/feedbacks/page").param("page", "0").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    void getFeedbacksPageByRecetteId_WithCursor_ShouldReturnPage() throws Exception {
+        FeedbackPageResponse page = FeedbackPageResponse.builder()
+                .content(Arrays.asList(feedbackResponse))
+                .size(20)
+                .hasNext(false)
+                .build();
+        when(feedbackService.getFeedbacksPageByRecetteId("20", null, null, "abc")).thenReturn(page);
+
+        mockMvc.perform(get("/api/feedbacks/recette/{recetteId}/page", "20").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void exportFeedbacks_ShouldStreamNdjson() throws Exception {
+        FeedbackResponse other = FeedbackResponse.builder().id(2L).recetteId(20L).evaluation(3).build();
+        when(feedbackService.streamFeedbacks(null, "20", null, null)).thenReturn(Stream.of(feedbackResponse, other));
+
+        MvcResult result = mockMvc.perform(get("/api/feedbacks/export").param("recetteId", "20"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    void exportFeedbacks_PersistanceUnavailable_ShouldReturn503BeforeStreaming() throws Exception {
+        Stream<FeedbackResponse> failing = Stream.generate(() -> {
+            throw new RuntimeException("Erreur lors de la récupération de la page de feedbacks");
+        });
+        when(feedbackService.streamFeedbacks(null, null, null, null)).thenReturn(failing);
+
+        mockMvc.perform(get("/api/feedbacks/export"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     void getFeedbackById_ShouldReturnFeedback() throws Exception {
         when(feedbackService.getFeedbackById("1")).thenReturn(feedbackResponse);
@@ -89,14 +230,78 @@ public class FeedbackControllerTest {
 
     @Test
     void getFeedbacksByRecetteId_ShouldReturnList() throws Exception {
-        List<FeedbackResponse> list = Arrays.asList(feedbackResponse);
-        when(feedbackService.getFeedbacksByRecetteId("20")).thenReturn(list);
+        FeedbackColumns columns = FeedbackColumns.ofResponses(Arrays.asList(feedbackResponse));
+        when(feedbackService.getVersionedFeedbacksByRecetteId("20")).thenReturn(
+                Versioned.of("abc", () -> columns));
 
         mockMvc.perform(get("/api/feedbacks/recette/{recetteId}", "20"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"abc\""))
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andExpect(jsonPath("$.size()").value(1));
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_MatchingETag_ShouldReturnNotModifiedWithoutBody() throws Exception {
+        when(feedbackService.getVersionedFeedbacksByRecetteId("20")).thenReturn(
+                Versioned.of("abc", () -> {
+                    throw new AssertionError("contenu construit pour un 304");
+                }));
+
+        mockMvc.perform(get("/api/feedbacks/recette/{recetteId}", "20").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"abc\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_IfModifiedSince_ShouldStillReturnList() throws Exception {
+        // Une suppression ne fait pas avancer les dates des lignes restantes : seul l'ETag valide une liste
+        when(feedbackService.getVersionedFeedbacksByRecetteId("20")).thenReturn(
+                Versioned.of("abc", () -> FeedbackColumns.ofResponses(List.of(feedbackResponse))));
+
+        mockMvc.perform(get("/api/feedbacks/recette/{recetteId}", "20")
+                        .header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(1));
     }
 
+    @Test
+    void getFeedbacksByRecetteId_AcceptCbor_ShouldReturnCborWithEpochDatesAndOwnETag() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2025, 1, 15, 10, 30);
+        FeedbackResponse response = FeedbackResponse.builder().id(1L).recetteId(20L).evaluation(5).dateFeedback(date).build();
+        when(feedbackService.getVersionedFeedbacksByRecetteId("20")).thenReturn(
+                Versioned.of("abc", () -> FeedbackColumns.ofResponses(List.of(response))));
+
+        MvcResult result = mockMvc.perform(get("/api/feedbacks/recette/{recetteId}", "20")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "W/\"abc-cbor\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn();
+
+        JsonNode feedbacks = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(1L, feedbacks.get(0).get("id").asLong());
+        assertEquals(date.atZone(ZoneId.of("Europe/Paris")).toInstant().toEpochMilli(),
+                feedbacks.get(0).get("dateFeedback").asLong());
+        // L'ETag JSON ne valide pas la représentation CBOR
+        mockMvc.perform(get("/api/feedbacks/recette/{recetteId}", "20")
+                        .accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"abc\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getFeedbacksByUtilisateurId_StaleETag_ShouldReturnList() throws Exception {
+        when(feedbackService.getVersionedFeedbacksByUtilisateurId("10")).thenReturn(
+                Versioned.of("def", () -> FeedbackColumns.ofResponses(List.of(feedbackResponse))));
+
+        mockMvc.perform(get("/api/feedbacks/utilisateur/{utilisateurId}", "10").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"def\""))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
     @Test
     void getAverageRatingByRecetteId_ShouldReturnAverage() throws Exception {
         AverageRatingResponse avgResponse = AverageRatingResponse.builder()
@@ -105,11 +310,33 @@ public class FeedbackControllerTest {
                 .totalFeedbacks(10L)
                 .build();
 
-        when(feedbackService.getAverageRatingByRecetteId("20")).thenReturn(avgResponse);
+        when(feedbackService.getVersionedAverageRatingByRecetteId("20")).thenReturn(
+                Versioned.of("10-4.5", () -> avgResponse));
 
         mockMvc.perform(get("/api/feedbacks/recette/{recetteId}/average", "20"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"10-4.5\""))
                 .andExpect(jsonPath("$.averageRating").value(4.5));
+        mockMvc.perform(get("/api/feedbacks/recette/{recetteId}/average", "20").header("If-None-Match", "\"10-4.5\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getRatingDistributionByRecetteId_ShouldReturnDistribution() throws Exception {
+        RatingDistributionResponse distribution = RatingDistributionResponse.builder()
+                .recetteId(20L)
+                .totalFeedbacks(2L)
+                .averageRating(4.5)
+                .distribution(List.of(new RatingDistributionResponse.StarCount(5, 1L, 50.0)))
+                .build();
+        when(feedbackService.getVersionedRatingDistributionByRecetteId("20")).thenReturn(
+                Versioned.of("d-0-0-0-1-1", () -> distribution));
+
+        mockMvc.perform(get("/api/feedbacks/recette/{recetteId}/distribution", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"d-0-0-0-1-1\""))
+                .andExpect(jsonPath("$.distribution[0].stars").value(5))
+                .andExpect(jsonPath("$.distribution[0].percentage").value(50.0));
     }
 
     @Test
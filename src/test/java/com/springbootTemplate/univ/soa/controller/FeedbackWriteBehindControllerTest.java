@@ -0,0 +1,100 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springbootTemplate.univ.soa.dto.FeedbackCreateRequest;
+import com.springbootTemplate.univ.soa.dto.FeedbackUpdateRequest;
+import com.springbootTemplate.univ.soa.dto.FeedbackWriteReceipt;
+import com.springbootTemplate.univ.soa.exception.WriteBehindRejectedException;
+import com.springbootTemplate.univ.soa.writebehind.FeedbackWriteBehind;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = FeedbackWriteBehindController.class, properties = "feedback.write-behind.enabled=true")
+public class FeedbackWriteBehindControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FeedbackWriteBehind writeBehind;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final FeedbackCreateRequest createRequest =
+            FeedbackCreateRequest.builder().utilisateurId(10L).recetteId(20L).evaluation(5).build();
+
+    @Test
+    void createFeedbackAsync_ShouldReturnAcceptedWithTrackingLocation() throws Exception {
+        when(writeBehind.submitCreate(any(FeedbackCreateRequest.class))).thenReturn(FeedbackWriteReceipt.pending("abc"));
+
+        mockMvc.perform(post("/api/feedbacks/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/feedbacks/async/abc"))
+                .andExpect(jsonPath("$.trackingId").value("abc"))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+    }
+
+    @Test
+    void createFeedbackAsync_InvalidRequest_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/feedbacks/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(FeedbackCreateRequest.builder().utilisateurId(10L).build())))
+                .andExpect(status().isBadRequest());
+
+        verify(writeBehind, never()).submitCreate(any());
+    }
+
+    @Test
+    void createFeedbackAsync_QueueFull_ShouldReturn503WithRetryAfter() throws Exception {
+        when(writeBehind.submitCreate(any(FeedbackCreateRequest.class)))
+                .thenThrow(new WriteBehindRejectedException("File des écritures différées pleine, réessayer plus tard"));
+
+        mockMvc.perform(post("/api/feedbacks/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void updateFeedbackAsync_ShouldReturnAccepted() throws Exception {
+        when(writeBehind.submitUpdate(eq("1"), any(FeedbackUpdateRequest.class))).thenReturn(FeedbackWriteReceipt.pending("def"));
+
+        mockMvc.perform(put("/api/feedbacks/{id}/async", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(FeedbackUpdateRequest.builder().evaluation(4).build())))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.trackingId").value("def"));
+    }
+
+    @Test
+    void getWriteReceipt_ShouldReturnOutcomeOr404() throws Exception {
+        when(writeBehind.getReceipt("abc")).thenReturn(Optional.of(
+                FeedbackWriteReceipt.failed(HttpStatus.CONFLICT, "Vous avez déjà noté cette recette.").toBuilder()
+                        .trackingId("abc").build()));
+        when(writeBehind.getReceipt("unknown")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/feedbacks/async/{trackingId}", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("FAILED"))
+                .andExpect(jsonPath("$.status").value(409));
+        mockMvc.perform(get("/api/feedbacks/async/{trackingId}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
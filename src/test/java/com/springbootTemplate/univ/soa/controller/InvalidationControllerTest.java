@@ -0,0 +1,78 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springbootTemplate.univ.soa.config.CacheConfig;
+import com.springbootTemplate.univ.soa.config.InvalidationProperties;
+import com.springbootTemplate.univ.soa.invalidation.CacheInvalidationBus;
+import com.springbootTemplate.univ.soa.invalidation.HttpInvalidationTransport;
+import com.springbootTemplate.univ.soa.invalidation.InvalidationMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = InvalidationController.class,
+        properties = {"feedback.invalidation.enabled=true", "feedback.invalidation.token=secret"})
+@Import(CacheConfig.class)
+public class InvalidationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<InvalidationMessage> messages = List.of(
+            new InvalidationMessage("pod-a", 1, Set.of(20L), Set.of(10L), Set.of(1L)),
+            InvalidationMessage.invalidateAll("pod-a", 2));
+
+    @Test
+    void receiveInvalidations_ValidToken_ShouldApplyAndReturnNoContent() throws Exception {
+        mockMvc.perform(post("/internal/invalidations")
+                        .header(HttpInvalidationTransport.TOKEN_HEADER, "secret")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(messages)))
+                .andExpect(status().isNoContent());
+
+        verify(invalidationBus).receive(messages);
+    }
+
+    @Test
+    void receiveInvalidations_MissingOrWrongToken_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(post("/internal/invalidations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(messages)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/internal/invalidations")
+                        .header(HttpInvalidationTransport.TOKEN_HEADER, "secreT")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(messages)))
+                .andExpect(status().isForbidden());
+
+        verify(invalidationBus, never()).receive(any());
+    }
+
+    @Test
+    void constructor_BlankToken_ShouldRefuseToStart() {
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setEnabled(true);
+        assertThrows(IllegalStateException.class, () -> new InvalidationController(invalidationBus, properties));
+        properties.setToken(" ");
+        assertThrows(IllegalStateException.class, () -> new InvalidationController(invalidationBus, properties));
+    }
+}
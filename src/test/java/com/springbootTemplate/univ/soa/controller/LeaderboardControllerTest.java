@@ -0,0 +1,62 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.springbootTemplate.univ.soa.dto.LeaderboardEntryResponse;
+import com.springbootTemplate.univ.soa.rating.RecipeLeaderboard;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LeaderboardController.class)
+public class LeaderboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RecipeLeaderboard leaderboard;
+
+    @Test
+    void getLeaderboard_ShouldReturnRankedRecipes() throws Exception {
+        when(leaderboard.getTop("rating", "week", 2)).thenReturn(List.of(
+                LeaderboardEntryResponse.builder().rank(1).recetteId(5L).totalFeedbacks(42L)
+                        .averageRating(4.6).bayesianAverageRating(4.45).build(),
+                LeaderboardEntryResponse.builder().rank(2).recetteId(8L).totalFeedbacks(3L)
+                        .averageRating(5.0).bayesianAverageRating(3.75).build()));
+
+        mockMvc.perform(get("/api/feedbacks/leaderboard")
+                        .param("sort", "rating")
+                        .param("window", "week")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].recetteId").value(5))
+                .andExpect(jsonPath("$[1].bayesianAverageRating").value(3.75));
+    }
+
+    @Test
+    void getLeaderboard_InvalidWindow_ShouldReturnBadRequest() throws Exception {
+        when(leaderboard.getTop(null, "year", null))
+                .thenThrow(new IllegalArgumentException("Fenêtre de classement invalide: year (all, day, week, month)"));
+
+        mockMvc.perform(get("/api/feedbacks/leaderboard").param("window", "year"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getLeaderboard_NotLoadedYet_ShouldReturnServiceUnavailable() throws Exception {
+        when(leaderboard.getTop(null, null, null))
+                .thenThrow(new IllegalStateException("Classement des recettes en cours de chargement, réessayer plus tard"));
+
+        mockMvc.perform(get("/api/feedbacks/leaderboard"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
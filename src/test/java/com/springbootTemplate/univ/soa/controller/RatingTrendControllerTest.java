@@ -0,0 +1,51 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.springbootTemplate.univ.soa.dto.RatingTrendResponse;
+import com.springbootTemplate.univ.soa.rating.RatingTrendStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RatingTrendController.class)
+public class RatingTrendControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RatingTrendStore ratingTrendStore;
+
+    @Test
+    void getRatingTrendByRecetteId_ShouldReturnWindows() throws Exception {
+        when(ratingTrendStore.getTrendResponse(20L)).thenReturn(RatingTrendResponse.builder()
+                .recetteId(20L)
+                .windows(List.of(RatingTrendResponse.WindowTrend.builder()
+                        .window("7d").totalFeedbacks(12L).averageRating(4.25)
+                        .previousTotalFeedbacks(8L).previousAverageRating(3.9)
+                        .feedbacksChange(4L).ratingChange(0.35).build()))
+                .build());
+
+        mockMvc.perform(get("/api/feedbacks/recette/{recetteId}/trend", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recetteId").value(20))
+                .andExpect(jsonPath("$.windows[0].window").value("7d"))
+                .andExpect(jsonPath("$.windows[0].ratingChange").value(0.35));
+    }
+
+    @Test
+    void getRatingTrendByRecetteId_InvalidId_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/feedbacks/recette/{recetteId}/trend", "abc"))
+                .andExpect(status().isBadRequest());
+
+        verify(ratingTrendStore, never()).getTrendResponse(anyLong());
+    }
+}
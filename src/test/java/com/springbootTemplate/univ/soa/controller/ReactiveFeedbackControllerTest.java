@@ -0,0 +1,78 @@
+package com.springbootTemplate.univ.soa.controller;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackResponse;
+import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import com.springbootTemplate.univ.soa.service.ReactiveFeedbackService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveFeedbackController.class)
+public class ReactiveFeedbackControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveFeedbackService feedbackService;
+
+    private static FeedbackResponse response(long id) {
+        return FeedbackResponse.builder().id(id).utilisateurId(10L).recetteId(20L).evaluation(4).build();
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_Json_ShouldReturnArray() throws Exception {
+        when(feedbackService.getFeedbacksByRecetteId("20")).thenReturn(Flux.just(response(1), response(2)));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/feedbacks/recette/{recetteId}", "20")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_Ndjson_ShouldWriteOneFeedbackPerLine() throws Exception {
+        when(feedbackService.getFeedbacksByRecetteId("20")).thenReturn(Flux.just(response(1), response(2)));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/feedbacks/recette/{recetteId}", "20")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(2, lines.length);
+    }
+
+    @Test
+    void getFeedbackById_NotFound_ShouldReturn404() throws Exception {
+        when(feedbackService.getFeedbackById("99"))
+                .thenReturn(Mono.error(new FeedbackNotFoundException("Feedback non trouvé avec l'ID: 99")));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/feedbacks/{id}", "99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,144 @@
+package com.springbootTemplate.univ.soa.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springbootTemplate.univ.soa.config.CborConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackColumnsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 11, 5, 14, 30);
+
+    /** Réglages de l'application : dates en texte ISO */
+    private final ObjectMapper objectMapper = isoDates().build();
+
+    @Test
+    void serialize_Json_SameBytesAsResponseList() throws IOException {
+        List<FeedbackDTO> feedbacks = feedbacks();
+
+        assertEquals(objectMapper.writeValueAsString(responses(feedbacks)),
+                objectMapper.writeValueAsString(FeedbackColumns.of(feedbacks)));
+        assertEquals("[]", objectMapper.writeValueAsString(FeedbackColumns.of(List.of())));
+    }
+
+    @Test
+    void serialize_CborEpochDatesTimestampsAndNonNull_SameBytesAsResponseList() throws IOException {
+        List<FeedbackDTO> feedbacks = feedbacks();
+        ObjectMapper cbor = CborConfig.cborObjectMapper(new Jackson2ObjectMapperBuilder(), ZoneId.of("Europe/Paris"));
+        ObjectMapper timestamps = new Jackson2ObjectMapperBuilder()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        ObjectMapper nonNull = isoDates().serializationInclusion(JsonInclude.Include.NON_NULL).build();
+        ObjectMapper nonEmpty = isoDates().serializationInclusion(JsonInclude.Include.NON_EMPTY).build();
+
+        for (ObjectMapper mapper : List.of(cbor, timestamps, nonNull, nonEmpty)) {
+            assertArrayEquals(mapper.writeValueAsBytes(responses(feedbacks)),
+                    mapper.writeValueAsBytes(FeedbackColumns.of(feedbacks)));
+        }
+    }
+
+    @Test
+    void ofResponsesAndAsList_RoundTripRows() {
+        List<FeedbackResponse> responses = responses(feedbacks());
+
+        FeedbackColumns columns = FeedbackColumns.ofResponses(responses);
+
+        assertEquals(responses.size(), columns.size());
+        assertEquals(responses, columns.asList());
+        assertEquals(responses.get(0), columns.get(0));
+    }
+
+    @Test
+    void formatIso_MatchesIsoLocalDateTime() {
+        Random random = new Random(42);
+        char[] buffer = new char[29];
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime date = LocalDateTime.of(random.nextInt(10_000), 1, 1, 0, 0)
+                    .plusSeconds(random.nextInt(366 * 86_400))
+                    .withNano(switch (i % 4) {
+                        case 0 -> 0;
+                        case 1 -> random.nextInt(1_000) * 1_000_000;
+                        case 2 -> random.nextInt(1_000_000) * 1_000;
+                        default -> random.nextInt(1_000_000_000);
+                    });
+
+            if (date.getYear() > 9_999) {
+                continue;
+            }
+
+            int length = FeedbackColumnsSerializer.formatIso(FeedbackColumns.epochSecond(date), date.getNano(), buffer);
+
+            assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(date), new String(buffer, 0, length));
+        }
+        LocalDateTime afterYear9999 = LocalDateTime.of(10_000, 1, 1, 0, 0);
+        assertEquals(-1, FeedbackColumnsSerializer.formatIso(FeedbackColumns.epochSecond(afterYear9999), 0, buffer));
+        LocalDateTime beforeYear0 = LocalDateTime.of(-1, 12, 31, 23, 59);
+        assertEquals(-1, FeedbackColumnsSerializer.formatIso(FeedbackColumns.epochSecond(beforeYear0), 0, buffer));
+    }
+
+    @Test
+    void serialize_DatesOutsideNanosecondEpochRange_SameBytesAsResponseList() throws IOException {
+        // Au-delà de 2262 (ou avant 1677), des nanosecondes epoch ne tiennent plus dans un long
+        List<FeedbackDTO> feedbacks = List.of(
+                FeedbackDTO.builder().id(1L).recetteId(20L).evaluation(4)
+                        .dateFeedback(LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999))
+                        .dateModification(LocalDateTime.of(1, 1, 1, 0, 0)).build(),
+                FeedbackDTO.builder().id(2L).recetteId(20L).evaluation(2)
+                        .dateFeedback(LocalDateTime.of(12_345, 6, 7, 8, 9, 10, 500_000_000))
+                        .dateModification(LocalDateTime.of(-44, 3, 15, 12, 0)).build());
+        ObjectMapper cbor = CborConfig.cborObjectMapper(new Jackson2ObjectMapperBuilder(), ZoneId.of("Europe/Paris"));
+        ObjectMapper timestamps = new Jackson2ObjectMapperBuilder()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+        for (ObjectMapper mapper : List.of(objectMapper, cbor, timestamps)) {
+            assertArrayEquals(mapper.writeValueAsBytes(responses(feedbacks)),
+                    mapper.writeValueAsBytes(FeedbackColumns.of(feedbacks)));
+        }
+        assertEquals(responses(feedbacks), FeedbackColumns.of(feedbacks).asList());
+        assertTrue(objectMapper.writeValueAsString(FeedbackColumns.of(feedbacks))
+                .contains("\"dateFeedback\":\"+12345-06-07T08:09:10.5\""));
+    }
+
+    private static Jackson2ObjectMapperBuilder isoDates() {
+        return new Jackson2ObjectMapperBuilder().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static List<FeedbackDTO> feedbacks() {
+        List<FeedbackDTO> feedbacks = new ArrayList<>();
+        feedbacks.add(FeedbackDTO.builder().id(1L).utilisateurId(10L).recetteId(20L).evaluation(5)
+                .commentaire("Excellente recette, \"vraiment\" à refaire !")
+                .dateFeedback(BASE).dateModification(BASE.plusNanos(120_000_000)).build());
+        feedbacks.add(FeedbackDTO.builder().id(2L).utilisateurId(11L).recetteId(20L).evaluation(3)
+                .commentaire("").dateFeedback(BASE.minusYears(300).plusNanos(1)).build());
+        // Feedback incomplet : champs null
+        feedbacks.add(FeedbackDTO.builder().id(3L).build());
+        feedbacks.add(FeedbackDTO.builder().id(Long.MAX_VALUE).utilisateurId(-1L).recetteId(0L).evaluation(0)
+                .dateFeedback(LocalDateTime.of(2261, 12, 31, 23, 59, 59, 999_999_999)).build());
+        return feedbacks;
+    }
+
+    private static List<FeedbackResponse> responses(List<FeedbackDTO> feedbacks) {
+        return feedbacks.stream()
+                .map(dto -> FeedbackResponse.builder()
+                        .id(dto.getId())
+                        .utilisateurId(dto.getUtilisateurId())
+                        .recetteId(dto.getRecetteId())
+                        .evaluation(dto.getEvaluation())
+                        .commentaire(dto.getCommentaire())
+                        .dateFeedback(dto.getDateFeedback())
+                        .dateModification(dto.getDateModification())
+                        .build())
+                .toList();
+    }
+}
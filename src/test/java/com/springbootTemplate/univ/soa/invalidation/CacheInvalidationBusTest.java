@@ -0,0 +1,179 @@
+package com.springbootTemplate.univ.soa.invalidation;
+
+import com.springbootTemplate.univ.soa.config.InvalidationProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationBusTest {
+
+    /**
+     * Réseau en mémoire entre instances : livraison directe à {@link CacheInvalidationBus#receive},
+     * échecs injectés par instance destinataire
+     */
+    private final Map<String, CacheInvalidationBus> network = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final InvalidationTransport transport = (peer, messages) -> {
+        attempts.incrementAndGet();
+        if (failures.getOrDefault(peer, new AtomicInteger()).getAndDecrement() > 0) {
+            throw new IllegalStateException("Instance " + peer + " injoignable");
+        }
+        network.get(peer).receive(messages);
+    };
+
+    private final List<FeedbackInvalidatedEvent> receivedByB = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registryA = new SimpleMeterRegistry();
+    private CacheInvalidationBus busA;
+    private CacheInvalidationBus busB;
+
+    @BeforeEach
+    void setUp() {
+        busA = bus("b", event -> { }, registryA);
+        busB = bus("a", event -> receivedByB.add((FeedbackInvalidatedEvent) event), new SimpleMeterRegistry());
+        network.put("a", busA);
+        network.put("b", busB);
+        busA.start();
+        busB.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        busA.drain();
+        busB.drain();
+    }
+
+    private CacheInvalidationBus bus(String peer, org.springframework.context.ApplicationEventPublisher publisher,
+                                     SimpleMeterRegistry registry) {
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setPeers(List.of(peer));
+        properties.setRetryDelay(Duration.ofMillis(5));
+        properties.setMaxRetryDelay(Duration.ofMillis(20));
+        properties.setQueueCapacity(3);
+        return new CacheInvalidationBus(properties, transport, publisher, registry);
+    }
+
+    private static FeedbackDTO feedback(long id, long utilisateurId, long recetteId) {
+        return FeedbackDTO.builder().id(id).utilisateurId(utilisateurId).recetteId(recetteId).evaluation(4).build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition non atteinte");
+            Thread.sleep(5);
+        }
+    }
+
+    private double counter(String result) {
+        return registryA.get("feedback.invalidation.messages").tag("result", result).counter().count();
+    }
+
+    @Test
+    void onFeedbackChanged_DeliversAllIdsToOtherInstance() throws InterruptedException {
+        busA.onFeedbackChanged(FeedbackChangedEvent.updated(feedback(1, 10, 20), feedback(1, 10, 21), System.nanoTime()));
+
+        await(() -> receivedByB.size() == 1);
+        FeedbackInvalidatedEvent event = receivedByB.get(0);
+        assertEquals(Set.of(20L, 21L), event.recetteIds());
+        assertEquals(Set.of(10L), event.utilisateurIds());
+        assertEquals(Set.of(1L), event.feedbackIds());
+        await(() -> counter("sent") == 1);
+    }
+
+    @Test
+    void onFeedbackChanged_PeerUnreachable_RetriesUntilDeliveredInOrder() throws InterruptedException {
+        failures.put("b", new AtomicInteger(3));
+
+        busA.onFeedbackChanged(FeedbackChangedEvent.created(feedback(1, 10, 20), System.nanoTime()));
+        busA.onFeedbackChanged(FeedbackChangedEvent.deleted(feedback(2, 11, 21), System.nanoTime()));
+
+        await(() -> receivedByB.size() == 2);
+        assertTrue(attempts.get() >= 4);
+        assertEquals(Set.of(20L), receivedByB.get(0).recetteIds());
+        assertEquals(Set.of(21L), receivedByB.get(1).recetteIds());
+        assertEquals(0, busA.getPendingCount());
+    }
+
+    @Test
+    void onFeedbackChanged_QueueFull_CollapsesIntoInvalidateAll() throws InterruptedException {
+        failures.put("b", new AtomicInteger(Integer.MAX_VALUE));
+        for (long recetteId = 1; recetteId <= 5; recetteId++) {
+            busA.onFeedbackChanged(FeedbackChangedEvent.created(feedback(recetteId, 10, recetteId), System.nanoTime()));
+        }
+        await(() -> counter("collapsed") > 0);
+        assertTrue(busA.getPendingCount() <= 3);
+        assertEquals(0, counter("dropped"));
+
+        failures.get("b").set(0);
+
+        // Aucune écriture perdue : invalidation complète, puis les messages arrivés après la saturation
+        await(() -> busA.getPendingCount() == 0);
+        assertTrue(receivedByB.get(0).all());
+        assertTrue(receivedByB.stream().skip(1).noneMatch(FeedbackInvalidatedEvent::all));
+        assertTrue(receivedByB.stream().skip(1).allMatch(event -> event.recetteIds().size() == 1));
+    }
+
+    @Test
+    void receive_InvalidateAll_PublishesInvalidateAllEvent() {
+        busB.receive(List.of(InvalidationMessage.invalidateAll("pod-c", 7),
+                new InvalidationMessage("pod-c", 8, Set.of(20L), Set.of(), Set.of())));
+
+        assertEquals(2, receivedByB.size());
+        assertTrue(receivedByB.get(0).all());
+        assertEquals(Set.of(20L), receivedByB.get(1).recetteIds());
+    }
+
+    @Test
+    void receive_DuplicateOrOutOfOrderMessages_OnlyFreshIdsPublished() {
+        busB.receive(List.of(
+                new InvalidationMessage("pod-c", 2, Set.of(20L), Set.of(10L), Set.of(1L)),
+                // Renvoi du même message
+                new InvalidationMessage("pod-c", 2, Set.of(20L), Set.of(10L), Set.of(1L)),
+                // Arrivé après le message 2 : seule la recette 21 est nouvelle
+                new InvalidationMessage("pod-c", 1, Set.of(20L, 21L), Set.of(10L), Set.of(1L)),
+                // Autre instance d'origine : numérotation indépendante
+                new InvalidationMessage("pod-d", 1, Set.of(20L), Set.of(), Set.of())));
+
+        List<Set<Long>> recettes = new ArrayList<>();
+        receivedByB.forEach(event -> recettes.add(event.recetteIds()));
+        assertEquals(List.of(Set.of(20L), Set.of(21L), Set.of(20L)), recettes);
+        assertEquals(Set.of(), receivedByB.get(1).utilisateurIds());
+        assertEquals(Set.of(), receivedByB.get(1).feedbackIds());
+    }
+
+    @Test
+    void receive_OwnMessages_Ignored() throws InterruptedException {
+        List<InvalidationMessage> own = new CopyOnWriteArrayList<>();
+        network.put("b", new CacheInvalidationBus(new InvalidationProperties(), transport, event -> { },
+                new SimpleMeterRegistry()) {
+            @Override
+            public void receive(List<InvalidationMessage> messages) {
+                own.addAll(messages);
+            }
+        });
+        busA.onFeedbackChanged(FeedbackChangedEvent.created(feedback(1, 10, 20), System.nanoTime()));
+        await(() -> own.size() == 1);
+
+        busA.receive(own);
+
+        assertEquals(0, counter("received"));
+        assertEquals(0, counter("ignored"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.springbootTemplate.univ.soa.cache.RecetteFeedbackCache;
+import com.springbootTemplate.univ.soa.config.RatingAggregateProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingAggregateStoreTest {
+
+    @Mock
+    private RecetteFeedbackCache recetteFeedbackCache;
+
+    private RatingAggregateStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RatingAggregateStore(recetteFeedbackCache, new RatingAggregateProperties(), new SimpleMeterRegistry());
+    }
+
+    private static FeedbackDTO feedback(long id, int evaluation) {
+        return FeedbackDTO.builder().id(id).recetteId(20L).evaluation(evaluation).build();
+    }
+
+    private void seed(FeedbackDTO... feedbacks) {
+        when(recetteFeedbackCache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE))
+                .thenReturn(List.of(feedbacks));
+    }
+
+    @Test
+    void getAggregate_SeedsCountSumAndHistogram() {
+        seed(feedback(1, 5), feedback(2, 5), feedback(3, 2));
+
+        RatingAggregate aggregate = store.getAggregate(20L);
+
+        assertEquals(3, aggregate.getCount());
+        assertEquals(12, aggregate.getSum());
+        assertEquals(2, aggregate.getCount(5));
+        assertEquals(1, aggregate.getCount(2));
+        assertEquals(0, aggregate.getCount(1));
+    }
+
+    @Test
+    void onFeedbackChanged_AppliesCreateUpdateAndDeleteDeltas() {
+        seed(feedback(1, 4));
+        store.getAggregate(20L);
+
+        store.onFeedbackChanged(FeedbackChangedEvent.created(feedback(2, 2), System.nanoTime()));
+        store.onFeedbackChanged(FeedbackChangedEvent.updated(feedback(1, 4), feedback(1, 5), System.nanoTime()));
+        store.onFeedbackChanged(FeedbackChangedEvent.deleted(feedback(2, 2), System.nanoTime()));
+
+        RatingAggregate aggregate = store.getAggregate(20L);
+        assertEquals(1, aggregate.getCount());
+        assertEquals(5.0, aggregate.getAverage());
+        verify(recetteFeedbackCache, times(1)).getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE);
+    }
+
+    @Test
+    void onFeedbackChanged_AggregateLoadedDuringWrite_IsReloaded() {
+        long writeStartedAt = System.nanoTime();
+        seed(feedback(1, 4), feedback(2, 2));
+        store.getAggregate(20L);
+
+        // Le chargement a pu inclure l'écriture : pas de delta, rechargement au prochain accès
+        store.onFeedbackChanged(FeedbackChangedEvent.created(feedback(2, 2), writeStartedAt));
+        RatingAggregate aggregate = store.getAggregate(20L);
+
+        assertEquals(2, aggregate.getCount());
+        verify(recetteFeedbackCache, times(2)).getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE);
+    }
+
+    @Test
+    void onFeedbackInvalidated_WriteOnAnotherInstance_IsReloaded() {
+        seed(feedback(1, 4));
+        store.getAggregate(20L);
+        seed(feedback(1, 4), feedback(2, 2));
+
+        store.onFeedbackInvalidated(new FeedbackInvalidatedEvent(Set.of(20L), Set.of(), Set.of()));
+
+        assertEquals(2, store.getAggregate(20L).getCount());
+        verify(recetteFeedbackCache, times(2)).getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE);
+    }
+
+    @Test
+    void onFeedbackInvalidated_MessagesLost_AllAggregatesReloaded() {
+        seed(feedback(1, 4));
+        store.getAggregate(20L);
+        seed(feedback(1, 4), feedback(2, 2));
+
+        store.onFeedbackInvalidated(FeedbackInvalidatedEvent.invalidateAll());
+
+        assertNull(store.getAggregateIfLoaded(20L));
+        assertEquals(2, store.getAggregate(20L).getCount());
+    }
+
+    @Test
+    void onFeedbackChanged_RecetteNotLoaded_IsIgnored() {
+        store.onFeedbackChanged(FeedbackChangedEvent.created(feedback(1, 5), System.nanoTime()));
+
+        verifyNoInteractions(recetteFeedbackCache);
+    }
+}
@@ -0,0 +1,37 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingAggregateTest {
+
+    private static RatingAggregate aggregate(int... evaluations) {
+        return RatingAggregate.of(Arrays.stream(evaluations)
+                .mapToObj(evaluation -> FeedbackDTO.builder().evaluation(evaluation).build())
+                .toList(), 0L);
+    }
+
+    @Test
+    void getBayesianAverage_PullsSparselyRatedRecipesTowardsPrior() {
+        RatingAggregate single = aggregate(5);
+        RatingAggregate many = aggregate(5, 5, 5, 5, 5, 5, 5, 5, 5, 5);
+
+        assertEquals(3.0, RatingAggregate.empty(0L).getBayesianAverage(3.0, 5));
+        assertEquals(20.0 / 6, single.getBayesianAverage(3.0, 5), 1e-9);
+        assertTrue(many.getBayesianAverage(3.0, 5) > single.getBayesianAverage(3.0, 5));
+        assertEquals(5.0, single.getBayesianAverage(3.0, 0));
+    }
+
+    @Test
+    void getVariance_FollowsDeltas() {
+        RatingAggregate aggregate = aggregate(5, 5, 4, 2);
+
+        assertEquals(1.5, aggregate.getVariance(), 1e-9);
+        assertEquals(0.0, aggregate.withDelta(2, -1).withDelta(4, -1).getVariance(), 1e-9);
+        assertEquals(0.0, RatingAggregate.empty(0L).getVariance());
+    }
+}
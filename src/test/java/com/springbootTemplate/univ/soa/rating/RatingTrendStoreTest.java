@@ -0,0 +1,149 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.springbootTemplate.univ.soa.cache.RecetteFeedbackCache;
+import com.springbootTemplate.univ.soa.config.RatingTrendProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.RatingTrendResponse;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingTrendStoreTest {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 15, 12, 30);
+
+    @Mock
+    private RecetteFeedbackCache recetteFeedbackCache;
+
+    private RatingTrendStore store;
+    private long ids;
+
+    @BeforeEach
+    void setUp() {
+        store = new RatingTrendStore(recetteFeedbackCache, new RatingTrendProperties(), new SimpleMeterRegistry(),
+                Clock.fixed(NOW.atZone(PARIS).toInstant(), PARIS));
+    }
+
+    private FeedbackDTO feedback(int evaluation, LocalDateTime date) {
+        return FeedbackDTO.builder().id(++ids).recetteId(20L).evaluation(evaluation).dateFeedback(date).build();
+    }
+
+    private void seed(FeedbackDTO... feedbacks) {
+        when(recetteFeedbackCache.getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE))
+                .thenReturn(List.of(feedbacks));
+    }
+
+    private static RatingTrendResponse.WindowTrend window(RatingTrendResponse response, String label) {
+        return response.getWindows().stream().filter(w -> w.getWindow().equals(label)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void getTrendResponse_ComparesEachWindowWithThePreviousPeriod() {
+        seed(feedback(5, NOW.minusHours(1)),
+                feedback(3, NOW.minusHours(30)),
+                feedback(4, NOW.minusDays(3)),
+                feedback(2, NOW.minusDays(10)),
+                feedback(1, NOW.minusDays(100)),
+                feedback(5, NOW.minusDays(200)));
+
+        RatingTrendResponse response = store.getTrendResponse(20L);
+
+        assertEquals(List.of("24h", "7d", "30d", "90d"),
+                response.getWindows().stream().map(RatingTrendResponse.WindowTrend::getWindow).toList());
+        RatingTrendResponse.WindowTrend day = window(response, "24h");
+        assertEquals(1L, day.getTotalFeedbacks());
+        assertEquals(5.0, day.getAverageRating());
+        assertEquals(1L, day.getPreviousTotalFeedbacks());
+        assertEquals(2.0, day.getRatingChange());
+
+        RatingTrendResponse.WindowTrend week = window(response, "7d");
+        assertEquals(3L, week.getTotalFeedbacks());
+        assertEquals(4.0, week.getAverageRating());
+        assertEquals(1L, week.getPreviousTotalFeedbacks());
+        assertEquals(2L, week.getFeedbacksChange());
+
+        RatingTrendResponse.WindowTrend quarter = window(response, "90d");
+        assertEquals(4L, quarter.getTotalFeedbacks());
+        // Feedback d'il y a 200 jours hors des 180 jours conservés
+        assertEquals(1L, quarter.getPreviousTotalFeedbacks());
+        assertEquals(1.0, quarter.getPreviousAverageRating());
+    }
+
+    @Test
+    void getTrendResponse_EmptyPreviousPeriod_HasNoRatingChange() {
+        seed(feedback(4, NOW.minusDays(1)));
+
+        RatingTrendResponse.WindowTrend month = window(store.getTrendResponse(20L), "30d");
+
+        assertEquals(1L, month.getTotalFeedbacks());
+        assertEquals(0L, month.getPreviousTotalFeedbacks());
+        assertEquals(0.0, month.getPreviousAverageRating());
+        assertNull(month.getRatingChange());
+    }
+
+    @Test
+    void onFeedbackChanged_AppliesCreateUpdateAndDeleteDeltas() {
+        FeedbackDTO old = feedback(2, NOW.minusDays(2));
+        seed(old);
+        store.getTrend(20L);
+
+        FeedbackDTO created = feedback(5, NOW);
+        store.onFeedbackChanged(FeedbackChangedEvent.created(created, System.nanoTime()));
+        FeedbackDTO updated = FeedbackDTO.builder().id(old.getId()).recetteId(20L).evaluation(4)
+                .dateFeedback(old.getDateFeedback()).build();
+        store.onFeedbackChanged(FeedbackChangedEvent.updated(old, updated, System.nanoTime()));
+
+        RatingTrendResponse.WindowTrend week = window(store.getTrendResponse(20L), "7d");
+        assertEquals(2L, week.getTotalFeedbacks());
+        assertEquals(4.5, week.getAverageRating());
+        assertEquals(1L, window(store.getTrendResponse(20L), "24h").getTotalFeedbacks());
+
+        store.onFeedbackChanged(FeedbackChangedEvent.deleted(created, System.nanoTime()));
+        assertEquals(0L, window(store.getTrendResponse(20L), "24h").getTotalFeedbacks());
+        verify(recetteFeedbackCache, times(1)).getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE);
+    }
+
+    @Test
+    void onFeedbackChanged_TrendLoadedDuringWrite_IsReloaded() {
+        long writeStartedAt = System.nanoTime();
+        seed(feedback(4, NOW));
+        store.getTrend(20L);
+
+        store.onFeedbackChanged(FeedbackChangedEvent.created(feedback(4, NOW), writeStartedAt));
+        store.getTrend(20L);
+
+        verify(recetteFeedbackCache, times(2)).getFeedbacksByRecetteId(20L, RecetteFeedbackCache.Endpoint.AVERAGE);
+    }
+
+    @Test
+    void ratingTrend_NewerDaysRecycleOldestSlots() {
+        List<FeedbackDTO> feedbacks = new ArrayList<>();
+        for (int daysAgo = 0; daysAgo < RatingTrend.DAYS + 20; daysAgo++) {
+            feedbacks.add(feedback(3, NOW.minusDays(daysAgo)));
+        }
+        RatingTrend trend = RatingTrend.of(feedbacks, System.nanoTime());
+        long today = RatingTrend.epochDay(NOW);
+
+        assertEquals(RatingTrend.DAYS, trend.getDailyCount(today - 1000, today));
+        assertEquals(3L * RatingTrend.DAYS, trend.getDailySum(today - 1000, today));
+
+        RatingTrend later = trend.withDelta(NOW.plusDays(10), 5, 1);
+        assertEquals(RatingTrend.DAYS - 10 + 1, later.getDailyCount(today - 1000, today + 10));
+        assertEquals(RatingTrend.DAYS, trend.getDailyCount(today - 1000, today));
+    }
+}
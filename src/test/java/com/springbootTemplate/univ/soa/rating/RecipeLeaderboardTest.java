@@ -0,0 +1,281 @@
+package com.springbootTemplate.univ.soa.rating;
+
+import com.springbootTemplate.univ.soa.client.PersistanceClient;
+import com.springbootTemplate.univ.soa.config.LeaderboardProperties;
+import com.springbootTemplate.univ.soa.config.RatingAggregateProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.FeedbackPageQuery;
+import com.springbootTemplate.univ.soa.dto.LeaderboardEntryResponse;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.event.FeedbackInvalidatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeLeaderboardTest {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 15, 12, 0);
+
+    @Mock
+    private PersistanceClient persistanceClient;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final List<FeedbackDTO> stored = new ArrayList<>();
+    private RecipeLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new RecipeLeaderboard(persistanceClient, new LeaderboardProperties(), new RatingAggregateProperties(),
+                new SimpleMeterRegistry(), Clock.fixed(NOW.atZone(PARIS).toInstant(), PARIS));
+    }
+
+    private FeedbackDTO feedback(long recetteId, int evaluation, int daysAgo) {
+        return FeedbackDTO.builder().id(ids.incrementAndGet()).recetteId(recetteId).evaluation(evaluation)
+                .dateFeedback(NOW.minusDays(daysAgo)).build();
+    }
+
+    private void store(long recetteId, int evaluation, int daysAgo, int times) {
+        for (int i = 0; i < times; i++) {
+            stored.add(feedback(recetteId, evaluation, daysAgo));
+        }
+    }
+
+    private void rebuild() {
+        when(persistanceClient.getFeedbacksPage(any(FeedbackPageQuery.class))).thenReturn(List.copyOf(stored));
+        leaderboard.rebuild();
+    }
+
+    private static List<Long> ids(List<LeaderboardEntryResponse> entries) {
+        return entries.stream().map(LeaderboardEntryResponse::getRecetteId).toList();
+    }
+
+    @Test
+    void getTop_BeforeFirstLoad_ShouldThrowIllegalState() {
+        assertThrows(IllegalStateException.class, () -> leaderboard.getTop(null, null, null));
+    }
+
+    @Test
+    void getTop_RanksByBayesianAverageOrByReviewCount() {
+        store(1, 5, 0, 5);   // bayésienne (15 + 25) / 10 = 4.0
+        store(2, 5, 0, 1);   // (15 + 5) / 6 = 3.33
+        store(3, 4, 0, 10);  // (15 + 40) / 15 = 3.67
+        rebuild();
+
+        List<LeaderboardEntryResponse> byRating = leaderboard.getTop("rating", null, null);
+        assertEquals(List.of(1L, 3L, 2L), ids(byRating));
+        assertEquals(1, byRating.get(0).getRank());
+        assertEquals(5.0, byRating.get(0).getAverageRating());
+        assertEquals(4.0, byRating.get(0).getBayesianAverageRating());
+        assertEquals(3.33, byRating.get(2).getBayesianAverageRating());
+
+        assertEquals(List.of(3L, 1L, 2L), ids(leaderboard.getTop("reviews", "all", null)));
+        assertEquals(List.of(1L, 3L), ids(leaderboard.getTop(null, null, 2)));
+    }
+
+    @Test
+    void getTop_WindowsOnlyCountRecentFeedbacks() {
+        store(1, 5, 60, 20);
+        store(2, 4, 20, 3);
+        store(3, 3, 5, 2);
+        store(4, 2, 0, 1);
+        rebuild();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(leaderboard.getTop("reviews", "all", null)));
+        assertEquals(List.of(2L, 3L, 4L), ids(leaderboard.getTop("reviews", "month", null)));
+        assertEquals(List.of(3L, 4L), ids(leaderboard.getTop("reviews", "week", null)));
+        assertEquals(List.of(4L), ids(leaderboard.getTop("reviews", "day", null)));
+        assertEquals(3L, leaderboard.getTop("reviews", "month", null).get(0).getTotalFeedbacks());
+    }
+
+    @Test
+    void onFeedbackChanged_AppliesCreateUpdateAndDeleteWithoutReload() {
+        store(1, 4, 0, 3);
+        store(2, 3, 0, 3);
+        rebuild();
+        assertEquals(List.of(1L, 2L), ids(leaderboard.getTop(null, "day", null)));
+
+        FeedbackDTO created = feedback(2, 5, 0);
+        leaderboard.onFeedbackChanged(FeedbackChangedEvent.created(created, System.nanoTime()));
+        leaderboard.onFeedbackChanged(FeedbackChangedEvent.created(feedback(2, 5, 0), System.nanoTime()));
+        FeedbackDTO updated = FeedbackDTO.builder().id(created.getId()).recetteId(2L).evaluation(1)
+                .dateFeedback(created.getDateFeedback()).build();
+        leaderboard.onFeedbackChanged(FeedbackChangedEvent.updated(created, updated, System.nanoTime()));
+        assertEquals(5L, leaderboard.getTop("reviews", "day", 1).get(0).getTotalFeedbacks());
+
+        leaderboard.onFeedbackChanged(FeedbackChangedEvent.deleted(updated, System.nanoTime()));
+        List<LeaderboardEntryResponse> top = leaderboard.getTop("reviews", "day", null);
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(4L, top.get(0).getTotalFeedbacks());
+        assertEquals(3.5, top.get(0).getAverageRating());
+        verify(persistanceClient, never()).getFeedbacksByRecetteId(any());
+    }
+
+    @Test
+    void rebuild_RecipeWrittenDuringLoad_IsReloadedBeforeSwap() {
+        store(1, 4, 0, 3);
+        store(2, 3, 0, 3);
+        FeedbackDTO late = feedback(2, 5, 0);
+        when(persistanceClient.getFeedbacksPage(any(FeedbackPageQuery.class))).thenAnswer(invocation -> {
+            // Écriture concurrente, absente de la page déjà lue
+            leaderboard.onFeedbackChanged(FeedbackChangedEvent.created(late, System.nanoTime()));
+            return List.copyOf(stored);
+        });
+        List<FeedbackDTO> recipe2 = new ArrayList<>(stored.subList(3, 6));
+        recipe2.add(late);
+        when(persistanceClient.getFeedbacksByRecetteId(2L)).thenReturn(recipe2);
+
+        leaderboard.rebuild();
+
+        assertEquals(List.of(2L, 1L), ids(leaderboard.getTop("reviews", null, null)));
+        assertEquals(4L, leaderboard.getTop("reviews", null, null).get(0).getTotalFeedbacks());
+        verify(persistanceClient, never()).getFeedbacksByRecetteId(1L);
+    }
+
+    @Test
+    void refresh_LocalWriteAppliedDuringRead_IsNotCountedTwice() {
+        store(1, 4, 0, 3);
+        store(2, 3, 0, 3);
+        rebuild();
+        FeedbackDTO late = feedback(2, 5, 0);
+        when(persistanceClient.getFeedbacksByRecetteId(2L)).thenAnswer(invocation -> {
+            if (!stored.contains(late)) {
+                // Écriture locale enregistrée puis notifiée pendant la lecture : la liste lue la contient déjà
+                long startedAt = System.nanoTime();
+                stored.add(late);
+                leaderboard.onFeedbackChanged(FeedbackChangedEvent.created(late, startedAt));
+            }
+            return stored.stream().filter(feedback -> feedback.getRecetteId() == 2L).toList();
+        });
+
+        leaderboard.refresh(Set.of(2L));
+
+        assertEquals(4L, leaderboard.getTop("reviews", null, 1).get(0).getTotalFeedbacks());
+        verify(persistanceClient, times(2)).getFeedbacksByRecetteId(2L);
+    }
+
+    @Test
+    void refresh_LocalWriteNotifiedAfterRead_IsNotCountedTwice() {
+        store(1, 4, 0, 3);
+        store(2, 3, 0, 3);
+        rebuild();
+        FeedbackDTO late = feedback(2, 5, 0);
+        long startedAt = System.nanoTime();
+        // Écriture enregistrée avant la relecture, notifiée après
+        stored.add(late);
+        when(persistanceClient.getFeedbacksByRecetteId(2L)).thenAnswer(invocation ->
+                stored.stream().filter(feedback -> feedback.getRecetteId() == 2L).toList());
+
+        leaderboard.refresh(Set.of(2L));
+        leaderboard.onFeedbackChanged(FeedbackChangedEvent.created(late, startedAt));
+
+        assertEquals(4L, leaderboard.getTop("reviews", null, 1).get(0).getTotalFeedbacks());
+        // Delta ignoré, recette signalée au thread de chargement
+        leaderboard.refresh(Set.of(2L));
+        assertEquals(4L, leaderboard.getTop("reviews", null, 1).get(0).getTotalFeedbacks());
+    }
+
+    @Test
+    void onFeedbackInvalidated_RecipeWrittenByAnotherInstance_IsReloadedByLoader() throws InterruptedException {
+        store(1, 4, 0, 3);
+        store(2, 3, 0, 3);
+        when(persistanceClient.getFeedbacksPage(any(FeedbackPageQuery.class))).thenReturn(List.copyOf(stored));
+        List<FeedbackDTO> recipe2 = new ArrayList<>(stored.subList(3, 6));
+        recipe2.add(feedback(2, 5, 0));
+        when(persistanceClient.getFeedbacksByRecetteId(2L)).thenReturn(recipe2);
+        leaderboard.start();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (true) {
+                try {
+                    leaderboard.getTop(null, null, null);
+                    break;
+                } catch (IllegalStateException e) {
+                    assertTrue(System.nanoTime() < deadline, "Classement non chargé");
+                    Thread.sleep(5);
+                }
+            }
+
+            leaderboard.onFeedbackInvalidated(new FeedbackInvalidatedEvent(Set.of(2L), Set.of(), Set.of()));
+
+            verify(persistanceClient, timeout(5000)).getFeedbacksByRecetteId(2L);
+            while (leaderboard.getTop("reviews", null, 1).get(0).getTotalFeedbacks() != 4L) {
+                assertTrue(System.nanoTime() < deadline, "Recette non relue");
+                Thread.sleep(5);
+            }
+            assertEquals(List.of(2L, 1L), ids(leaderboard.getTop("reviews", null, null)));
+            verify(persistanceClient, times(1)).getFeedbacksPage(any(FeedbackPageQuery.class));
+        } finally {
+            leaderboard.stop();
+        }
+    }
+
+    @Test
+    void onFeedbackInvalidated_MessagesLost_RebuildsWithoutWaitingForResync() throws InterruptedException {
+        store(1, 4, 0, 3);
+        store(2, 3, 0, 3);
+        when(persistanceClient.getFeedbacksPage(any(FeedbackPageQuery.class))).thenReturn(List.copyOf(stored));
+        leaderboard.start();
+        try {
+            verify(persistanceClient, timeout(5000)).getFeedbacksPage(any(FeedbackPageQuery.class));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (true) {
+                try {
+                    leaderboard.getTop(null, null, null);
+                    break;
+                } catch (IllegalStateException e) {
+                    assertTrue(System.nanoTime() < deadline, "Classement non chargé");
+                    Thread.sleep(5);
+                }
+            }
+
+            leaderboard.onFeedbackInvalidated(FeedbackInvalidatedEvent.invalidateAll());
+
+            verify(persistanceClient, timeout(5000).times(2)).getFeedbacksPage(any(FeedbackPageQuery.class));
+        } finally {
+            leaderboard.stop();
+        }
+    }
+
+    @Test
+    void getTop_InvalidParameters_ShouldThrowIllegalArgumentAndClampLimit() {
+        store(1, 4, 0, 1);
+        rebuild();
+
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.getTop(null, "year", null));
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.getTop("popularity", null, null));
+        assertEquals(1, leaderboard.getTop(null, null, 0).size());
+        assertEquals(1, leaderboard.getTop(null, null, 10_000).size());
+    }
+
+    @Test
+    void index_DayChange_MovesFeedbacksOutOfShortWindows() {
+        long today = LocalDate.of(2025, 6, 15).toEpochDay();
+        LeaderboardIndex index = new LeaderboardIndex(3.0, 5, today);
+        index.apply(feedback(1, 5, 0), 1, today, System.nanoTime());
+
+        assertEquals(1, index.top(RecipeLeaderboard.Window.DAY, RecipeLeaderboard.Sort.RATING, 10, today).size());
+        assertTrue(index.top(RecipeLeaderboard.Window.DAY, RecipeLeaderboard.Sort.RATING, 10, today + 1).isEmpty());
+        assertEquals(1, index.top(RecipeLeaderboard.Window.WEEK, RecipeLeaderboard.Sort.RATING, 10, today + 6).size());
+        assertTrue(index.top(RecipeLeaderboard.Window.WEEK, RecipeLeaderboard.Sort.RATING, 10, today + 7).isEmpty());
+        assertEquals(1, index.top(RecipeLeaderboard.Window.ALL, RecipeLeaderboard.Sort.RATING, 10, today + 7).size());
+    }
+}
@@ -1,21 +1,37 @@
 package com.springbootTemplate.univ.soa.service;
 
+import com.springbootTemplate.univ.soa.cache.ExistenceCache;
+import com.springbootTemplate.univ.soa.cache.RecetteFeedbackCache;
 import com.springbootTemplate.univ.soa.client.PersistanceClient;
+import com.springbootTemplate.univ.soa.config.BatchProperties;
+import com.springbootTemplate.univ.soa.config.ExistenceCacheProperties;
+import com.springbootTemplate.univ.soa.config.FeedbackCacheProperties;
+import com.springbootTemplate.univ.soa.config.PaginationProperties;
+import com.springbootTemplate.univ.soa.config.RatingAggregateProperties;
 import com.springbootTemplate.univ.soa.dto.*;
+import com.springbootTemplate.univ.soa.event.FeedbackChangedEvent;
+import com.springbootTemplate.univ.soa.exception.DuplicateFeedbackException;
 import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import com.springbootTemplate.univ.soa.rating.RatingAggregateStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,7 +40,6 @@ class FeedbackServiceImplTest {
     @Mock
     private PersistanceClient persistanceClient;
 
-    @InjectMocks
     private FeedbackServiceImpl feedbackService;
 
     private FeedbackDTO feedbackDTO;
@@ -32,6 +47,21 @@ class FeedbackServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RecetteFeedbackCache recetteFeedbackCache = new RecetteFeedbackCache(
+                persistanceClient, new FeedbackCacheProperties(), meterRegistry);
+        RatingAggregateStore ratingAggregateStore = new RatingAggregateStore(
+                recetteFeedbackCache, new RatingAggregateProperties(), meterRegistry);
+        ApplicationEventPublisher eventPublisher = event -> {
+            recetteFeedbackCache.onFeedbackChanged((FeedbackChangedEvent) event);
+            ratingAggregateStore.onFeedbackChanged((FeedbackChangedEvent) event);
+        };
+        feedbackService = new FeedbackServiceImpl(
+                persistanceClient, recetteFeedbackCache, ratingAggregateStore, eventPublisher,
+                new PaginationProperties(), new BatchProperties(),
+                new ExistenceCache(persistanceClient, new ExistenceCacheProperties(), meterRegistry),
+                Validation.buildDefaultValidatorFactory().getValidator(), Runnable::run);
+
         feedbackDTO = FeedbackDTO.builder()
                 .id(1L)
                 .utilisateurId(10L)
@@ -87,6 +117,137 @@ class FeedbackServiceImplTest {
         assertTrue(exception.getMessage().contains("Recette non trouvée"));
     }
 
+    @Test
+    void createFeedback_ExistenceChecksAreCached() {
+        when(persistanceClient.utilisateurExists(10L)).thenReturn(true);
+        when(persistanceClient.recetteExists(20L)).thenReturn(true);
+        when(persistanceClient.createFeedback(any(FeedbackDTO.class))).thenReturn(feedbackDTO);
+
+        feedbackService.createFeedback(createRequest);
+        feedbackService.createFeedback(createRequest);
+
+        verify(persistanceClient, times(1)).utilisateurExists(10L);
+        verify(persistanceClient, times(1)).recetteExists(20L);
+        verify(persistanceClient, times(2)).createFeedback(any(FeedbackDTO.class));
+    }
+
+    @Test
+    void createFeedback_ExistenceCheckFails_PropagatesErrorWithoutCaching() {
+        when(persistanceClient.utilisateurExists(10L))
+                .thenThrow(new RuntimeException("Erreur lors de la vérification de l'utilisateur"))
+                .thenReturn(true);
+        when(persistanceClient.recetteExists(20L)).thenReturn(true);
+        when(persistanceClient.createFeedback(any(FeedbackDTO.class))).thenReturn(feedbackDTO);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> feedbackService.createFeedback(createRequest));
+        assertTrue(exception.getMessage().contains("vérification de l'utilisateur"));
+
+        assertNotNull(feedbackService.createFeedback(createRequest));
+        verify(persistanceClient, times(2)).utilisateurExists(10L);
+    }
+
+    @Test
+    void createFeedback_InvalidatesRecetteCache() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L)).thenReturn(Collections.emptyList());
+        when(persistanceClient.utilisateurExists(10L)).thenReturn(true);
+        when(persistanceClient.recetteExists(20L)).thenReturn(true);
+        when(persistanceClient.createFeedback(any(FeedbackDTO.class))).thenReturn(feedbackDTO);
+
+        feedbackService.getFeedbacksByRecetteId("20");
+        feedbackService.createFeedback(createRequest);
+        feedbackService.getFeedbacksByRecetteId("20");
+
+        verify(persistanceClient, times(2)).getFeedbacksByRecetteId(20L);
+    }
+
+    // --- TESTS CREATE BATCH ---
+
+    private static FeedbackCreateRequest createRequest(long utilisateurId, long recetteId) {
+        return FeedbackCreateRequest.builder()
+                .utilisateurId(utilisateurId)
+                .recetteId(recetteId)
+                .evaluation(5)
+                .build();
+    }
+
+    @Test
+    void createFeedbacks_ChecksEachDistinctIdOnceAndReportsPerItemResults() {
+        when(persistanceClient.utilisateurExists(anyLong())).thenAnswer(invocation -> invocation.getArgument(0, Long.class) < 100);
+        when(persistanceClient.recetteExists(20L)).thenReturn(true);
+        when(persistanceClient.createFeedback(any(FeedbackDTO.class))).thenAnswer(invocation -> {
+            FeedbackDTO dto = invocation.getArgument(0);
+            if (dto.getUtilisateurId() == 12L) {
+                throw new DuplicateFeedbackException("Feedback déjà existant");
+            }
+            dto.setId(dto.getUtilisateurId());
+            return dto;
+        });
+
+        FeedbackBatchResponse response = feedbackService.createFeedbacks(List.of(
+                createRequest(10L, 20L),
+                createRequest(11L, 20L),
+                createRequest(10L, 20L),
+                createRequest(12L, 20L),
+                createRequest(500L, 20L)));
+
+        assertEquals(5, response.getTotal());
+        assertEquals(2, response.getCreated());
+        assertEquals(List.of(201, 201, 409, 409, 400),
+                response.getResults().stream().map(FeedbackBatchItemResult::getStatus).toList());
+        assertEquals(11L, response.getResults().get(1).getFeedback().getId());
+        verify(persistanceClient, times(1)).utilisateurExists(10L);
+        verify(persistanceClient, times(1)).recetteExists(20L);
+        verify(persistanceClient, times(3)).createFeedback(any(FeedbackDTO.class));
+    }
+
+    @Test
+    void createFeedbacks_ExistenceCheckFails_ReportsUnavailableForAffectedItems() {
+        when(persistanceClient.utilisateurExists(10L)).thenReturn(true);
+        when(persistanceClient.utilisateurExists(11L))
+                .thenThrow(new RuntimeException("Erreur lors de la vérification de l'utilisateur"));
+        when(persistanceClient.recetteExists(20L)).thenReturn(true);
+        when(persistanceClient.createFeedback(any(FeedbackDTO.class))).thenReturn(feedbackDTO);
+
+        FeedbackBatchResponse response = feedbackService.createFeedbacks(List.of(
+                createRequest(10L, 20L), createRequest(11L, 20L)));
+
+        assertEquals(201, response.getResults().get(0).getStatus());
+        assertEquals(503, response.getResults().get(1).getStatus());
+        assertEquals(1, response.getFailed());
+    }
+
+    @Test
+    void createFeedbacks_MalformedItems_RejectedPerItemWithoutFailingBatch() {
+        when(persistanceClient.utilisateurExists(10L)).thenReturn(true);
+        when(persistanceClient.recetteExists(20L)).thenReturn(true);
+        when(persistanceClient.createFeedback(any(FeedbackDTO.class))).thenReturn(feedbackDTO);
+        FeedbackCreateRequest badRating = createRequest(11L, 21L);
+        badRating.setEvaluation(9);
+        FeedbackCreateRequest noRecette = createRequest(12L, 22L);
+        noRecette.setRecetteId(null);
+
+        FeedbackBatchResponse response = feedbackService.createFeedbacks(Arrays.asList(
+                createRequest(10L, 20L), badRating, noRecette, null));
+
+        assertEquals(List.of(201, 400, 400, 400),
+                response.getResults().stream().map(FeedbackBatchItemResult::getStatus).toList());
+        assertEquals("evaluation : L'évaluation doit être entre 1 et 5", response.getResults().get(1).getError());
+        assertEquals("recetteId : L'ID de la recette est obligatoire", response.getResults().get(2).getError());
+        // Aucune vérification d'existence pour les feedbacks mal formés
+        verify(persistanceClient, never()).utilisateurExists(11L);
+        verify(persistanceClient, never()).utilisateurExists(12L);
+        verify(persistanceClient, never()).recetteExists(21L);
+        verify(persistanceClient, times(1)).createFeedback(any(FeedbackDTO.class));
+    }
+
+    @Test
+    void createFeedbacks_TooManyItems_ThrowsException() {
+        List<FeedbackCreateRequest> requests = Collections.nCopies(new BatchProperties().getMaxSize() + 1, createRequest);
+
+        assertThrows(IllegalArgumentException.class, () -> feedbackService.createFeedbacks(requests));
+        verifyNoInteractions(persistanceClient);
+    }
+
     // --- TESTS GET BY ID ---
 
     @Test
@@ -108,13 +269,63 @@ class FeedbackServiceImplTest {
 
     @Test
     void getFeedbackById_NotFound_ThrowsException() {
-        when(persistanceClient.getFeedbackById(99L)).thenThrow(new RuntimeException("Not found"));
+        when(persistanceClient.getFeedbackById(99L))
+                .thenThrow(new FeedbackNotFoundException("Feedback non trouvé avec l'ID: 99"));
 
         assertThrows(FeedbackNotFoundException.class, () -> {
             feedbackService.getFeedbackById("99");
         });
     }
 
+    @Test
+    void getFeedbackById_PersistanceUnavailable_NotReportedAsNotFound() {
+        when(persistanceClient.getFeedbackById(1L))
+                .thenThrow(new RuntimeException("Erreur lors de la récupération du feedback"));
+        when(persistanceClient.getFeedbackById(2L))
+                .thenThrow(new RuntimeException("Erreur lors de la récupération du feedback"));
+
+        RuntimeException read = assertThrows(RuntimeException.class, () -> feedbackService.getFeedbackById("1"));
+        assertFalse(read instanceof FeedbackNotFoundException);
+        RuntimeException update = assertThrows(RuntimeException.class,
+                () -> feedbackService.updateFeedback("1", new FeedbackUpdateRequest()));
+        assertFalse(update instanceof FeedbackNotFoundException);
+        RuntimeException delete = assertThrows(RuntimeException.class, () -> feedbackService.deleteFeedback("2"));
+        assertFalse(delete instanceof FeedbackNotFoundException);
+    }
+
+    // --- TESTS GET BY RECETTE ---
+
+    @Test
+    void getFeedbacksByRecetteId_SecondCallServedFromCache() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L)).thenReturn(Arrays.asList(feedbackDTO));
+
+        feedbackService.getFeedbacksByRecetteId("20");
+        List<FeedbackResponse> responses = feedbackService.getFeedbacksByRecetteId("20");
+
+        assertEquals(1, responses.size());
+        verify(persistanceClient, times(1)).getFeedbacksByRecetteId(20L);
+    }
+
+    @Test
+    void getVersionedFeedbacksByRecetteId_ETagChangesOnlyWithContent() {
+        FeedbackDTO other = FeedbackDTO.builder().id(2L).utilisateurId(11L).recetteId(20L).evaluation(4)
+                .commentaire("Correct").dateFeedback(feedbackDTO.getDateFeedback()).build();
+        when(persistanceClient.getFeedbacksByRecetteId(20L))
+                .thenReturn(Arrays.asList(feedbackDTO, other))
+                .thenReturn(Arrays.asList(other));
+        when(persistanceClient.getFeedbackById(1L)).thenReturn(feedbackDTO);
+
+        Versioned<FeedbackColumns> first = feedbackService.getVersionedFeedbacksByRecetteId("20");
+        Versioned<FeedbackColumns> cached = feedbackService.getVersionedFeedbacksByRecetteId("20");
+        feedbackService.deleteFeedback("1");
+        Versioned<FeedbackColumns> reloaded = feedbackService.getVersionedFeedbacksByRecetteId("20");
+
+        assertEquals(first.getETag(), cached.getETag());
+        assertNotEquals(first.getETag(), reloaded.getETag());
+        assertEquals(1, reloaded.getBody().size());
+        assertEquals(2L, reloaded.getBody().get(0).getId());
+    }
+
     // --- TESTS AVERAGE RATING ---
 
     @Test
@@ -155,6 +366,203 @@ class FeedbackServiceImplTest {
         assertEquals(4.33, response.getAverageRating());
     }
 
+    @Test
+    void getAverageRatingByRecetteId_UpdatedIncrementallyAfterCreate() {
+        FeedbackDTO f1 = FeedbackDTO.builder().recetteId(20L).evaluation(4).build();
+        when(persistanceClient.getFeedbacksByRecetteId(20L)).thenReturn(Arrays.asList(f1));
+        when(persistanceClient.utilisateurExists(10L)).thenReturn(true);
+        when(persistanceClient.recetteExists(20L)).thenReturn(true);
+        FeedbackDTO created = FeedbackDTO.builder().id(2L).recetteId(20L).evaluation(5).build();
+        when(persistanceClient.createFeedback(any(FeedbackDTO.class))).thenReturn(created);
+
+        feedbackService.getAverageRatingByRecetteId("20");
+        feedbackService.createFeedback(createRequest);
+        AverageRatingResponse response = feedbackService.getAverageRatingByRecetteId("20");
+
+        // (4+5)/2 = 4.5 sans relire les feedbacks de la recette
+        assertEquals(4.5, response.getAverageRating());
+        assertEquals(2L, response.getTotalFeedbacks());
+        verify(persistanceClient, times(1)).getFeedbacksByRecetteId(20L);
+    }
+
+    // --- TESTS DISTRIBUTION ---
+
+    @Test
+    void getRatingDistributionByRecetteId_ComputesStatsFromHistogram() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L)).thenReturn(Arrays.asList(
+                FeedbackDTO.builder().evaluation(5).build(),
+                FeedbackDTO.builder().evaluation(5).build(),
+                FeedbackDTO.builder().evaluation(4).build(),
+                FeedbackDTO.builder().evaluation(2).build()));
+
+        RatingDistributionResponse response = feedbackService.getRatingDistributionByRecetteId("20");
+
+        assertEquals(4L, response.getTotalFeedbacks());
+        assertEquals(4.0, response.getAverageRating());
+        // (5 notes fictives à 3.0 + 16) / 9
+        assertEquals(3.44, response.getBayesianAverageRating());
+        // (1 + 1 + 0 + 4) / 4
+        assertEquals(1.5, response.getVariance());
+        assertEquals(List.of(5, 4, 3, 2, 1), response.getDistribution().stream()
+                .map(RatingDistributionResponse.StarCount::getStars).toList());
+        assertEquals(List.of(50.0, 25.0, 0.0, 25.0, 0.0), response.getDistribution().stream()
+                .map(RatingDistributionResponse.StarCount::getPercentage).toList());
+    }
+
+    @Test
+    void getVersionedRatingDistributionByRecetteId_UpdatedIncrementallyAfterCreate() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L))
+                .thenReturn(Arrays.asList(FeedbackDTO.builder().recetteId(20L).evaluation(4).build()));
+        when(persistanceClient.utilisateurExists(10L)).thenReturn(true);
+        when(persistanceClient.recetteExists(20L)).thenReturn(true);
+        when(persistanceClient.createFeedback(any(FeedbackDTO.class)))
+                .thenReturn(FeedbackDTO.builder().id(2L).recetteId(20L).evaluation(5).build());
+
+        Versioned<RatingDistributionResponse> before = feedbackService.getVersionedRatingDistributionByRecetteId("20");
+        feedbackService.createFeedback(createRequest);
+        Versioned<RatingDistributionResponse> after = feedbackService.getVersionedRatingDistributionByRecetteId("20");
+
+        assertNotEquals(before.getETag(), after.getETag());
+        assertEquals(1L, after.getBody().getDistribution().get(0).getCount());
+        assertEquals(2L, after.getBody().getTotalFeedbacks());
+        verify(persistanceClient, times(1)).getFeedbacksByRecetteId(20L);
+    }
+
+    @Test
+    void getAverageRatingsByRecetteIds_LoadsOnlyMissingAggregatesInRequestOrder() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L))
+                .thenReturn(List.of(FeedbackDTO.builder().recetteId(20L).evaluation(4).build()));
+        when(persistanceClient.getFeedbacksByRecetteId(21L))
+                .thenReturn(List.of(FeedbackDTO.builder().recetteId(21L).evaluation(2).build()));
+        when(persistanceClient.getFeedbacksByRecetteId(22L)).thenReturn(Collections.emptyList());
+        feedbackService.getAverageRatingByRecetteId("20");
+
+        List<AverageRatingResponse> responses =
+                feedbackService.getAverageRatingsByRecetteIds(List.of("22", "20", " 21", "20"));
+
+        assertEquals(List.of(22L, 20L, 21L), responses.stream().map(AverageRatingResponse::getRecetteId).toList());
+        assertEquals(List.of(0.0, 4.0, 2.0), responses.stream().map(AverageRatingResponse::getAverageRating).toList());
+        verify(persistanceClient, times(1)).getFeedbacksByRecetteId(20L);
+    }
+
+    @Test
+    void getAverageRatingsByRecetteIds_InvalidOrMissingIds_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> feedbackService.getAverageRatingsByRecetteIds(null));
+        assertThrows(IllegalArgumentException.class, () -> feedbackService.getAverageRatingsByRecetteIds(List.of("20", "abc")));
+        verifyNoInteractions(persistanceClient);
+    }
+
+    @Test
+    void getAverageRatingsByRecetteIds_LoadFails_PropagatesError() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L))
+                .thenThrow(new RuntimeException("Erreur lors de la récupération des feedbacks de la recette"));
+
+        assertThrows(RuntimeException.class, () -> feedbackService.getAverageRatingsByRecetteIds(List.of("20")));
+    }
+
+    // --- TESTS PAGINATION ---
+
+    @Test
+    void getFeedbacksPageByRecetteId_FullPage_ProbesOneRowAfterLastKey() {
+        LocalDateTime date = LocalDateTime.of(2025, 11, 5, 14, 30);
+        FeedbackDTO f1 = FeedbackDTO.builder().id(3L).dateFeedback(date).build();
+        FeedbackDTO f2 = FeedbackDTO.builder().id(2L).dateFeedback(date).build();
+        FeedbackDTO f3 = FeedbackDTO.builder().id(1L).dateFeedback(date).build();
+        when(persistanceClient.getFeedbacksPage(any(FeedbackPageQuery.class)))
+                .thenReturn(List.of(f1, f2))
+                .thenReturn(List.of(f3));
+
+        FeedbackPageResponse page = feedbackService.getFeedbacksPageByRecetteId("20", 0, 2, null);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.getHasNext());
+        assertEquals(new FeedbackCursor(date, 2L), FeedbackCursor.decode(page.getNextCursor()));
+        verify(persistanceClient).getFeedbacksPage(argThat(q -> q.getRecetteId() == 20L && q.getLimit() == 2
+                && Integer.valueOf(0).equals(q.getPage())));
+        verify(persistanceClient).getFeedbacksPage(argThat(q -> q.getRecetteId() == 20L && q.getLimit() == 1
+                && q.getPage() == null && Long.valueOf(2L).equals(q.getAfterId()) && date.equals(q.getAfterDate())));
+    }
+
+    @Test
+    void getFeedbacksPage_WalksTwoFullPages_WithoutSkippingRows() {
+        LocalDateTime date = LocalDateTime.of(2025, 11, 5, 14, 30);
+        List<FeedbackDTO> stored = List.of(
+                FeedbackDTO.builder().id(4L).dateFeedback(date).build(),
+                FeedbackDTO.builder().id(3L).dateFeedback(date).build(),
+                FeedbackDTO.builder().id(2L).dateFeedback(date.minusDays(1)).build(),
+                FeedbackDTO.builder().id(1L).dateFeedback(date.minusDays(2)).build());
+        // Persistance : tri (dateFeedback, id) décroissants, page à page × size, ou après une clé
+        when(persistanceClient.getFeedbacksPage(any(FeedbackPageQuery.class))).thenAnswer(invocation -> {
+            FeedbackPageQuery q = invocation.getArgument(0);
+            Stream<FeedbackDTO> rows = stored.stream();
+            if (q.getAfterDate() != null) {
+                rows = rows.filter(f -> f.getDateFeedback().isBefore(q.getAfterDate())
+                        || f.getDateFeedback().equals(q.getAfterDate()) && f.getId() < q.getAfterId());
+            } else if (q.getPage() != null) {
+                rows = rows.skip((long) q.getPage() * q.getLimit());
+            }
+            return rows.limit(q.getLimit()).toList();
+        });
+
+        FeedbackPageResponse first = feedbackService.getFeedbacksPage(0, 2, null);
+        FeedbackPageResponse second = feedbackService.getFeedbacksPage(1, 2, null);
+
+        assertEquals(List.of(4L, 3L), first.getContent().stream().map(FeedbackResponse::getId).toList());
+        assertTrue(first.getHasNext());
+        assertEquals(List.of(2L, 1L), second.getContent().stream().map(FeedbackResponse::getId).toList());
+        assertFalse(second.getHasNext());
+        assertNull(second.getNextCursor());
+        assertEquals(second.getContent(),
+                feedbackService.getFeedbacksPage(null, 2, first.getNextCursor()).getContent());
+    }
+
+    @Test
+    void getFeedbacksPage_WithCursor_QueriesAfterKeyAndClampsSize() {
+        LocalDateTime date = LocalDateTime.of(2025, 11, 5, 14, 30);
+        String cursor = new FeedbackCursor(date, 7L).encode();
+        when(persistanceClient.getFeedbacksPage(any(FeedbackPageQuery.class))).thenReturn(Collections.emptyList());
+
+        FeedbackPageResponse page = feedbackService.getFeedbacksPage(null, 5000, cursor);
+
+        assertFalse(page.getHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(100, page.getSize());
+        verify(persistanceClient).getFeedbacksPage(argThat(q ->
+                date.equals(q.getAfterDate()) && q.getAfterId() == 7L && q.getPage() == null && q.getLimit() == 101));
+    }
+
+    @Test
+    void getFeedbacksPage_InvalidCursor_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> feedbackService.getFeedbacksPage(null, null, "%%%"));
+    }
+
+    // --- TESTS EXPORT ---
+
+    @Test
+    void streamFeedbacks_ReadsPagesLazilyUntilExhausted() {
+        PaginationProperties properties = new PaginationProperties();
+        LocalDateTime date = LocalDateTime.of(2025, 11, 5, 14, 30);
+        FeedbackDTO f1 = FeedbackDTO.builder().id(3L).evaluation(5).dateFeedback(date).build();
+        FeedbackDTO f2 = FeedbackDTO.builder().id(2L).evaluation(4).dateFeedback(date).build();
+        List<FeedbackDTO> fullPage = Collections.nCopies(properties.getExportPageSize(), f1);
+        when(persistanceClient.getFeedbacksPage(any(FeedbackPageQuery.class))).thenReturn(fullPage).thenReturn(List.of(f2));
+
+        Stream<FeedbackResponse> stream = feedbackService.streamFeedbacks(null, "20", "2025-01-01T00:00:00", null);
+        verify(persistanceClient, never()).getFeedbacksPage(any());
+
+        assertEquals(properties.getExportPageSize() + 1, stream.count());
+        verify(persistanceClient).getFeedbacksPage(argThat(q -> q.getRecetteId() == 20L && q.getAfterId() == null
+                && LocalDateTime.of(2025, 1, 1, 0, 0).equals(q.getFrom())));
+        verify(persistanceClient).getFeedbacksPage(argThat(q -> Long.valueOf(3L).equals(q.getAfterId())
+                && date.equals(q.getAfterDate())));
+    }
+
+    @Test
+    void streamFeedbacks_InvalidDate_ThrowsBeforeStreaming() {
+        assertThrows(IllegalArgumentException.class, () -> feedbackService.streamFeedbacks(null, null, "hier", null));
+        verifyNoInteractions(persistanceClient);
+    }
+
     // --- TESTS UPDATE ---
 
     @Test
@@ -184,6 +592,7 @@ class FeedbackServiceImplTest {
 
     @Test
     void deleteFeedback_Success() {
+        when(persistanceClient.getFeedbackById(1L)).thenReturn(feedbackDTO);
         doNothing().when(persistanceClient).deleteFeedback(1L);
 
         feedbackService.deleteFeedback("1");
@@ -191,6 +600,18 @@ class FeedbackServiceImplTest {
         verify(persistanceClient, times(1)).deleteFeedback(1L);
     }
 
+    @Test
+    void deleteFeedback_InvalidatesRecetteCache() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L)).thenReturn(Arrays.asList(feedbackDTO));
+        when(persistanceClient.getFeedbackById(1L)).thenReturn(feedbackDTO);
+
+        feedbackService.getFeedbacksByRecetteId("20");
+        feedbackService.deleteFeedback("1");
+        feedbackService.getFeedbacksByRecetteId("20");
+
+        verify(persistanceClient, times(2)).getFeedbacksByRecetteId(20L);
+    }
+
     @Test
     void deleteFeedback_InvalidId() {
         assertThrows(FeedbackNotFoundException.class, () -> feedbackService.deleteFeedback("abc"));
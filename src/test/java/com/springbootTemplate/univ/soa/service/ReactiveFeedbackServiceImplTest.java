@@ -0,0 +1,103 @@
+package com.springbootTemplate.univ.soa.service;
+
+import com.springbootTemplate.univ.soa.client.ReactivePersistanceClient;
+import com.springbootTemplate.univ.soa.config.BatchProperties;
+import com.springbootTemplate.univ.soa.dto.AverageRatingResponse;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import com.springbootTemplate.univ.soa.rating.RatingAggregate;
+import com.springbootTemplate.univ.soa.rating.RatingAggregateStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveFeedbackServiceImplTest {
+
+    @Mock
+    private ReactivePersistanceClient persistanceClient;
+
+    @Mock
+    private RatingAggregateStore ratingAggregateStore;
+
+    private ReactiveFeedbackServiceImpl feedbackService;
+
+    @BeforeEach
+    void setUp() {
+        feedbackService = new ReactiveFeedbackServiceImpl(persistanceClient, ratingAggregateStore, new BatchProperties());
+    }
+
+    private static FeedbackDTO feedback(long recetteId, int evaluation) {
+        return FeedbackDTO.builder().id(1L).utilisateurId(10L).recetteId(recetteId).evaluation(evaluation).build();
+    }
+
+    @Test
+    void getFeedbacksByRecetteId_MapsEachFeedback() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L)).thenReturn(Flux.just(feedback(20, 5), feedback(20, 3)));
+
+        StepVerifier.create(feedbackService.getFeedbacksByRecetteId("20"))
+                .assertNext(response -> assertEquals(5, response.getEvaluation()))
+                .assertNext(response -> assertEquals(20L, response.getRecetteId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getFeedbackById_MissingOrInvalid_ShouldSignalNotFound() {
+        when(persistanceClient.getFeedbackById(99L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(feedbackService.getFeedbackById("99")).expectError(FeedbackNotFoundException.class).verify();
+        StepVerifier.create(feedbackService.getFeedbackById("abc")).expectError(FeedbackNotFoundException.class).verify();
+        verify(persistanceClient, times(1)).getFeedbackById(anyLong());
+    }
+
+    @Test
+    void getAverageRatingsByRecetteIds_FansOutConcurrentlyInRequestOrder() {
+        when(ratingAggregateStore.getAggregateIfLoaded(20L))
+                .thenReturn(RatingAggregate.of(List.of(feedback(20, 4)), System.nanoTime()));
+        // La réponse de 21 arrive après celle de 22 : l'ordre de la demande est conservé
+        when(persistanceClient.getFeedbacksByRecetteId(21L))
+                .thenReturn(Flux.just(feedback(21, 5), feedback(21, 2)).delayElements(Duration.ofMillis(50)));
+        when(persistanceClient.getFeedbacksByRecetteId(22L)).thenReturn(Flux.empty());
+
+        StepVerifier.create(feedbackService.getAverageRatingsByRecetteIds(List.of("20", "21", "22", "21")))
+                .assertNext(response -> assertEquals(4.0, response.getAverageRating()))
+                .assertNext(response -> {
+                    assertEquals(21L, response.getRecetteId());
+                    assertEquals(3.5, response.getAverageRating());
+                    assertEquals(2L, response.getTotalFeedbacks());
+                })
+                .assertNext(response -> assertEquals(0L, response.getTotalFeedbacks()))
+                .verifyComplete();
+        verify(persistanceClient, never()).getFeedbacksByRecetteId(20L);
+        verify(persistanceClient, times(1)).getFeedbacksByRecetteId(21L);
+    }
+
+    @Test
+    void getAverageRatingsByRecetteIds_InvalidRequest_ShouldSignalIllegalArgument() {
+        StepVerifier.create(feedbackService.getAverageRatingsByRecetteIds(List.of())).expectError(IllegalArgumentException.class).verify();
+        StepVerifier.create(feedbackService.getAverageRatingsByRecetteIds(List.of("20", "x"))).expectError(IllegalArgumentException.class).verify();
+        verifyNoInteractions(persistanceClient);
+    }
+
+    @Test
+    void getAverageRatingByRecetteId_ComputedFromStreamWhenNotLoaded() {
+        when(persistanceClient.getFeedbacksByRecetteId(20L)).thenReturn(Flux.just(feedback(20, 5), feedback(20, 4)));
+
+        AverageRatingResponse response = feedbackService.getAverageRatingByRecetteId("20").block();
+
+        assertEquals(4.5, response.getAverageRating());
+        assertEquals(2L, response.getTotalFeedbacks());
+    }
+}
@@ -0,0 +1,106 @@
+package com.springbootTemplate.univ.soa.store;
+
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final FeedbackIndex index = new FeedbackIndex(4);
+
+    @Test
+    void put_IndexesByUtilisateurAndRecetteNewestFirstWithCountsAndSums() {
+        index.put(feedback(1L, 10L, 20L, 4, 0));
+        index.put(feedback(2L, 11L, 20L, 5, 2));
+        index.put(feedback(3L, 10L, 21L, 2, 1));
+        // Arrivé en retard mais plus ancien : inséré à sa place
+        index.put(feedback(4L, 12L, 20L, 1, -5));
+
+        assertEquals(4, index.size());
+        assertArrayEquals(new long[]{2L, 1L, 4L}, index.idsByRecette(20L));
+        assertArrayEquals(new long[]{3L, 1L}, index.idsByUtilisateur(10L));
+        assertEquals(3, index.countByRecette(20L));
+        assertEquals(10L, index.ratingSumByRecette(20L));
+        assertEquals(6L, index.ratingSumByUtilisateur(10L));
+        assertEquals(3L, index.findByPair(10L, 21L));
+        assertEquals(FeedbackIndex.NONE, index.findByPair(11L, 21L));
+        assertEquals(0, index.countByRecette(99L));
+        assertArrayEquals(new long[0], index.idsByUtilisateur(99L));
+    }
+
+    @Test
+    void putAndRemove_ReplaceRowsAndReuseSlots() {
+        index.put(feedback(1L, 10L, 20L, 4, 0));
+        index.put(feedback(2L, 11L, 20L, 5, 1));
+
+        index.put(feedback(1L, 10L, 20L, 1, 0));
+        assertEquals(6L, index.ratingSumByRecette(20L));
+        assertEquals(2, index.countByRecette(20L));
+
+        assertTrue(index.remove(2L));
+        assertFalse(index.remove(2L));
+        assertFalse(index.contains(2L));
+        assertArrayEquals(new long[]{1L}, index.idsByRecette(20L));
+        assertEquals(0, index.countByUtilisateur(11L));
+
+        index.put(feedback(3L, 11L, 21L, 3, 2));
+        assertEquals(2, index.size());
+        assertEquals(3L, index.findByPair(11L, 21L));
+    }
+
+    @Test
+    void randomOperations_MatchBoxedReference() {
+        Random random = new Random(42);
+        Map<Long, FeedbackDTO> reference = new HashMap<>();
+        for (int operation = 0; operation < 20_000; operation++) {
+            long id = 1 + random.nextInt(3_000);
+            if (random.nextInt(4) == 0) {
+                assertEquals(reference.remove(id) != null, index.remove(id));
+            } else {
+                FeedbackDTO feedback = feedback(id, 1L + random.nextInt(200), 1L + random.nextInt(50),
+                        1 + random.nextInt(5), random.nextInt(10_000));
+                reference.put(id, feedback);
+                index.put(feedback);
+            }
+        }
+
+        assertEquals(reference.size(), index.size());
+        for (long recetteId = 1; recetteId <= 50; recetteId++) {
+            long key = recetteId;
+            List<FeedbackDTO> expected = reference.values().stream()
+                    .filter(feedback -> feedback.getRecetteId() == key)
+                    .sorted(LocalFeedbackStore.NEWEST_FIRST)
+                    .toList();
+            assertArrayEquals(expected.stream().mapToLong(FeedbackDTO::getId).toArray(), index.idsByRecette(key));
+            assertEquals(expected.stream().mapToLong(FeedbackDTO::getEvaluation).sum(), index.ratingSumByRecette(key));
+        }
+        for (long utilisateurId = 1; utilisateurId <= 200; utilisateurId++) {
+            long key = utilisateurId;
+            assertEquals(reference.values().stream().filter(feedback -> feedback.getUtilisateurId() == key).count(),
+                    index.countByUtilisateur(key));
+        }
+        FeedbackDTO any = reference.values().iterator().next();
+        long[] sameUser = index.idsByUtilisateur(any.getUtilisateurId());
+        assertTrue(Arrays.stream(sameUser).anyMatch(id -> id == index.findByPair(any.getUtilisateurId(), any.getRecetteId())));
+    }
+
+    private static FeedbackDTO feedback(Long id, Long utilisateurId, Long recetteId, int evaluation, int minutes) {
+        return FeedbackDTO.builder()
+                .id(id)
+                .utilisateurId(utilisateurId)
+                .recetteId(recetteId)
+                .evaluation(evaluation)
+                .dateFeedback(BASE.plusMinutes(minutes))
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.springbootTemplate.univ.soa.store;
+
+import com.springbootTemplate.univ.soa.config.FeedbackStoreProperties;
+import com.springbootTemplate.univ.soa.dto.FeedbackDTO;
+import com.springbootTemplate.univ.soa.dto.FeedbackPageQuery;
+import com.springbootTemplate.univ.soa.exception.DuplicateFeedbackException;
+import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFeedbackStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @TempDir
+    private Path root;
+
+    private Path directory;
+
+    private final List<LocalFeedbackStore> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        directory = root.resolve("store");
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(LocalFeedbackStore::close);
+    }
+
+    @Test
+    void createFeedback_AssignsIdsAndIndexesByUtilisateurAndRecette() {
+        LocalFeedbackStore store = open(directory, 100);
+
+        FeedbackDTO first = store.createFeedback(feedback(10L, 20L, 0));
+        FeedbackDTO second = store.createFeedback(feedback(11L, 20L, 1));
+        store.createFeedback(feedback(10L, 21L, 2));
+
+        assertEquals(1L, first.getId());
+        assertEquals(2L, second.getId());
+        assertEquals(first, store.getFeedbackById(1L));
+        assertEquals(List.of(2L, 1L), ids(store.getFeedbacksByRecetteId(20L)));
+        assertEquals(List.of(3L, 1L), ids(store.getFeedbacksByUtilisateurId(10L)));
+        assertTrue(store.getFeedbacksByRecetteId(99L).isEmpty());
+        assertThrows(DuplicateFeedbackException.class, () -> store.createFeedback(feedback(10L, 20L, 3)));
+        assertThrows(FeedbackNotFoundException.class, () -> store.getFeedbackById(42L));
+    }
+
+    @Test
+    void updateAndDelete_KeepIndexesConsistent() {
+        LocalFeedbackStore store = open(directory, 100);
+        FeedbackDTO created = store.createFeedback(feedback(10L, 20L, 0));
+
+        FeedbackDTO changed = feedback(10L, 20L, 0);
+        changed.setEvaluation(1);
+        changed.setCommentaire("Finalement trop salé");
+        store.updateFeedback(created.getId(), changed);
+
+        assertEquals(1, store.getFeedbacksByRecetteId(20L).get(0).getEvaluation());
+        assertEquals("Finalement trop salé", store.getFeedbackById(created.getId()).getCommentaire());
+
+        store.deleteFeedback(created.getId());
+
+        assertTrue(store.getFeedbacksByRecetteId(20L).isEmpty());
+        assertTrue(store.getAllFeedbacks().isEmpty());
+        assertThrows(FeedbackNotFoundException.class, () -> store.deleteFeedback(created.getId()));
+        // Le couple utilisateur / recette est de nouveau libre
+        assertEquals(2L, store.createFeedback(feedback(10L, 20L, 1)).getId());
+    }
+
+    @Test
+    void getFeedbacksPage_FollowsPersistanceOrderingWithOffsetKeysetAndDateBounds() {
+        LocalFeedbackStore store = open(directory, 100);
+        for (int i = 0; i < 10; i++) {
+            store.createFeedback(feedback(100L + i, i % 2 == 0 ? 20L : 21L, i));
+        }
+
+        assertEquals(List.of(10L, 9L, 8L), ids(store.getFeedbacksPage(FeedbackPageQuery.builder().limit(3).build())));
+        assertEquals(List.of(7L, 6L, 5L), ids(store.getFeedbacksPage(FeedbackPageQuery.builder().page(1).limit(3).build())));
+        assertEquals(List.of(7L, 6L), ids(store.getFeedbacksPage(FeedbackPageQuery.builder()
+                .page(5).limit(2).afterDate(BASE.plusMinutes(7)).afterId(8L).build())));
+        assertEquals(List.of(9L, 7L, 5L, 3L, 1L), ids(store.getFeedbacksPage(FeedbackPageQuery.builder()
+                .recetteId(20L).limit(10).build())));
+        assertEquals(List.of(6L, 5L, 4L), ids(store.getFeedbacksPage(FeedbackPageQuery.builder()
+                .limit(10).from(BASE.plusMinutes(3)).to(BASE.plusMinutes(5)).build())));
+        assertEquals(List.of(5L, 3L), ids(store.getFeedbacksPage(FeedbackPageQuery.builder()
+                .recetteId(20L).limit(10).afterDate(BASE.plusMinutes(6)).afterId(7L).from(BASE.plusMinutes(2)).build())));
+        assertEquals(List.of(4L), ids(store.getFeedbacksPage(FeedbackPageQuery.builder()
+                .utilisateurId(103L).limit(10).build())));
+    }
+
+    @Test
+    void reopen_AfterCleanClose_RestoresStateAndIdSequence() {
+        LocalFeedbackStore store = open(directory, 100);
+        store.createFeedback(feedback(10L, 20L, 0));
+        store.createFeedback(feedback(11L, 20L, 1));
+        store.deleteFeedback(2L);
+        store.close();
+
+        LocalFeedbackStore reopened = open(directory, 100);
+
+        assertEquals(List.of(1L), ids(reopened.getAllFeedbacks()));
+        assertEquals(BASE, reopened.getFeedbackById(1L).getDateFeedback());
+        // Un identifiant supprimé n'est jamais réattribué
+        assertEquals(3L, reopened.createFeedback(feedback(11L, 20L, 2)).getId());
+    }
+
+    @Test
+    void recover_AfterCrash_ReplaysLogAndDropsTornTail() throws IOException {
+        LocalFeedbackStore store = open(directory, 100);
+        store.createFeedback(feedback(10L, 20L, 0));
+        store.createFeedback(feedback(11L, 20L, 1));
+        store.updateFeedback(1L, withEvaluation(store.getFeedbackById(1L), 2));
+
+        // Arrêt brutal : seul ce qui est sur disque survit, dernier enregistrement à moitié écrit
+        Path crashed = copyFiles(directory);
+        Files.write(crashed.resolve(LocalFeedbackStore.LOG_FILE), new byte[]{0, 0, 0, 40, 1, 2, 3},
+                StandardOpenOption.APPEND);
+
+        LocalFeedbackStore recovered = open(crashed, 100);
+
+        assertEquals(List.of(2L, 1L), ids(recovered.getFeedbacksByRecetteId(20L)));
+        assertEquals(2, recovered.getFeedbackById(1L).getEvaluation());
+        // La fin tronquée est coupée : les écritures suivantes survivent à leur tour
+        recovered.createFeedback(feedback(12L, 20L, 2));
+        recovered.close();
+        assertEquals(List.of(3L, 2L, 1L), ids(open(crashed, 100).getFeedbacksByRecetteId(20L)));
+    }
+
+    @Test
+    void snapshot_TruncatesLogAndRecoversFromSnapshotPlusLog() throws IOException {
+        LocalFeedbackStore store = open(directory, 3);
+        for (int i = 0; i < 4; i++) {
+            store.createFeedback(feedback(10L + i, 20L, i));
+        }
+
+        assertTrue(Files.exists(directory.resolve(LocalFeedbackStore.SNAPSHOT_FILE)));
+        long logSize = Files.size(directory.resolve(LocalFeedbackStore.LOG_FILE));
+        assertTrue(logSize > 0 && logSize < 200, "Journal vidé après l'instantané, puis une écriture: " + logSize);
+
+        LocalFeedbackStore recovered = open(copyFiles(directory), 3);
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(recovered.getAllFeedbacks()));
+        assertEquals(5L, recovered.createFeedback(feedback(20L, 20L, 5)).getId());
+    }
+
+    private LocalFeedbackStore open(Path path, int snapshotEvery) {
+        FeedbackStoreProperties properties = new FeedbackStoreProperties();
+        properties.setDirectory(path.toString());
+        properties.setSnapshotEvery(snapshotEvery);
+        LocalFeedbackStore store = new LocalFeedbackStore(properties, new SimpleMeterRegistry());
+        opened.add(store);
+        return store;
+    }
+
+    /**
+     * Copie des fichiers de données tels qu'ils sont sur disque, sans le verrou du processus courant
+     */
+    private Path copyFiles(Path source) throws IOException {
+        Path target = Files.createDirectories(root.resolve("copy-" + opened.size()));
+        for (String name : List.of(LocalFeedbackStore.LOG_FILE, LocalFeedbackStore.SNAPSHOT_FILE)) {
+            if (Files.exists(source.resolve(name))) {
+                Files.copy(source.resolve(name), target.resolve(name));
+            }
+        }
+        return target;
+    }
+
+    private static FeedbackDTO feedback(Long utilisateurId, Long recetteId, int minutes) {
+        return FeedbackDTO.builder()
+                .utilisateurId(utilisateurId)
+                .recetteId(recetteId)
+                .evaluation(1 + minutes % 5)
+                .commentaire("Essai " + minutes)
+                .dateFeedback(BASE.plusMinutes(minutes))
+                .dateModification(BASE.plusMinutes(minutes))
+                .build();
+    }
+
+    private static FeedbackDTO withEvaluation(FeedbackDTO feedback, int evaluation) {
+        return FeedbackDTO.builder()
+                .id(feedback.getId())
+                .utilisateurId(feedback.getUtilisateurId())
+                .recetteId(feedback.getRecetteId())
+                .evaluation(evaluation)
+                .commentaire(feedback.getCommentaire())
+                .dateFeedback(feedback.getDateFeedback())
+                .dateModification(feedback.getDateModification().plusMinutes(1))
+                .build();
+    }
+
+    private static List<Long> ids(List<FeedbackDTO> feedbacks) {
+        return feedbacks.stream().map(FeedbackDTO::getId).toList();
+    }
+}
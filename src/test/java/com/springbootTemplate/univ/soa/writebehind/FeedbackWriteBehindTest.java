@@ -0,0 +1,279 @@
+package com.springbootTemplate.univ.soa.writebehind;
+
+import com.springbootTemplate.univ.soa.config.BatchProperties;
+import com.springbootTemplate.univ.soa.config.WriteBehindProperties;
+import com.springbootTemplate.univ.soa.dto.*;
+import com.springbootTemplate.univ.soa.exception.FeedbackNotFoundException;
+import com.springbootTemplate.univ.soa.exception.WriteBehindRejectedException;
+import com.springbootTemplate.univ.soa.service.FeedbackService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackWriteBehindTest {
+
+    @Mock
+    private FeedbackService feedbackService;
+
+    private final WriteBehindProperties properties = new WriteBehindProperties();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private FeedbackWriteBehind writeBehind;
+
+    private FeedbackWriteBehind start() {
+        return start(Runnable::run);
+    }
+
+    private FeedbackWriteBehind start(Executor persistanceExecutor) {
+        writeBehind = new FeedbackWriteBehind(feedbackService, properties, new BatchProperties(), persistanceExecutor,
+                new SimpleMeterRegistry());
+        writeBehind.start();
+        return writeBehind;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (writeBehind != null) {
+            writeBehind.drain();
+        }
+    }
+
+    private static FeedbackCreateRequest create(long utilisateurId, long recetteId, int evaluation) {
+        return FeedbackCreateRequest.builder().utilisateurId(utilisateurId).recetteId(recetteId).evaluation(evaluation).build();
+    }
+
+    private static FeedbackResponse response(long id, long recetteId, int evaluation) {
+        return FeedbackResponse.builder().id(id).utilisateurId(1L).recetteId(recetteId).evaluation(evaluation).build();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition non atteinte");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Les créations envoyées restent bloquées dans Persistance jusqu'à {@link #release}
+     */
+    private void blockCreates() {
+        when(feedbackService.createFeedbacks(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            List<FeedbackCreateRequest> requests = invocation.getArgument(0);
+            return FeedbackBatchResponse.of(requests.stream()
+                    .map(request -> FeedbackBatchItemResult.created(0, response(99L, request.getRecetteId(), request.getEvaluation())))
+                    .toList());
+        });
+    }
+
+    @Test
+    void submitCreate_SamePair_IsCoalescedIntoOneWrite() throws InterruptedException {
+        properties.setFlushInterval(Duration.ofHours(1));
+        when(feedbackService.createFeedbacks(anyList())).thenReturn(FeedbackBatchResponse.of(List.of(
+                FeedbackBatchItemResult.created(0, response(99L, 20L, 5)))));
+        start();
+
+        FeedbackWriteReceipt first = writeBehind.submitCreate(create(1L, 20L, 3));
+        FeedbackWriteReceipt second = writeBehind.submitCreate(create(1L, 20L, 5));
+        assertEquals(FeedbackWriteReceipt.State.PENDING, first.getState());
+        assertEquals(1, writeBehind.getPendingCount());
+        writeBehind.drain();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FeedbackCreateRequest>> sent = ArgumentCaptor.forClass(List.class);
+        verify(feedbackService).createFeedbacks(sent.capture());
+        assertEquals(1, sent.getValue().size());
+        assertEquals(5, sent.getValue().get(0).getEvaluation());
+        for (FeedbackWriteReceipt receipt : List.of(first, second)) {
+            FeedbackWriteReceipt done = writeBehind.getReceipt(receipt.getTrackingId()).orElseThrow();
+            assertEquals(FeedbackWriteReceipt.State.DONE, done.getState());
+            assertEquals(201, done.getStatus());
+            assertEquals(99L, done.getFeedback().getId());
+        }
+    }
+
+    @Test
+    void submitUpdate_MergesFieldsAndReportsFailure() throws InterruptedException {
+        properties.setFlushInterval(Duration.ofHours(1));
+        when(feedbackService.updateFeedback(eq("7"), any(FeedbackUpdateRequest.class)))
+                .thenThrow(new FeedbackNotFoundException("Feedback non trouvé avec l'ID: 7"));
+        start();
+
+        FeedbackWriteReceipt receipt = writeBehind.submitUpdate("7", FeedbackUpdateRequest.builder().evaluation(2).build());
+        writeBehind.submitUpdate("7", FeedbackUpdateRequest.builder().commentaire("Finalement bof").build());
+        writeBehind.drain();
+
+        ArgumentCaptor<FeedbackUpdateRequest> sent = ArgumentCaptor.forClass(FeedbackUpdateRequest.class);
+        verify(feedbackService).updateFeedback(eq("7"), sent.capture());
+        assertEquals(2, sent.getValue().getEvaluation());
+        assertEquals("Finalement bof", sent.getValue().getCommentaire());
+        FeedbackWriteReceipt failed = writeBehind.getReceipt(receipt.getTrackingId()).orElseThrow();
+        assertEquals(FeedbackWriteReceipt.State.FAILED, failed.getState());
+        assertEquals(404, failed.getStatus());
+    }
+
+    @Test
+    void submitUpdate_BulkheadFull_IsRequeuedInsteadOfFailed() throws InterruptedException {
+        properties.setFlushInterval(Duration.ofHours(1));
+        when(feedbackService.updateFeedback(eq("7"), any(FeedbackUpdateRequest.class)))
+                .thenThrow(new RuntimeException("Erreur lors de la mise à jour du feedback", bulkheadFull()))
+                .thenReturn(response(7L, 20L, 2));
+        start();
+
+        FeedbackWriteReceipt receipt = writeBehind.submitUpdate("7", FeedbackUpdateRequest.builder().evaluation(2).build());
+        writeBehind.drain();
+
+        verify(feedbackService, times(2)).updateFeedback(eq("7"), any(FeedbackUpdateRequest.class));
+        FeedbackWriteReceipt done = writeBehind.getReceipt(receipt.getTrackingId()).orElseThrow();
+        assertEquals(FeedbackWriteReceipt.State.DONE, done.getState());
+        assertEquals(200, done.getStatus());
+    }
+
+    @Test
+    void submitCreate_BulkheadFull_IsRequeuedInsteadOfFailed() throws InterruptedException {
+        properties.setFlushInterval(Duration.ofHours(1));
+        when(feedbackService.createFeedbacks(anyList()))
+                .thenReturn(FeedbackBatchResponse.of(List.of(FeedbackBatchItemResult.rejected(0, "Cloison pleine"))))
+                .thenReturn(FeedbackBatchResponse.of(List.of(FeedbackBatchItemResult.created(0, response(99L, 20L, 5)))));
+        start();
+
+        FeedbackWriteReceipt receipt = writeBehind.submitCreate(create(1L, 20L, 5));
+        writeBehind.drain();
+
+        verify(feedbackService, times(2)).createFeedbacks(anyList());
+        FeedbackWriteReceipt done = writeBehind.getReceipt(receipt.getTrackingId()).orElseThrow();
+        assertEquals(FeedbackWriteReceipt.State.DONE, done.getState());
+        assertEquals(201, done.getStatus());
+    }
+
+    @Test
+    void flush_UpdatesSentWithinInsertConcurrency() throws InterruptedException {
+        properties.setFlushInterval(Duration.ofHours(1));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(feedbackService.updateFeedback(any(), any(FeedbackUpdateRequest.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            inFlight.decrementAndGet();
+            return response(Long.parseLong(invocation.getArgument(0)), 20L, 3);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            start(executor);
+            for (int id = 1; id <= 30; id++) {
+                writeBehind.submitUpdate(String.valueOf(id), FeedbackUpdateRequest.builder().evaluation(3).build());
+            }
+            writeBehind.drain();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(feedbackService, times(30)).updateFeedback(any(), any(FeedbackUpdateRequest.class));
+        assertTrue(maxInFlight.get() <= new BatchProperties().getInsertConcurrency(),
+                "mises à jour simultanées: " + maxInFlight.get());
+    }
+
+    private static BulkheadFullException bulkheadFull() {
+        return BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("persistance-write"));
+    }
+
+    @Test
+    void submitUpdate_InvalidId_ShouldThrowNotFound() {
+        start();
+
+        assertThrows(FeedbackNotFoundException.class,
+                () -> writeBehind.submitUpdate("abc", FeedbackUpdateRequest.builder().evaluation(2).build()));
+    }
+
+    @Test
+    void submitCreate_QueueFull_IsRejected() throws InterruptedException {
+        properties.setQueueCapacity(1);
+        properties.setOfferTimeout(Duration.ZERO);
+        properties.setFlushInterval(Duration.ZERO);
+        blockCreates();
+        start();
+
+        writeBehind.submitCreate(create(1L, 20L, 5));
+        waitFor(() -> writeBehind.getPendingCount() == 0);
+        writeBehind.submitCreate(create(1L, 21L, 5));
+        // Regroupée avec l'écriture en attente : acceptée même file pleine
+        writeBehind.submitCreate(create(1L, 21L, 4));
+
+        assertThrows(WriteBehindRejectedException.class, () -> writeBehind.submitCreate(create(1L, 22L, 5)));
+    }
+
+    @Test
+    void withPendingWrites_AppliesQueuedAndInFlightWritesOfTheUser() throws InterruptedException {
+        properties.setFlushInterval(Duration.ZERO);
+        blockCreates();
+        start();
+
+        writeBehind.submitCreate(create(1L, 30L, 4));
+        waitFor(() -> writeBehind.getPendingCount() == 0);
+        writeBehind.submitUpdate("10", FeedbackUpdateRequest.builder().evaluation(1).build());
+        writeBehind.submitCreate(create(2L, 31L, 5));
+
+        List<FeedbackResponse> feedbacks = writeBehind.withPendingWrites(1L, List.of(response(10L, 20L, 5)));
+
+        assertEquals(2, feedbacks.size());
+        assertEquals(10L, feedbacks.get(0).getId());
+        assertEquals(1, feedbacks.get(0).getEvaluation());
+        assertNull(feedbacks.get(1).getId());
+        assertEquals(30L, feedbacks.get(1).getRecetteId());
+        assertEquals(4, feedbacks.get(1).getEvaluation());
+    }
+
+    @Test
+    void withPendingWrites_CreateAlreadyPersisted_IsNotDuplicated() throws InterruptedException {
+        properties.setFlushInterval(Duration.ZERO);
+        blockCreates();
+        start();
+
+        writeBehind.submitCreate(create(1L, 30L, 4));
+        waitFor(() -> writeBehind.getPendingCount() == 0);
+
+        List<FeedbackResponse> feedbacks = writeBehind.withPendingWrites(1L, List.of(response(99L, 30L, 4)));
+
+        assertEquals(1, feedbacks.size());
+        assertEquals(99L, feedbacks.get(0).getId());
+    }
+
+    @Test
+    void drain_FlushesRemainingWritesThenRejectsNewOnes() throws InterruptedException {
+        properties.setFlushInterval(Duration.ofHours(1));
+        when(feedbackService.createFeedbacks(anyList())).thenReturn(FeedbackBatchResponse.of(List.of(
+                FeedbackBatchItemResult.created(0, response(99L, 20L, 5)))));
+        start();
+        FeedbackWriteReceipt receipt = writeBehind.submitCreate(create(1L, 20L, 5));
+
+        writeBehind.drain();
+
+        verify(feedbackService).createFeedbacks(anyList());
+        assertEquals(FeedbackWriteReceipt.State.DONE, writeBehind.getReceipt(receipt.getTrackingId()).orElseThrow().getState());
+        assertThrows(WriteBehindRejectedException.class, () -> writeBehind.submitCreate(create(1L, 21L, 5)));
+    }
+}